@@ -0,0 +1,113 @@
+import bench.Workload;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Implementasi Workload di default package agar bisa memanggil PathFinder langsung
+public class PathFinderWorkload implements Workload {
+
+    private final PathFinder pathFinder = new PathFinder();
+    private RouteServer server;
+
+    @Override
+    public void loadText(String file) throws IOException {
+        pathFinder.loadGraphFromFile(file);
+    }
+
+    @Override
+    public void loadSnapshot(String file) throws IOException {
+        pathFinder.loadSnapshot(file);
+    }
+
+    @Override
+    public void exportSnapshot(String file) throws IOException {
+        pathFinder.exportSnapshot(file);
+    }
+
+    @Override
+    public int nodeCount() {
+        return pathFinder.getGraph().nodeCount();
+    }
+
+    @Override
+    public String name(int id) {
+        return pathFinder.getGraph().name(id);
+    }
+
+    @Override
+    public void setBroken(String name, boolean broken) {
+        pathFinder.setNodeBroken(name, broken);
+    }
+
+    @Override
+    public double route(String start, String end, boolean ignoreBroken) {
+        PathFinder.PathResult result = pathFinder.findShortestPath(start, end, ignoreBroken);
+        return result.path.isEmpty() ? -1 : result.totalCost;
+    }
+
+    @Override
+    public int batch(String[] starts, String[] ends) {
+        List<PathFinder.RouteQuery> queries = new ArrayList<>(starts.length);
+        for (int i = 0; i < starts.length; i++) queries.add(new PathFinder.RouteQuery(starts[i], ends[i]));
+        AtomicInteger found = new AtomicInteger();
+        pathFinder.findShortestPaths(queries, false, (q, r) -> {
+            if (!r.path.isEmpty()) found.incrementAndGet();
+        });
+        return found.get();
+    }
+
+    @Override
+    public int sortedVertexCount() {
+        return pathFinder.getSortedVertexNames().size();
+    }
+
+    @Override
+    public int searchVertices(String query, int limit) {
+        return pathFinder.getVertexCatalog().search(query, limit).size();
+    }
+
+    @Override
+    public long replay(String eventFile, String feeder) throws IOException {
+        OutageReplay.Parameters parameters = OutageReplay.Parameters.defaults(LossAnalysis.Parameters.defaults());
+        long[] intervals = new long[1];
+        pathFinder.replayOutages(new File(eventFile), Collections.singletonList(feeder), parameters,
+                interval -> intervals[0]++);
+        return intervals[0];
+    }
+
+    @Override
+    public void loadCoordinates(String file) throws IOException {
+        pathFinder.setCoordinates(file == null ? null : NodeCoordinates.read(new File(file), false));
+    }
+
+    @Override
+    public void prepareLandmarks(int count) {
+        pathFinder.prepareLandmarks(count);
+    }
+
+    @Override
+    public void trackRoot(String root) {
+        pathFinder.trackRoot(root);
+    }
+
+    @Override
+    public void enableMetrics() {
+        pathFinder.enableMetrics();
+    }
+
+    @Override
+    public int startServer(int port) throws IOException {
+        server = new RouteServer(pathFinder, port);
+        server.start();
+        return server.port();
+    }
+
+    @Override
+    public void stopServer() {
+        if (server != null) server.stop(0);
+    }
+}
@@ -0,0 +1,61 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Throughput batch query (findShortestPaths): 4096 pasangan dari 32 source berbeda
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchBenchmark {
+
+    private static final int PAIRS = 4096;
+    private static final int SOURCES = 32;
+
+    @Param({ "radial", "mesh", "geometric" })
+    public String topology;
+
+    @Param({ "1000", "100000", "1000000" })
+    public int nodes;
+
+    private Workload workload;
+    private final String[] starts = new String[PAIRS];
+    private final String[] ends = new String[PAIRS];
+
+    @Setup
+    public void setup() throws IOException {
+        workload = Workload.create();
+        workload.loadText(GridGenerator.fixture(topology, nodes).toString());
+        int n = workload.nodeCount();
+        SplittableRandom random = new SplittableRandom(11);
+        String[] sources = new String[SOURCES];
+        for (int i = 0; i < SOURCES; i++) sources[i] = workload.name(random.nextInt(n));
+        for (int i = 0; i < PAIRS; i++) {
+            starts[i] = sources[i % SOURCES];
+            ends[i] = workload.name(random.nextInt(n));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public int batch() {
+        return workload.batch(starts, ends);
+    }
+}
@@ -0,0 +1,73 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Smoke test cepat di atas data.txt asli (16 gardu). Lokasi file bisa diatur dengan
+// -Dpathfinder.data=...; default mencari data.txt di folder kerja atau folder induknya.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class DataTxtSmokeBenchmark {
+
+    private static final String FEEDER = "PLN (V1)";
+    private static final String LOAD = "Gerbang Depan UNS (V16)";
+
+    private String dataFile;
+    private Workload normal;
+    private Workload withOutage;
+
+    @Setup
+    public void setup() throws IOException {
+        dataFile = locate();
+        normal = Workload.create();
+        normal.loadText(dataFile);
+        withOutage = Workload.create();
+        withOutage.loadText(dataFile);
+        withOutage.setBroken("Panggung (V13)", true);
+        if (normal.route(FEEDER, LOAD, false) < 0) {
+            throw new IllegalStateException("Tidak ada rute " + FEEDER + " -> " + LOAD + " di " + dataFile);
+        }
+    }
+
+    private static String locate() {
+        String configured = System.getProperty("pathfinder.data");
+        if (configured != null) return configured;
+        for (String candidate : new String[] { "data.txt", "../data.txt" }) {
+            if (new File(candidate).exists()) return candidate;
+        }
+        throw new IllegalStateException("data.txt tidak ditemukan; set -Dpathfinder.data=<path>");
+    }
+
+    @Benchmark
+    public Workload load() throws IOException {
+        Workload w = Workload.create();
+        w.loadText(dataFile);
+        return w;
+    }
+
+    @Benchmark
+    public double route() {
+        return normal.route(FEEDER, LOAD, false);
+    }
+
+    @Benchmark
+    public double routeWithOutage() {
+        return withOutage.route(FEEDER, LOAD, false);
+    }
+}
@@ -0,0 +1,77 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Latensi query antar gardu acak: Dijkstra vs A* (koordinat) vs ALT (landmark), dengan dan
+// tanpa gardu padam. Hanya topologi yang punya koordinat (lihat GridGenerator.coordinateFixture).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GoalDirectedBenchmark {
+
+    private static final int PAIRS = 1024;
+
+    @Param({ "mesh", "geometric" })
+    public String topology;
+
+    @Param({ "100000", "1000000" })
+    public int nodes;
+
+    @Param({ "dijkstra", "astar", "alt" })
+    public String engine;
+
+    @Param({ "16" })
+    public int landmarks;
+
+    // persentase gardu yang dipadamkan (acak, kecuali feeder)
+    @Param({ "0", "1" })
+    public int brokenPercent;
+
+    private Workload workload;
+    private final String[] starts = new String[PAIRS];
+    private final String[] ends = new String[PAIRS];
+    private int cursor;
+
+    @Setup
+    public void setup() throws IOException {
+        workload = Workload.create();
+        workload.loadText(GridGenerator.fixture(topology, nodes).toString());
+        if (engine.equals("astar")) {
+            workload.loadCoordinates(GridGenerator.coordinateFixture(topology, nodes).toString());
+        } else if (engine.equals("alt")) {
+            workload.prepareLandmarks(landmarks);
+        }
+        int n = workload.nodeCount();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0, broken = n * brokenPercent / 100; i < broken; i++) {
+            workload.setBroken(workload.name(1 + random.nextInt(n - 1)), true);
+        }
+        for (int i = 0; i < PAIRS; i++) {
+            starts[i] = workload.name(random.nextInt(n));
+            ends[i] = workload.name(random.nextInt(n));
+        }
+    }
+
+    @Benchmark
+    public double route() {
+        int i = cursor++ & (PAIRS - 1);
+        return workload.route(starts[i], ends[i], false);
+    }
+}
@@ -0,0 +1,184 @@
+package bench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+// Generator topologi jaringan listrik sintetis dalam format data.txt
+// ("source,destination,km"). Nama gardu: "Gardu <i> (V<i>)", feeder = "Gardu 0 (V0)".
+//
+//   radial    : pohon feeder dengan cabang lateral, arah dari feeder ke beban,
+//               ditambah sedikit tie-line normally-open (edge balik) seperti jaringan distribusi.
+//   mesh      : jaringan grid persegi dua arah dengan sebagian ruas dihapus (jaringan kota).
+//   geometric : random geometric graph, gardu acak di bidang 50 x 50 km, terhubung jika
+//               jaraknya di bawah radius yang menjaga graf tetap terhubung.
+public final class GridGenerator {
+
+    public static final String[] TOPOLOGIES = { "radial", "mesh", "geometric" };
+
+    private GridGenerator() {
+    }
+
+    public static String name(int id) {
+        return "Gardu " + id + " (V" + id + ")";
+    }
+
+    // File hasil generate disimpan di java.io.tmpdir dan dipakai ulang antar fork
+    public static Path fixture(String topology, int nodes) throws IOException {
+        Path dir = Paths.get(System.getProperty("java.io.tmpdir"), "pathfinder-bench");
+        Files.createDirectories(dir);
+        Path file = dir.resolve(topology + "-" + nodes + ".txt");
+        if (!Files.exists(file)) {
+            Path tmp = dir.resolve(topology + "-" + nodes + ".txt.tmp");
+            generate(topology, nodes, 42L, tmp);
+            Files.move(tmp, file);
+        }
+        return file;
+    }
+
+    // Koordinat gardu ("nama,x,y" dalam km, lihat NodeCoordinates) untuk fixture yang sama.
+    // Hanya mesh (posisi grid) dan geometric (posisi acak); radial tidak punya geometri.
+    public static Path coordinateFixture(String topology, int nodes) throws IOException {
+        Path dir = Paths.get(System.getProperty("java.io.tmpdir"), "pathfinder-bench");
+        Files.createDirectories(dir);
+        Path file = dir.resolve(topology + "-" + nodes + "-xy.csv");
+        if (!Files.exists(file)) {
+            Path tmp = dir.resolve(topology + "-" + nodes + "-xy.csv.tmp");
+            coordinates(topology, nodes, 42L, tmp);
+            Files.move(tmp, file);
+        }
+        return file;
+    }
+
+    public static void coordinates(String topology, int nodes, long seed, Path file) throws IOException {
+        double[] xs = new double[nodes];
+        double[] ys = new double[nodes];
+        if (topology.equals("mesh")) {
+            int side = (int) Math.ceil(Math.sqrt(nodes));
+            for (int v = 0; v < nodes; v++) {
+                xs[v] = v % side;
+                ys[v] = v / side;
+            }
+        } else if (topology.equals("geometric")) {
+            // urutan pengambilan bilangan acak sama dengan geometric()
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int v = 0; v < nodes; v++) {
+                xs[v] = random.nextDouble() * 50.0;
+                ys[v] = random.nextDouble() * 50.0;
+            }
+        } else {
+            throw new IllegalArgumentException("Topologi tanpa koordinat: " + topology);
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int v = 0; v < nodes; v++) {
+                out.write(name(v));
+                out.write(String.format(Locale.ROOT, ",%.6f,%.6f\n", xs[v], ys[v]));
+            }
+        }
+    }
+
+    public static void generate(String topology, int nodes, long seed, Path file) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            switch (topology) {
+                case "radial":
+                    radial(nodes, random, out);
+                    break;
+                case "mesh":
+                    mesh(nodes, random, out);
+                    break;
+                case "geometric":
+                    geometric(nodes, random, out);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Topologi tidak dikenal: " + topology);
+            }
+        }
+    }
+
+    private static void radial(int nodes, SplittableRandom random, BufferedWriter out) throws IOException {
+        for (int v = 1; v < nodes; v++) {
+            // parent dipilih dari gardu yang dekat secara urutan -> feeder panjang dengan lateral
+            int parent = Math.max(0, v - 1 - random.nextInt(Math.min(v, 40)));
+            edge(out, parent, v, 0.1 + random.nextDouble() * 2.0);
+            if (random.nextInt(50) == 0) { // tie-line antar feeder
+                edge(out, v, random.nextInt(v), 0.5 + random.nextDouble() * 3.0);
+            }
+        }
+    }
+
+    private static void mesh(int nodes, SplittableRandom random, BufferedWriter out) throws IOException {
+        int side = (int) Math.ceil(Math.sqrt(nodes));
+        for (int v = 0; v < nodes; v++) {
+            int x = v % side;
+            int right = v + 1;
+            int down = v + side;
+            if (x + 1 < side && right < nodes && random.nextInt(10) != 0) both(out, v, right, 0.2 + random.nextDouble());
+            if (down < nodes && random.nextInt(10) != 0) both(out, v, down, 0.2 + random.nextDouble());
+        }
+    }
+
+    private static void geometric(int nodes, SplittableRandom random, BufferedWriter out) throws IOException {
+        final double size = 50.0; // km
+        double[] xs = new double[nodes];
+        double[] ys = new double[nodes];
+        for (int v = 0; v < nodes; v++) {
+            xs[v] = random.nextDouble() * size;
+            ys[v] = random.nextDouble() * size;
+        }
+        // radius ~ sqrt(c ln n / n) menjaga graf hampir pasti terhubung
+        double radius = size * Math.sqrt(2.0 * Math.log(Math.max(nodes, 2)) / (Math.PI * nodes));
+        int cells = Math.max(1, (int) (size / radius));
+        double cellSize = size / cells;
+
+        // bucket grid: head[c] -> daftar berantai next[]
+        int[] head = new int[cells * cells];
+        int[] next = new int[nodes];
+        Arrays.fill(head, -1);
+        for (int v = 0; v < nodes; v++) {
+            int c = cell(xs[v], cellSize, cells) * cells + cell(ys[v], cellSize, cells);
+            next[v] = head[c];
+            head[c] = v;
+        }
+        for (int v = 0; v < nodes; v++) {
+            int cx = cell(xs[v], cellSize, cells);
+            int cy = cell(ys[v], cellSize, cells);
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    int nx = cx + dx;
+                    int ny = cy + dy;
+                    if (nx < 0 || ny < 0 || nx >= cells || ny >= cells) continue;
+                    for (int u = head[nx * cells + ny]; u != -1; u = next[u]) {
+                        if (u <= v) continue;
+                        double d = Math.hypot(xs[u] - xs[v], ys[u] - ys[v]);
+                        if (d <= radius) both(out, v, u, Math.max(0.01, d));
+                    }
+                }
+            }
+        }
+    }
+
+    private static int cell(double coord, double cellSize, int cells) {
+        return Math.min(cells - 1, (int) (coord / cellSize));
+    }
+
+    private static void both(BufferedWriter out, int u, int v, double km) throws IOException {
+        edge(out, u, v, km);
+        edge(out, v, u, km);
+    }
+
+    private static void edge(BufferedWriter out, int u, int v, double km) throws IOException {
+        out.write(name(u));
+        out.write(',');
+        out.write(name(v));
+        out.write(',');
+        out.write(String.format(Locale.ROOT, "%.3f", km));
+        out.write('\n');
+    }
+}
@@ -0,0 +1,64 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Overhead instrumentation per query: metrik mati vs. metrik JMX aktif.
+// Untuk overhead JFR, jalankan ulang dengan
+// -jvmArgsAppend -XX:StartFlightRecording=settings=profile
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstrumentationBenchmark {
+
+    private static final int PAIRS = 1024;
+
+    @Param({ "radial", "mesh" })
+    public String topology;
+
+    @Param({ "1000", "100000" })
+    public int nodes;
+
+    @Param({ "false", "true" })
+    public boolean metrics;
+
+    private Workload workload;
+    private final String[] starts = new String[PAIRS];
+    private final String[] ends = new String[PAIRS];
+    private int cursor;
+
+    @Setup
+    public void setup() throws IOException {
+        workload = Workload.create();
+        if (metrics) workload.enableMetrics();
+        workload.loadText(GridGenerator.fixture(topology, nodes).toString());
+        int n = workload.nodeCount();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < PAIRS; i++) {
+            starts[i] = workload.name(random.nextInt(n));
+            ends[i] = workload.name(random.nextInt(n));
+        }
+    }
+
+    @Benchmark
+    public double route() {
+        int i = cursor++ & (PAIRS - 1);
+        return workload.route(starts[i], ends[i], false);
+    }
+}
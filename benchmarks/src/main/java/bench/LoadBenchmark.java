@@ -0,0 +1,60 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Waktu muat graf: parser teks (loadGraphFromFile) vs snapshot biner (loadSnapshot)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LoadBenchmark {
+
+    @Param({ "radial", "mesh", "geometric" })
+    public String topology;
+
+    @Param({ "1000", "100000", "1000000" })
+    public int nodes;
+
+    private String textFile;
+    private String snapshotFile;
+
+    @Setup
+    public void setup() throws IOException {
+        Path text = GridGenerator.fixture(topology, nodes);
+        textFile = text.toString();
+        snapshotFile = textFile + ".bin";
+        Workload w = Workload.create();
+        w.loadText(textFile);
+        w.exportSnapshot(snapshotFile);
+    }
+
+    @Benchmark
+    public Workload loadText() throws IOException {
+        Workload w = Workload.create();
+        w.loadText(textFile);
+        return w;
+    }
+
+    @Benchmark
+    public Workload loadSnapshot() throws IOException {
+        Workload w = Workload.create();
+        w.loadSnapshot(snapshotFile);
+        return w;
+    }
+}
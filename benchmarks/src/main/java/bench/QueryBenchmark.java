@@ -0,0 +1,73 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Latensi satu query findShortestPath, dengan dan tanpa gardu padam.
+// Tambahkan "-prof gc" untuk melihat allocation rate per query.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmark {
+
+    private static final int PAIRS = 1024;
+
+    @Param({ "radial", "mesh", "geometric" })
+    public String topology;
+
+    @Param({ "1000", "100000", "1000000" })
+    public int nodes;
+
+    // persentase gardu yang dipadamkan (acak, kecuali feeder)
+    @Param({ "0", "1" })
+    public int brokenPercent;
+
+    private Workload workload;
+    private final String[] starts = new String[PAIRS];
+    private final String[] ends = new String[PAIRS];
+    private int cursor;
+
+    @Setup
+    public void setup() throws IOException {
+        workload = Workload.create();
+        workload.loadText(GridGenerator.fixture(topology, nodes).toString());
+        int n = workload.nodeCount();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0, broken = n * brokenPercent / 100; i < broken; i++) {
+            workload.setBroken(workload.name(1 + random.nextInt(n - 1)), true);
+        }
+        for (int i = 0; i < PAIRS; i++) {
+            // setengah query dari feeder, setengah antar gardu acak
+            starts[i] = workload.name(i % 2 == 0 ? 0 : random.nextInt(n));
+            ends[i] = workload.name(random.nextInt(n));
+        }
+    }
+
+    @Benchmark
+    public double route() {
+        int i = cursor++ & (PAIRS - 1);
+        return workload.route(starts[i], ends[i], false);
+    }
+
+    @Benchmark
+    public double routeIgnoringBroken() {
+        int i = cursor++ & (PAIRS - 1);
+        return workload.route(starts[i], ends[i], true);
+    }
+}
@@ -0,0 +1,84 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Throughput replay log gangguan (event/s). Log sintetis: trip gardu acak selain feeder,
+// maksimal OPEN gangguan bersamaan, restore urut FIFO, timestamp ISO-8601 naik.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReplayBenchmark {
+
+    private static final int EVENTS = 200_000;
+    private static final int OPEN = 50;
+
+    @Param({ "radial", "mesh", "geometric" })
+    public String topology;
+
+    @Param({ "100000", "1000000" })
+    public int nodes;
+
+    private Workload workload;
+    private String eventFile;
+
+    @Setup
+    public void setup() throws IOException {
+        Path data = GridGenerator.fixture(topology, nodes);
+        workload = Workload.create();
+        workload.loadText(data.toString());
+        Path events = data.resolveSibling(topology + "-" + nodes + "-events.csv");
+        writeEvents(events, workload.nodeCount(), new SplittableRandom(11));
+        eventFile = events.toString();
+    }
+
+    private void writeEvents(Path file, int n, SplittableRandom random) throws IOException {
+        ArrayDeque<String> open = new ArrayDeque<>();
+        long time = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < EVENTS; i++) {
+                time += random.nextInt(120_000);
+                out.write(Instant.ofEpochMilli(time).toString());
+                out.write(',');
+                if (open.size() == OPEN || (!open.isEmpty() && random.nextBoolean())) {
+                    out.write(open.poll());
+                    out.write(",RESTORE\n");
+                } else {
+                    String node = workload.name(1 + random.nextInt(n - 1));
+                    open.add(node);
+                    out.write(node);
+                    out.write(",TRIP\n");
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long replay() throws IOException {
+        return workload.replay(eventFile, workload.name(0));
+    }
+}
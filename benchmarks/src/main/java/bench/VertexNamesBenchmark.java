@@ -0,0 +1,52 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Biaya getSortedVertexNames (/vertices) dan pencarian gardu saat mengetik di combo box
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VertexNamesBenchmark {
+
+    private static final String[] QUERIES = { "gardu 1", "v42", "12", "gardu 99", "(v7", "3", "v100", "gardu" };
+
+    @Param({ "1000", "100000", "1000000" })
+    public int nodes;
+
+    private Workload workload;
+    private int cursor;
+
+    @Setup
+    public void setup() throws IOException {
+        workload = Workload.create();
+        workload.loadText(GridGenerator.fixture("radial", nodes).toString());
+    }
+
+    @Benchmark
+    public int sortedVertexNames() {
+        return workload.sortedVertexCount();
+    }
+
+    // Suffix array dibangun sekali pada pemanggilan pertama (warmup)
+    @Benchmark
+    public int search() {
+        int i = cursor++ & (QUERIES.length - 1);
+        return workload.searchVertices(QUERIES[i], 500);
+    }
+}
@@ -0,0 +1,60 @@
+package bench;
+
+import java.io.IOException;
+
+// Jembatan ke PathFinder. PathFinder berada di default package (tidak bisa di-import
+// dari package bernama, dan JMH menolak benchmark di default package), jadi
+// implementasinya (PathFinderWorkload) dibuat lewat refleksi sekali saat setup.
+public interface Workload {
+
+    void loadText(String file) throws IOException;
+
+    void loadSnapshot(String file) throws IOException;
+
+    void exportSnapshot(String file) throws IOException;
+
+    int nodeCount();
+
+    String name(int id);
+
+    void setBroken(String name, boolean broken);
+
+    // Total jarak, atau -1 jika tidak ada jalur
+    double route(String start, String end, boolean ignoreBroken);
+
+    // Jumlah pasangan yang punya jalur
+    int batch(String[] starts, String[] ends);
+
+    int sortedVertexCount();
+
+    // Jumlah hasil VertexCatalog.search (maks. limit)
+    int searchVertices(String query, int limit);
+
+    // Replay log gangguan (PathFinder.replayOutages) dari satu feeder; jumlah interval padam
+    long replay(String eventFile, String feeder) throws IOException;
+
+    // Koordinat gardu untuk A* (PathFinder.setCoordinates); file = null mematikan
+    void loadCoordinates(String file) throws IOException;
+
+    // Tabel landmark ALT (PathFinder.prepareLandmarks)
+    void prepareLandmarks(int count);
+
+    // Pohon SSSP dinamis untuk query dari root ini (PathFinder.trackRoot)
+    void trackRoot(String root);
+
+    // Metrik JMX PathFinder (PathFinder.enableMetrics)
+    void enableMetrics();
+
+    // RouteServer HTTP di atas PathFinder ini; port 0 = port bebas. Mengembalikan port.
+    int startServer(int port) throws IOException;
+
+    void stopServer();
+
+    static Workload create() {
+        try {
+            return (Workload) Class.forName("PathFinderWorkload").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("PathFinderWorkload tidak ditemukan", e);
+        }
+    }
+}
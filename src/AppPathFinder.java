@@ -1,11 +1,27 @@
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import javax.management.JMException;
 
 public class AppPathFinder extends JFrame {
 
@@ -16,21 +32,56 @@ public class AppPathFinder extends JFrame {
     private JComboBox<String> brokenCombo;
     private JTextArea infoArea;
     private Map<String, Point> nodeLocations = new HashMap<>();
+    private JProgressBar searchProgress;
+    // Pencarian rute di luar EDT (dua thread: normal dan diagnostik berjalan bersamaan)
+    private final ExecutorService searchExecutor = Executors.newFixedThreadPool(2, r -> {
+        Thread t = new Thread(r, "pencarian-rute");
+        t.setDaemon(true);
+        return t;
+    });
+    private RouteSearch currentSearch; // hanya disentuh di EDT
+    // Analisis N-1 dan tabel loss juga di luar EDT; analisis baru membatalkan yang lama
+    private AnalysisTask<?> currentAnalysis; // hanya disentuh di EDT
+    // Pelacakan zona suplai diserialkan di satu thread agar permintaan terakhir yang berlaku;
+    // zonesWanted dicek setelah setiap pelacakan sehingga checkbox yang dilepas tidak tertimpa
+    private final ExecutorService zoneExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "zona-suplai");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile boolean zonesWanted;
+    private AnalysisTask<SupplyZones> zoneTask; // hanya disentuh di EDT
+    private JCheckBox zoneCheck;
+    private final List<String> feeders = new ArrayList<>(); // feeder untuk zona suplai
 
-    private static final double ARUS_I = 600.0;       // Ampere (I)
-    private static final double RESISTANSI_R = 0.0671; // Ohm/km (r)
-    private static final double FASA_CONST = 3.0;     // Konstanta 3 Fasa
+    private static final int JUMLAH_ALTERNATIF = 4;   // rute cadangan yang ditampilkan
+    // Arus I (A), resistansi r (Ohm/km) dan 3 fasa untuk saluran tanpa r/I di data.txt
+    private static final LossAnalysis.Parameters LOSS_PARAMETERS = LossAnalysis.Parameters.defaults();
+    private static final String FEEDER = "PLN (V1)";
 
     public AppPathFinder() {
         pathFinder = new PathFinder();
+        // Metrik JMX (jconsole: pathfinder/PathFinder/app) hanya jika -Dpathfinder.jmx=true
+        if (Boolean.getBoolean("pathfinder.jmx")) {
+            try {
+                pathFinder.registerMBean("app");
+            } catch (JMException e) {
+                System.err.println("Gagal mendaftarkan MBean: " + e.getMessage());
+            }
+        }
         
-        // Load data
+        // Load data (snapshot biner data.txt.bin dipakai jika masih lebih baru dari data.txt)
         try {
-            pathFinder.loadGraphFromFile("data.txt");
+            EdgeListLoader.LoadReport report = pathFinder.loadGraph("data.txt");
+            if (report.malformed > 0) {
+                JOptionPane.showMessageDialog(this, "Sebagian baris data.txt tidak valid dan dilewati:\n" + report);
+            }
         } catch (IOException e) {
             JOptionPane.showMessageDialog(this, "Gagal membaca file data.txt! Pastikan file ada di folder project.");
         }
-        
+        // Pohon rute dari feeder utama dijaga hidup saat gardu dimatikan/dihidupkan
+        pathFinder.trackRoot(FEEDER);
+
         initCoordinates(); 
 
         setTitle("Simulasi Jalur Listrik & Power Loss");
@@ -47,9 +98,8 @@ public class AppPathFinder extends JFrame {
         
         // Baris 1: Rute
         JPanel routePanel = new JPanel();
-        List<String> sortedVertices = pathFinder.getSortedVertexNames();
-        startCombo = new JComboBox<>(sortedVertices.toArray(new String[0]));
-        endCombo = new JComboBox<>(sortedVertices.toArray(new String[0]));
+        startCombo = createVertexCombo();
+        endCombo = createVertexCombo();
         JButton btnFind = new JButton("Cari Rute & Hitung Power Loss");
         
         routePanel.add(new JLabel("Start:"));
@@ -57,16 +107,34 @@ public class AppPathFinder extends JFrame {
         routePanel.add(new JLabel("End:"));
         routePanel.add(endCombo);
         routePanel.add(btnFind);
+        searchProgress = new JProgressBar();
+        searchProgress.setIndeterminate(true);
+        searchProgress.setVisible(false);
+        routePanel.add(searchProgress);
         
         // Baris 2: Jika ada vertex padam (dan bisa dihidupkan kembali)
         JPanel brokenPanel = new JPanel();
-        brokenCombo = new JComboBox<>(sortedVertices.toArray(new String[0]));
+        brokenCombo = createVertexCombo();
         JButton btnToggleBroken = new JButton("Matikan / Hidupkan Gardu");
+        JButton btnContingency = new JButton("Analisis N-1");
+        JButton btnLossTable = new JButton("Power Loss Semua Gardu");
+        JButton btnFeeder = new JButton("Jadikan / Lepas Feeder");
+        JButton btnScenario = new JButton("Muat Skenario Gangguan");
+        JButton btnRestoreAll = new JButton("Pulihkan Semua");
+        zoneCheck = new JCheckBox("Warna Zona Suplai");
         
         brokenPanel.setBorder(BorderFactory.createMatteBorder(1, 0, 0, 0, Color.LIGHT_GRAY));
-        brokenPanel.add(new JLabel("Simulasi Kerusakan (Pilih Gardu):"));
+        JLabel brokenLabel = new JLabel("Simulasi Kerusakan (Pilih Gardu):");
+        brokenLabel.setToolTipText("Klik saluran di graf untuk trip / pulihkan satu saluran");
+        brokenPanel.add(brokenLabel);
         brokenPanel.add(brokenCombo);
         brokenPanel.add(btnToggleBroken);
+        brokenPanel.add(btnContingency);
+        brokenPanel.add(btnLossTable);
+        brokenPanel.add(btnFeeder);
+        brokenPanel.add(zoneCheck);
+        brokenPanel.add(btnScenario);
+        brokenPanel.add(btnRestoreAll);
 
         topPanel.add(routePanel);
         topPanel.add(brokenPanel);
@@ -74,7 +142,6 @@ public class AppPathFinder extends JFrame {
 
         // PANEL VISUALISASI GRAF (TENGAH) 
         graphPanel = new GraphPanel();
-        graphPanel.setPreferredSize(new Dimension(1200,800));
 
         JScrollPane scrollPaneGraph = new JScrollPane(graphPanel);
         scrollPaneGraph.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
@@ -100,79 +167,29 @@ public class AppPathFinder extends JFrame {
 
         // ACTION LISTENERS 
         
-        // Tombol Cari Rute
+        // Tombol Cari Rute: pencarian berjalan di background, klik baru membatalkan yang lama
         btnFind.addActionListener(e -> {
-            String start = (String) startCombo.getSelectedItem();
-            String end = (String) endCombo.getSelectedItem();
+            String start = selectedVertex(startCombo);
+            String end = selectedVertex(endCombo);
+            if (start == null || end == null) return;
             
             if(start.equals(end)) {
                 JOptionPane.showMessageDialog(this, "Titik awal dan akhir sama!");
                 return;
             }
 
+            if (currentSearch != null) currentSearch.cancel(true);
             infoArea.setText(""); // Reset log setiap pencarian baru
             infoArea.append("Mencari: " + start + "\n      -> " + end + "\n\n");
-
-            // 1. Cek Normal
-            PathFinder.PathResult result = pathFinder.findShortestPath(start, end, false);
-            
-            if (result.path.isEmpty()) {
-                // 2. Cek Diagnostik
-                PathFinder.PathResult theoreticalResult = pathFinder.findShortestPath(start, end, true);
-                
-                infoArea.append("STATUS: GAGAL\n");
-                if (theoreticalResult.path.isEmpty()) {
-                    infoArea.append("Penyebab: Tidak ada jalur koneksi.\n");
-                } else {
-                    infoArea.append("Penyebab: Jalur terputus akibat\n");
-                    infoArea.append("adanya Gardu/Node yang PADAM.\n");
-                }
-                
-            } else {
-                infoArea.append("STATUS: RUTE DITEMUKAN\n");
-                infoArea.append("----------------------------------\n");
-                
-                // --- PERHITUNGAN POWER LOSS (Sistem 3 Fasa) ---
-                double L = result.totalCost; // Panjang Saluran (km)
-                
-                // 1. Hitung Tahanan Total (Rtotal = L * r)
-                double Rtotal = L * RESISTANSI_R;
-                
-                // 2. Hitung Power Loss (Plosses = 3 * I^2 * Rtotal
-                double Plosses = FASA_CONST * Math.pow(ARUS_I, 2) * Rtotal;
-                
-                // --- TAMPILKAN HASIL ---
-                infoArea.append("[PARAMETER TEKNIS]\n");
-                infoArea.append("Arus (I)      : " + ARUS_I + " A\n");
-                infoArea.append("Resistansi (r): " + RESISTANSI_R + " Ohm/km\n");
-                infoArea.append("Fasa          : 3\n\n");
-                
-                infoArea.append("[HASIL PERHITUNGAN]\n");
-                infoArea.append("Jarak Total (L): " + String.format("%.3f", L) + " km\n");
-                infoArea.append("Tahanan (Rtot) : " + String.format("%.4f", Rtotal) + " Ohm\n");
-                infoArea.append("----------------------------------\n");
-                infoArea.append("POWER LOSS (Plosses):\n");
-                infoArea.append("= 3 * I^2 * Rtotal\n");
-                infoArea.append("= " + String.format("%,.2f", Plosses) + " Watt\n");
-                infoArea.append("= " + String.format("%,.2f", Plosses/1000) + " kW\n");
-                infoArea.append("----------------------------------\n");
-                
-                infoArea.append("\nDetail Jalur (" + result.path.size() + " steps):\n");
-                for (int i = 0; i < result.path.size(); i++) {
-                    String p = result.path.get(i);
-                    if (i == result.path.size() - 1) infoArea.append(" └ " + p + "\n");
-                    else if (i == 0) infoArea.append(" ┌ " + p + "\n");
-                    else infoArea.append(" ├ " + p + "\n");
-                }
-            }
-            
-            infoArea.setCaretPosition(0);
-            graphPanel.animatePath(result.path);
+            currentSearch = new RouteSearch(start, end);
+            updateProgress();
+            currentSearch.execute();
         });
 
         // Tombol Toggle Kerusakan
         btnToggleBroken.addActionListener(e -> {
-            String selectedNode = (String) brokenCombo.getSelectedItem();
+            String selectedNode = selectedVertex(brokenCombo);
+            if (selectedNode == null) return;
             boolean isCurrentlyBroken = pathFinder.isNodeBroken(selectedNode);
             
             pathFinder.setNodeBroken(selectedNode, !isCurrentlyBroken);
@@ -180,9 +197,367 @@ public class AppPathFinder extends JFrame {
             String status = !isCurrentlyBroken ? "PADAM" : "AKTIF";
             infoArea.append("\n[UPDATE STATUS]\n");
             infoArea.append(selectedNode + "\nStatus: " + status + "\n");
+            appendSupplyZones();
             
             graphPanel.repaint();
         });
+
+        btnContingency.addActionListener(e -> showContingencyReport());
+        zoneCheck.addActionListener(e -> updateSupplyZones());
+        btnFeeder.addActionListener(e -> {
+            String selected = selectedVertex(brokenCombo);
+            if (selected == null) return;
+            if (!feeders.remove(selected)) feeders.add(selected);
+            zoneCheck.setSelected(true);
+            updateSupplyZones();
+        });
+        btnLossTable.addActionListener(e -> showLossTable());
+        btnScenario.addActionListener(e -> loadOutageScenario());
+        btnRestoreAll.addActionListener(e -> {
+            pathFinder.clearAllOutages();
+            infoArea.append("\n[UPDATE STATUS]\nSemua gardu dan saluran dipulihkan\n");
+            appendSupplyZones();
+            graphPanel.repaint();
+        });
+    }
+
+    // Klik pada saluran di graf: trip / pulihkan. Saluran digambar sebagai satu garis,
+    // jadi arah sebaliknya (jika ada) ikut diubah.
+    private void toggleLine(String source, String destination) {
+        boolean trip = !pathFinder.isLineBroken(source, destination);
+        pathFinder.setLineBroken(source, destination, trip);
+        pathFinder.setLineBroken(destination, source, trip);
+
+        infoArea.append("\n[UPDATE STATUS]\n");
+        infoArea.append(source + " -> " + destination + "\nSaluran: " + (trip ? "TRIP" : "AKTIF") + "\n");
+        appendSupplyZones();
+        graphPanel.repaint();
+    }
+
+    // Skenario badai dari file: semua gardu/saluran di dalamnya dipadamkan sekaligus
+    private void loadOutageScenario() {
+        JFileChooser chooser = new JFileChooser(new File("."));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        File file = chooser.getSelectedFile();
+        OutageScenario scenario;
+        try {
+            scenario = OutageScenario.read(file);
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "Gagal membaca skenario " + file.getName() + ":\n" + ex.getMessage());
+            return;
+        }
+        List<String> unknown = pathFinder.applyOutageScenario(scenario, true);
+        PathFinder.GraphState st = pathFinder.snapshot();
+        infoArea.setText("Skenario gangguan: " + file.getName() + "\n");
+        infoArea.append("Entri: " + scenario.size() + " (" + scenario.lineCount() + " saluran)\n");
+        infoArea.append("Gardu padam: " + st.broken.count() + ", saluran trip: " + st.brokenLines.count() + "\n");
+        if (!unknown.isEmpty()) {
+            infoArea.append("\nTidak dikenal (dilewati):\n");
+            for (String entry : unknown) infoArea.append(" - " + entry + "\n");
+        }
+        appendSupplyZones();
+        infoArea.setCaretPosition(0);
+        graphPanel.repaint();
+    }
+
+    // Rute normal dan diagnostik (ignoreBroken) dihitung bersamaan di searchExecutor;
+    // hasil dipublikasikan ke EDT lewat done(). cancel(true) meng-interrupt kedua pencarian.
+    class RouteSearch extends SwingWorker<Void, Void> {
+        final String start;
+        final String end;
+        final long startedAt = System.nanoTime();
+        PathFinder.PathResult result;
+        PathFinder.PathResult theoreticalResult;
+        LossAnalysis.Totals totals;
+        List<PathFinder.PathResult> alternatives = new ArrayList<>(); // tanpa rute utama
+        List<LossAnalysis.Totals> alternativeTotals = new ArrayList<>();
+
+        RouteSearch(String start, String end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Void doInBackground() throws Exception {
+            Future<PathFinder.PathResult> normal = searchExecutor.submit(() -> pathFinder.findShortestPath(start, end, false));
+            Future<PathFinder.PathResult> diagnostic = searchExecutor.submit(() -> pathFinder.findShortestPath(start, end, true));
+            try {
+                // 1. Cek Normal
+                result = normal.get();
+                if (result.path.isEmpty()) {
+                    // 2. Cek Diagnostik
+                    theoreticalResult = diagnostic.get();
+                    return null;
+                }
+                diagnostic.cancel(true); // rute normal ada, diagnostik tidak dibutuhkan
+                totals = pathFinder.routeLoss(result.path, LOSS_PARAMETERS);
+                // Rute utama bisa dari pohon/cache/CH/A*; jika biayanya seri, Yen belum tentu
+                // mengembalikannya di urutan pertama. Buang jalur yang sama dengan rute utama.
+                for (PathFinder.PathResult alt : pathFinder.findKShortestPaths(start, end, JUMLAH_ALTERNATIF + 1)) {
+                    if (alt.path.equals(result.path) || alternatives.size() == JUMLAH_ALTERNATIF) continue;
+                    alternatives.add(alt);
+                    alternativeTotals.add(pathFinder.routeLoss(alt.path, LOSS_PARAMETERS));
+                }
+                return null;
+            } finally {
+                normal.cancel(true);
+                diagnostic.cancel(true);
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (currentSearch != this) return; // sudah digantikan pencarian baru
+            currentSearch = null;
+            updateProgress();
+            if (isCancelled()) return;
+            try {
+                get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException ex) {
+                infoArea.append("Pencarian gagal: " + ex.getCause() + "\n");
+                return;
+            }
+            showRouteResult(this);
+        }
+    }
+
+    private void showRouteResult(RouteSearch search) {
+        PathFinder.PathResult result = search.result;
+        if (result.path.isEmpty()) {
+            PathFinder.PathResult theoreticalResult = search.theoreticalResult;
+            
+            infoArea.append("STATUS: GAGAL\n");
+            if (theoreticalResult.path.isEmpty()) {
+                infoArea.append("Penyebab: Tidak ada jalur koneksi.\n");
+            } else {
+                infoArea.append("Penyebab: Jalur terputus akibat\n");
+                infoArea.append("adanya Gardu/Node yang PADAM.\n");
+            }
+            
+        } else {
+            infoArea.append("STATUS: RUTE DITEMUKAN\n");
+            infoArea.append("----------------------------------\n");
+            
+            // --- PERHITUNGAN POWER LOSS (Sistem 3 Fasa) ---
+            // Dijumlah per saluran; saluran tanpa r/I di data.txt memakai LOSS_PARAMETERS
+            LossAnalysis.Totals totals = search.totals;
+            double L = totals.length; // Panjang Saluran (km)
+            
+            // 1. Hitung Tahanan Total (Rtotal = L * r)
+            double Rtotal = totals.resistance;
+            
+            // 2. Hitung Power Loss (Plosses = 3 * I^2 * Rtotal
+            double Plosses = totals.loss;
+            
+            // --- TAMPILKAN HASIL ---
+            infoArea.append("[PARAMETER TEKNIS]\n");
+            if (totals.attributedLines == 0) {
+                infoArea.append("Arus (I)      : " + LOSS_PARAMETERS.current + " A\n");
+                infoArea.append("Resistansi (r): " + LOSS_PARAMETERS.resistance + " Ohm/km\n");
+            } else {
+                // r/I per saluran dari data.txt; default hanya untuk saluran tanpa atribut
+                infoArea.append("r/I per saluran: " + totals.attributedLines + " dari " + totals.lines + " saluran\n");
+                if (totals.attributedLines < totals.lines) {
+                    infoArea.append("Default lainnya: I = " + LOSS_PARAMETERS.current + " A, r = " + LOSS_PARAMETERS.resistance + " Ohm/km\n");
+                }
+                if (L > 0) {
+                    infoArea.append("r rata-rata   : " + String.format("%.4f", Rtotal / L) + " Ohm/km\n");
+                }
+            }
+            infoArea.append("Fasa          : " + (int) LOSS_PARAMETERS.phases + "\n\n");
+            
+            infoArea.append("[HASIL PERHITUNGAN]\n");
+            infoArea.append("Jarak Total (L): " + String.format("%.3f", L) + " km\n");
+            infoArea.append("Tahanan (Rtot) : " + String.format("%.4f", Rtotal) + " Ohm\n");
+            infoArea.append("----------------------------------\n");
+            infoArea.append("POWER LOSS (Plosses):\n");
+            infoArea.append(totals.attributedLines == 0 ? "= 3 * I^2 * Rtotal\n" : "= jumlah 3 * I^2 * R per saluran\n");
+            infoArea.append("= " + String.format("%,.2f", Plosses) + " Watt\n");
+            infoArea.append("= " + String.format("%,.2f", Plosses/1000) + " kW\n");
+            infoArea.append("----------------------------------\n");
+            
+            infoArea.append("\nDetail Jalur (" + result.path.size() + " steps):\n");
+            for (int i = 0; i < result.path.size(); i++) {
+                String p = result.path.get(i);
+                if (i == result.path.size() - 1) infoArea.append(" └ " + p + "\n");
+                else if (i == 0) infoArea.append(" ┌ " + p + "\n");
+                else infoArea.append(" ├ " + p + "\n");
+            }
+            showAlternatives(search.alternatives, search.alternativeTotals);
+        }
+        infoArea.append(String.format("%nWaktu pencarian: %.1f ms%n", (System.nanoTime() - search.startedAt) / 1e6));
+
+        infoArea.setCaretPosition(0);
+        graphPanel.animatePath(result.path);
+    }
+
+    // Rute cadangan jika gardu di rute utama akan dipadamkan (pemeliharaan)
+    private void showAlternatives(List<PathFinder.PathResult> routes, List<LossAnalysis.Totals> totals) {
+        if (routes.isEmpty()) {
+            infoArea.append("\nTidak ada rute alternatif.\n");
+            return;
+        }
+        infoArea.append("\n[RUTE ALTERNATIF]\n");
+        for (int i = 0; i < routes.size(); i++) {
+            PathFinder.PathResult alt = routes.get(i);
+            double loss = totals.get(i).loss;
+            infoArea.append((i + 1) + ". " + String.format("%.3f", alt.totalCost) + " km, "
+                    + String.format("%,.2f", loss / 1000) + " kW (" + alt.path.size() + " gardu)\n");
+            infoArea.append("   " + String.join(" -> ", alt.path) + "\n");
+        }
+    }
+
+    // Tombol Power Loss Semua Gardu: satu perhitungan dari feeder, tabel lengkap diekspor ke CSV
+    // (keduanya di background; SSSP penuh dan CSV jutaan baris tidak boleh membekukan UI)
+    private void showLossTable() {
+        File csv = new File("power_loss.csv");
+        runAnalysis("Menghitung power loss semua gardu...", () -> {
+            LossReport report = new LossReport(pathFinder.computeLosses(FEEDER, LOSS_PARAMETERS));
+            try {
+                report.table.writeCsv(csv);
+            } catch (IOException ex) {
+                report.csvError = ex.getMessage();
+            }
+            return report;
+        }, report -> {
+            LossAnalysis.Table table = report.table;
+            infoArea.setText("Power loss dari " + table.feeder() + "\n");
+            infoArea.append("Gardu tersuplai: " + table.reachableCount() + "\n\n");
+            infoArea.append("[LOSS TERBESAR]\n");
+            for (int id : table.highestLoss(10)) {
+                infoArea.append(table.name(id) + "\n   " + String.format("%.3f", table.length(id)) + " km, "
+                        + String.format("%.4f", table.resistance(id)) + " Ohm, "
+                        + String.format("%,.2f", table.loss(id) / 1000) + " kW\n");
+            }
+            if (report.csvError == null) {
+                infoArea.append("\nTabel lengkap: " + csv.getAbsolutePath() + "\n");
+            } else {
+                infoArea.append("\nGagal menulis " + csv + ": " + report.csvError + "\n");
+            }
+            infoArea.setCaretPosition(0);
+        });
+    }
+
+    static final class LossReport {
+        final LossAnalysis.Table table;
+        String csvError; // null jika CSV berhasil ditulis
+
+        LossReport(LossAnalysis.Table table) {
+            this.table = table;
+        }
+    }
+
+    // Zona suplai multi-feeder: dilacak hanya selama warna zona ditampilkan. Membangun hutan
+    // zona adalah Dijkstra multi-source penuh, jadi dijalankan di zoneExecutor.
+    private void updateSupplyZones() {
+        zonesWanted = zoneCheck.isSelected();
+        if (!zonesWanted) {
+            pathFinder.untrackSupplyZones();
+            graphPanel.repaint();
+            return;
+        }
+        if (feeders.isEmpty()) feeders.add(FEEDER);
+        List<String> requested = new ArrayList<>(feeders);
+        zoneTask = new AnalysisTask<>(() -> zoneExecutor.submit(() -> {
+            pathFinder.trackSupplyZones(requested);
+            if (!zonesWanted) pathFinder.untrackSupplyZones(); // checkbox dilepas selama membangun
+            return pathFinder.getSupplyZones();
+        }).get(), zones -> {
+            if (zones != null && zoneCheck.isSelected()) {
+                infoArea.setText(zones.toString());
+                infoArea.setCaretPosition(0);
+            }
+            graphPanel.repaint();
+        }, () -> {
+            zoneCheck.setSelected(false);
+            zonesWanted = false;
+            pathFinder.untrackSupplyZones();
+            graphPanel.repaint();
+        });
+        infoArea.setText("Menghitung zona suplai...\n");
+        updateProgress();
+        zoneTask.execute();
+    }
+
+    private void appendSupplyZones() {
+        SupplyZones zones = zoneCheck.isSelected() ? pathFinder.getSupplyZones() : null;
+        if (zones != null) infoArea.append("\n" + zones);
+    }
+
+    // Tombol Analisis N-1: peringkat gardu paling kritis dari feeder utama
+    private void showContingencyReport() {
+        runAnalysis("Menghitung analisis N-1...", () -> pathFinder.analyzeContingencies(FEEDER, LOSS_PARAMETERS), report -> {
+            infoArea.setText(report.toString(20));
+            if (!report.ranked.isEmpty()) {
+                ContingencyAnalysis.Entry worst = report.ranked.get(0);
+                infoArea.append("\nJika " + worst.node + " padam, gardu yang ikut padam:\n");
+                for (String node : worst.disconnectedNodes()) infoArea.append(" - " + node + "\n");
+            }
+            infoArea.setCaretPosition(0);
+        });
+    }
+
+    private <T> void runAnalysis(String message, Callable<T> work, Consumer<T> show) {
+        if (currentAnalysis != null) currentAnalysis.cancel(true);
+        infoArea.setText(message + "\n");
+        AnalysisTask<T> task = new AnalysisTask<>(work, show, null);
+        currentAnalysis = task;
+        updateProgress();
+        task.execute();
+    }
+
+    private void updateProgress() {
+        searchProgress.setVisible(currentSearch != null || currentAnalysis != null || zoneTask != null);
+    }
+
+    // Analisis berat di luar EDT, pola yang sama dengan RouteSearch: hasil ditampilkan lewat
+    // done() hanya jika task ini belum digantikan. IllegalArgumentException (mis. feeder tidak
+    // dikenal) ditampilkan sebagai dialog lalu rejected dijalankan (boleh null).
+    class AnalysisTask<T> extends SwingWorker<T, Void> {
+        private final Callable<T> work;
+        private final Consumer<T> show;
+        private final Runnable rejected;
+
+        AnalysisTask(Callable<T> work, Consumer<T> show, Runnable rejected) {
+            this.work = work;
+            this.show = show;
+            this.rejected = rejected;
+        }
+
+        @Override
+        protected T doInBackground() throws Exception {
+            return work.call();
+        }
+
+        @Override
+        protected void done() {
+            if (currentAnalysis == this) currentAnalysis = null;
+            else if (zoneTask == this) zoneTask = null;
+            else return; // sudah digantikan
+            updateProgress();
+            if (isCancelled()) return;
+            T value;
+            try {
+                value = get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause() instanceof ExecutionException ? ex.getCause().getCause() : ex.getCause();
+                if (cause instanceof IllegalArgumentException) {
+                    infoArea.setText("");
+                    JOptionPane.showMessageDialog(AppPathFinder.this, cause.getMessage());
+                    if (rejected != null) rejected.run();
+                } else {
+                    infoArea.append("Analisis gagal: " + cause + "\n");
+                }
+                return;
+            }
+            show.accept(value);
+        }
     }
 
     private void initCoordinates() {
@@ -203,12 +578,261 @@ public class AppPathFinder extends JFrame {
         nodeLocations.put("Panggung (V13)", new Point(810, 500));
         nodeLocations.put("Tugu Tembengan (V15)", new Point(880, 420));
         nodeLocations.put("Gerbang Depan UNS (V16)", new Point(930, 550));
+
+        // Posisi peta sekaligus heuristik A* untuk rute dari selain feeder (skala piksel
+        // terhadap bobot edge dikalibrasi otomatis)
+        NodeCoordinates coordinates = new NodeCoordinates(false);
+        for (Map.Entry<String, Point> e : nodeLocations.entrySet()) {
+            coordinates.put(e.getKey(), e.getValue().x, e.getValue().y);
+        }
+        pathFinder.setCoordinates(coordinates);
     }
 
+    // --- COMBO GARDU ---
+    private static final int COMBO_MATCH_LIMIT = 500; // hasil pencarian yang ditampilkan saat mengetik
+    private static final String COMBO_PROTOTYPE = "Gardu Induk Distribusi Ungaran (V100)";
+
+    // Combo gardu yang bisa diketik: tanpa teks berisi seluruh katalog (tanpa disalin), saat
+    // mengetik disaring lewat VertexCatalog.search (substring, tanpa beda huruf besar/kecil)
+    private JComboBox<String> createVertexCombo() {
+        VertexComboModel model = new VertexComboModel(pathFinder.getVertexCatalog());
+        JComboBox<String> combo = new JComboBox<>(model);
+        combo.setEditable(true);
+        combo.setPrototypeDisplayValue(COMBO_PROTOTYPE); // lebar tetap, item tidak diukur satu per satu
+        combo.setMaximumRowCount(20);
+        if (model.getSize() > 0) combo.setSelectedIndex(0);
+        JTextField editor = (JTextField) combo.getEditor().getEditorComponent();
+        editor.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                filter();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                filter();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+
+            // Dokumen tidak boleh diubah selama notifikasi, jadi model diganti setelahnya
+            private void filter() {
+                SwingUtilities.invokeLater(() -> {
+                    if (!model.setQuery(editor.getText()) || !editor.isFocusOwner()) return;
+                    combo.hidePopup(); // tinggi popup mengikuti jumlah item yang baru
+                    if (model.getSize() > 0) combo.showPopup();
+                });
+            }
+        });
+        return combo;
+    }
+
+    // Nama gardu yang diketik/dipilih, atau null (dengan pesan) jika tidak dikenal
+    private String selectedVertex(JComboBox<String> combo) {
+        String name = String.valueOf(combo.getEditor().getItem()).trim();
+        if (pathFinder.getNodeId(name) >= 0) return name;
+        JOptionPane.showMessageDialog(this, "Gardu tidak dikenal: " + name);
+        return null;
+    }
+
+    // Model combo di atas VertexCatalog: item dibaca saat dirender, tidak pernah disalin ke model
+    static final class VertexComboModel extends AbstractListModel<String> implements ComboBoxModel<String> {
+        private static final long serialVersionUID = 1L;
+
+        private final VertexCatalog catalog;
+        private List<String> items;
+        private String query = "";
+        private Object selected;
+
+        VertexComboModel(VertexCatalog catalog) {
+            this.catalog = catalog;
+            this.items = catalog.names();
+        }
+
+        // Nama lengkap yang sudah ada di daftar (mis. hasil memilih item dengan panah) tidak
+        // menyaring ulang; false jika daftar tidak berubah
+        boolean setQuery(String text) {
+            String q = text.trim();
+            if (!q.isEmpty() && (query.isEmpty() ? catalog.contains(q) : items.contains(q))) return false;
+            if (q.equals(query)) return false;
+            int oldSize = items.size();
+            query = q;
+            items = q.isEmpty() ? catalog.names() : catalog.search(q, COMBO_MATCH_LIMIT);
+            fireContentsChanged(this, 0, Math.max(oldSize, items.size()) - 1);
+            return true;
+        }
+
+        @Override
+        public int getSize() {
+            return items.size();
+        }
+
+        @Override
+        public String getElementAt(int index) {
+            return items.get(index);
+        }
+
+        @Override
+        public void setSelectedItem(Object item) {
+            if (item == null ? selected == null : item.equals(selected)) return;
+            selected = item;
+            fireContentsChanged(this, -1, -1);
+        }
+
+        @Override
+        public Object getSelectedItem() {
+            return selected;
+        }
+    }
+
+    // --- RENDERING GRAF ---
+    private static final Dimension CANVAS = new Dimension(1200, 800); // ukuran kanvas pada zoom 1
+    private static final double MIN_ZOOM = 0.1;
+    private static final double MAX_ZOOM = 4.0;
+    private static final double LABEL_MIN_ZOOM = 0.75; // di bawah zoom ini label bobot disembunyikan
+    private static final int NODE_RADIUS = 15;
+    private static final Color EDGE_COLOR = Color.LIGHT_GRAY;
+    private static final Color EDGE_BROKEN_COLOR = new Color(230, 230, 230);
+    private static final Color WEIGHT_BACKGROUND = new Color(255, 255, 255, 240);
+    private static final Color WEIGHT_COLOR = new Color(0, 100, 0);
+    private static final Font WEIGHT_FONT = new Font("SansSerif", Font.BOLD, 10);
+    private static final BasicStroke EDGE_STROKE = new BasicStroke(1);
+    private static final BasicStroke PATH_STROKE = new BasicStroke(3);
+    private static final BasicStroke CROSS_STROKE = new BasicStroke(2);
+    private static final BasicStroke FEEDER_STROKE = new BasicStroke(3);
+    private static final BasicStroke LINE_TRIPPED_STROKE = new BasicStroke(2, BasicStroke.CAP_BUTT,
+            BasicStroke.JOIN_MITER, 10, new float[] { 6, 4 }, 0);
+    private static final Color LINE_TRIPPED_COLOR = new Color(148, 0, 211);
+    private static final double LINE_HIT_DISTANCE = 6; // piksel layar
+    // Warna zona suplai per feeder (berulang jika feeder lebih banyak); merah dipakai jalur
+    private static final Color[] ZONE_COLORS = {
+        new Color(0x1F77B4), new Color(0xFF7F0E), new Color(0x2CA02C), new Color(0x9467BD),
+        new Color(0x8C564B), new Color(0xE377C2), new Color(0xBCBD22), new Color(0x17BECF)
+    };
+    private static final Color UNSUPPLIED_COLOR = new Color(200, 200, 200);
+
+    // Indeks grid seragam atas lokasi gardu (koordinat kanvas pada zoom 1) untuk culling.
+    // Edge yang lebih panjang dari satu sel disimpan terpisah karena bisa melintasi layar
+    // walaupun kedua ujungnya di luar area yang di-query.
+    private static final class NodeGrid {
+        static final int CELL = 128;
+
+        final CsrGraph graph;
+        final Point[] locations; // per id vertex, null jika gardu tidak punya koordinat
+        final int minX;
+        final int minY;
+        final int cols;
+        final int rows;
+        final int[] cellStart;   // CSR: id vertex per sel
+        final int[] cellNodes;
+        final int[] longSource;  // edge panjang: source dan indeks edge
+        final int[] longEdge;
+        final int longCount;
+
+        NodeGrid(CsrGraph graph, Map<String, Point> nodeLocations) {
+            this.graph = graph;
+            int n = graph.nodeCount();
+            locations = new Point[n];
+            int x0 = Integer.MAX_VALUE, y0 = Integer.MAX_VALUE, x1 = Integer.MIN_VALUE, y1 = Integer.MIN_VALUE;
+            for (int v = 0; v < n; v++) {
+                Point p = nodeLocations.get(graph.name(v));
+                locations[v] = p;
+                if (p == null) continue;
+                x0 = Math.min(x0, p.x);
+                y0 = Math.min(y0, p.y);
+                x1 = Math.max(x1, p.x);
+                y1 = Math.max(y1, p.y);
+            }
+            if (x0 > x1) { // tidak ada lokasi sama sekali
+                x0 = y0 = x1 = y1 = 0;
+            }
+            minX = x0;
+            minY = y0;
+            cols = (x1 - x0) / CELL + 1;
+            rows = (y1 - y0) / CELL + 1;
+
+            cellStart = new int[cols * rows + 1];
+            for (int v = 0; v < n; v++) {
+                if (locations[v] != null) cellStart[cellOf(locations[v]) + 1]++;
+            }
+            for (int c = 0; c < cols * rows; c++) cellStart[c + 1] += cellStart[c];
+            cellNodes = new int[cellStart[cols * rows]];
+            int[] fill = Arrays.copyOf(cellStart, cols * rows);
+            for (int v = 0; v < n; v++) {
+                if (locations[v] != null) cellNodes[fill[cellOf(locations[v])]++] = v;
+            }
+
+            int count = 0;
+            int[] src = new int[16];
+            int[] edge = new int[16];
+            for (int u = 0; u < n; u++) {
+                Point p1 = locations[u];
+                if (p1 == null) continue;
+                for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                    Point p2 = locations[graph.target(e)];
+                    if (p2 == null || (Math.abs(p1.x - p2.x) <= CELL && Math.abs(p1.y - p2.y) <= CELL)) continue;
+                    if (count == src.length) {
+                        src = Arrays.copyOf(src, count * 2);
+                        edge = Arrays.copyOf(edge, count * 2);
+                    }
+                    src[count] = u;
+                    edge[count++] = e;
+                }
+            }
+            longSource = src;
+            longEdge = edge;
+            longCount = count;
+        }
+
+        private int cellOf(Point p) {
+            return ((p.y - minY) / CELL) * cols + (p.x - minX) / CELL;
+        }
+
+        // Id gardu di dalam region (koordinat kanvas)
+        int[] nodesIn(Rectangle region) {
+            int c0 = clamp((region.x - minX) / CELL, cols);
+            int c1 = clamp((region.x + region.width - minX) / CELL, cols);
+            int r0 = clamp((region.y - minY) / CELL, rows);
+            int r1 = clamp((region.y + region.height - minY) / CELL, rows);
+            int[] out = new int[16];
+            int size = 0;
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    int cell = r * cols + c;
+                    for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                        int v = cellNodes[i];
+                        if (!region.contains(locations[v])) continue;
+                        if (size == out.length) out = Arrays.copyOf(out, size * 2);
+                        out[size++] = v;
+                    }
+                }
+            }
+            return Arrays.copyOf(out, size);
+        }
+
+        private static int clamp(int i, int limit) {
+            return Math.max(0, Math.min(limit - 1, i));
+        }
+    }
+
+    // Dua lapis: jaringan statis (edge, bobot, gardu) dirender sekali ke BufferedImage seukuran
+    // viewport dan hanya dibuat ulang jika versi graf/gangguan, zoom atau area tampilan berubah.
+    // Setiap frame animasi hanya menggambar jalur di atas gambar tersebut.
     class GraphPanel extends JPanel {
-        private List<String> currentPath = null;
+        private int[] pathIds = null;   // jalur yang dianimasikan dalam id vertex
         private int animationStep = 0;
         private Timer timer;
+        private double zoom = 1.0;
+
+        private NodeGrid grid;
+        private BufferedImage staticLayer;
+        private long layerVersion = -1;
+        private SupplyZones layerZones;
+        private double layerZoom;
+        private double layerScale;
+        private final Rectangle layerBounds = new Rectangle();
 
         public GraphPanel() {
             setBackground(Color.WHITE);
@@ -217,7 +841,7 @@ public class AppPathFinder extends JFrame {
             timer = new Timer(500, new ActionListener() {
                 @Override
                 public void actionPerformed(ActionEvent e) {
-                    if (currentPath != null && animationStep < currentPath.size()) {
+                    if (pathIds != null && animationStep < pathIds.length) {
                         animationStep++;
                         repaint();
                     } else {
@@ -225,11 +849,89 @@ public class AppPathFinder extends JFrame {
                     }
                 }
             });
+
+            // Ctrl + scroll untuk zoom di sekitar kursor; scroll biasa diteruskan ke JScrollPane
+            addMouseWheelListener(e -> {
+                if (!e.isControlDown()) {
+                    getParent().dispatchEvent(SwingUtilities.convertMouseEvent(this, e, getParent()));
+                    return;
+                }
+                double old = zoom;
+                zoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom * Math.pow(1.1, -e.getPreciseWheelRotation())));
+                if (zoom == old) return;
+                revalidate();
+                JViewport viewport = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, this);
+                if (viewport != null) {
+                    Point view = viewport.getViewPosition();
+                    Point mouse = e.getPoint();
+                    double f = zoom / old;
+                    viewport.setViewPosition(new Point(
+                            Math.max(0, (int) (mouse.x * f) - (mouse.x - view.x)),
+                            Math.max(0, (int) (mouse.y * f) - (mouse.y - view.y))));
+                }
+                repaint();
+            });
+
+            addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    if (!SwingUtilities.isLeftMouseButton(e) || grid == null) return;
+                    CsrGraph graph = grid.graph;
+                    int edge = edgeAt(e.getX() / zoom, e.getY() / zoom);
+                    if (edge >= 0) toggleLine(graph.name(graph.source(edge)), graph.name(graph.target(edge)));
+                }
+            });
+        }
+
+        // Saluran terdekat dari titik (koordinat kanvas) dalam toleransi klik, -1 jika tidak ada.
+        // Klik di atas gardu tidak dihitung sebagai klik saluran.
+        private int edgeAt(double x, double y) {
+            CsrGraph graph = grid.graph;
+            Point[] locations = grid.locations;
+            double tolerance = LINE_HIT_DISTANCE / zoom;
+            // edge pendek selalu punya source dalam satu sel dari titik; edge panjang dicek terpisah
+            int reach = NodeGrid.CELL + (int) Math.ceil(tolerance);
+            int[] nearby = grid.nodesIn(new Rectangle((int) x - reach, (int) y - reach, 2 * reach, 2 * reach));
+            for (int v : nearby) {
+                if (locations[v].distance(x, y) <= NODE_RADIUS) return -1;
+            }
+            int best = -1;
+            double bestDistance = tolerance;
+            for (int u : nearby) {
+                for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                    double d = segmentDistance(locations[u], locations[graph.target(e)], x, y);
+                    if (d <= bestDistance) {
+                        best = e;
+                        bestDistance = d;
+                    }
+                }
+            }
+            for (int i = 0; i < grid.longCount; i++) {
+                int e = grid.longEdge[i];
+                double d = segmentDistance(locations[grid.longSource[i]], locations[graph.target(e)], x, y);
+                if (d <= bestDistance) {
+                    best = e;
+                    bestDistance = d;
+                }
+            }
+            return best;
+        }
+
+        private double segmentDistance(Point p1, Point p2, double x, double y) {
+            if (p2 == null) return Double.MAX_VALUE;
+            return Line2D.ptSegDist(p1.x, p1.y, p2.x, p2.y, x, y);
+        }
+
+        @Override
+        public Dimension getPreferredSize() {
+            return new Dimension((int) (CANVAS.width * zoom), (int) (CANVAS.height * zoom));
         }
 
         // Jalur muncul bertahap
         public void animatePath(List<String> path) {
-            this.currentPath = path;
+            int[] ids = new int[path.size()];
+            for (int i = 0; i < ids.length; i++) ids[i] = pathFinder.getNodeId(path.get(i));
+            this.pathIds = ids;
             this.animationStep = 0;
             timer.start();
             repaint();
@@ -240,77 +942,171 @@ public class AppPathFinder extends JFrame {
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
             Graphics2D g2 = (Graphics2D) g;
-            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-            // 1. Loop Background (Edges)
-            g2.setStroke(new BasicStroke(1));
-            Map<String, List<PathFinder.Edge>> graph = pathFinder.getGraphMap();
-            
-            for (String src : graph.keySet()) {
-                Point p1 = nodeLocations.get(src);
-                for (PathFinder.Edge edge : graph.get(src)) {
-                    Point p2 = nodeLocations.get(edge.destination);
-                    if (p1 != null && p2 != null) {
-                        
-                        // Warna abu-abu jika ada node yang rusak
-                        if (pathFinder.isNodeBroken(src) || pathFinder.isNodeBroken(edge.destination)) {
-                             g2.setColor(new Color(230, 230, 230)); 
-                        } else {
-                             g2.setColor(Color.LIGHT_GRAY);
-                        }
-                        
-                        g2.drawLine(p1.x, p1.y, p2.x, p2.y);
-                        drawArrow(g2, p1.x, p1.y, p2.x, p2.y);
-                        drawWeight(g2, p1, p2, edge.weight);
-                    }
-                }
+            // Satu snapshot per frame: topologi dan status gardu selalu konsisten
+            PathFinder.GraphState state = pathFinder.snapshot();
+            if (grid == null || grid.graph != state.graph) grid = new NodeGrid(state.graph, nodeLocations);
+
+            // 1. Lapisan statis (dibuat ulang hanya jika perlu)
+            Rectangle view = getVisibleRect();
+            if (view.isEmpty()) return;
+            double scale = g2.getTransform().getScaleX(); // HiDPI
+            SupplyZones zones = zoneCheck.isSelected() ? pathFinder.getSupplyZones() : null;
+            if (zones != null && zones.graph != state.graph) zones = null;
+            if (staticLayer == null || layerVersion != state.version || layerZones != zones || layerZoom != zoom
+                    || layerScale != scale || !layerBounds.equals(view)) {
+                renderStaticLayer(state, zones, view, scale);
             }
+            g2.drawImage(staticLayer, view.x, view.y, view.width, view.height, null);
 
-            // 2. Loop Animasi Jalur
-            if (currentPath != null && currentPath.size() > 0) {
-                g2.setColor(Color.RED);
-                g2.setStroke(new BasicStroke(3));
-                for (int i = 0; i < animationStep - 1; i++) {
-                    if (i + 1 < currentPath.size()) {
-                        String u = currentPath.get(i);
-                        String v = currentPath.get(i+1);
-                        Point p1 = nodeLocations.get(u);
-                        Point p2 = nodeLocations.get(v);
-                        if(p1 != null && p2 != null) {
-                            g2.drawLine(p1.x, p1.y, p2.x, p2.y);
-                            drawArrow(g2, p1.x, p1.y, p2.x, p2.y);
-                        }
-                    }
+            // 2. Jalur animasi (overlay per frame)
+            if (pathIds == null || pathIds.length == 0) return;
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.scale(zoom, zoom);
+            g2.setColor(Color.RED);
+            g2.setStroke(PATH_STROKE);
+            for (int i = 0; i + 1 < animationStep && i + 1 < pathIds.length; i++) {
+                Point p1 = locationOf(pathIds[i]);
+                Point p2 = locationOf(pathIds[i + 1]);
+                if (p1 != null && p2 != null) {
+                    g2.drawLine(p1.x, p1.y, p2.x, p2.y);
+                    drawArrow(g2, p1.x, p1.y, p2.x, p2.y);
                 }
             }
-
-            // 3. Loop Nodes
-            for (String node : nodeLocations.keySet()) {
-                Point p = nodeLocations.get(node);
+            // Gardu pada jalur digambar ulang di atas garis: oranye jika sudah dilalui animasi
+            for (int i = 0; i < pathIds.length; i++) {
+                Point p = locationOf(pathIds[i]);
                 if (p == null) continue;
+                boolean broken = state.broken.get(pathIds[i]);
+                drawNode(g2, p, state.graph.name(pathIds[i]),
+                        broken ? Color.DARK_GRAY : i < animationStep ? Color.ORANGE : Color.BLUE, broken);
+            }
+        }
 
-                if (pathFinder.isNodeBroken(node)) {
-                    g2.setColor(Color.DARK_GRAY);
-                } else if (currentPath != null && currentPath.contains(node)) {
-                    int indexInPath = currentPath.indexOf(node);
-                    if (indexInPath < animationStep) g2.setColor(Color.ORANGE);
-                    else g2.setColor(Color.BLUE);
-                } else {
-                    g2.setColor(Color.BLUE);
+        private Point locationOf(int id) {
+            return id >= 0 && id < grid.locations.length ? grid.locations[id] : null;
+        }
+
+        private void renderStaticLayer(PathFinder.GraphState state, SupplyZones zones, Rectangle view, double scale) {
+            int w = Math.max(1, (int) Math.ceil(view.width * scale));
+            int h = Math.max(1, (int) Math.ceil(view.height * scale));
+            if (staticLayer == null || staticLayer.getWidth() != w || staticLayer.getHeight() != h) {
+                // gambar opaque yang kompatibel dengan layar agar drawImage per frame murah
+                GraphicsConfiguration gc = getGraphicsConfiguration();
+                staticLayer = gc != null ? gc.createCompatibleImage(w, h)
+                        : new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            }
+            Graphics2D g2 = staticLayer.createGraphics();
+            try {
+                g2.setColor(getBackground());
+                g2.fillRect(0, 0, w, h);
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g2.scale(scale, scale);
+                g2.translate(-view.x, -view.y);
+                g2.scale(zoom, zoom);
+                drawNetwork(g2, state, zones, view);
+            } finally {
+                g2.dispose();
+            }
+            layerVersion = state.version;
+            layerZones = zones;
+            layerZoom = zoom;
+            layerScale = scale;
+            layerBounds.setBounds(view);
+        }
+
+        // Edge, label bobot dan gardu yang terlihat di view (koordinat layar).
+        // zones != null: gardu diwarnai per feeder, feeder diberi cincin hitam.
+        private void drawNetwork(Graphics2D g2, PathFinder.GraphState state, SupplyZones zones, Rectangle view) {
+            CsrGraph graph = state.graph;
+            Point[] locations = grid.locations;
+            // view dalam koordinat kanvas; region diperlebar satu sel agar edge pendek
+            // yang ujungnya di luar layar tetap tergambar
+            Rectangle canvasView = new Rectangle((int) Math.floor(view.x / zoom), (int) Math.floor(view.y / zoom),
+                    (int) Math.ceil(view.width / zoom) + 1, (int) Math.ceil(view.height / zoom) + 1);
+            Rectangle region = new Rectangle(canvasView);
+            region.grow(NodeGrid.CELL, NodeGrid.CELL);
+            int[] visible = grid.nodesIn(region);
+            boolean labels = zoom >= LABEL_MIN_ZOOM;
+
+            // 1. Edges: keluar dari gardu di region, masuk dari gardu di luar region, lalu edge panjang
+            g2.setStroke(EDGE_STROKE);
+            CsrGraph reverse = graph.reverse();
+            for (int dst : visible) {
+                for (int e = reverse.firstEdge(dst); e < reverse.endEdge(dst); e++) {
+                    int src = reverse.target(e);
+                    Point p1 = locations[src];
+                    if (p1 == null || region.contains(p1)) continue;
+                    drawEdge(g2, state, reverse.originalEdge(e), src, dst, reverse.weight(e), labels);
+                }
+            }
+            for (int src : visible) {
+                for (int e = graph.firstEdge(src); e < graph.endEdge(src); e++) {
+                    int dst = graph.target(e);
+                    if (locations[dst] == null) continue;
+                    drawEdge(g2, state, e, src, dst, graph.weight(e), labels);
                 }
+            }
+            for (int i = 0; i < grid.longCount; i++) {
+                int src = grid.longSource[i];
+                int dst = graph.target(grid.longEdge[i]);
+                Point p1 = locations[src];
+                Point p2 = locations[dst];
+                if (region.contains(p1) || region.contains(p2)) continue; // sudah digambar di atas
+                if (!canvasView.intersectsLine(p1.x, p1.y, p2.x, p2.y)) continue;
+                drawEdge(g2, state, grid.longEdge[i], src, dst, graph.weight(grid.longEdge[i]), labels);
+            }
 
-                g2.fillOval(p.x - 15, p.y - 15, 30, 30);
-                
-                g2.setColor(Color.BLACK);
-                String label = node.length() > 10 ? node.substring(0, 10) + "..." : node;
-                g2.drawString(label, p.x - 20, p.y + 25);
-                
-                if (pathFinder.isNodeBroken(node)) {
-                    g2.setColor(Color.WHITE);
-                    g2.setStroke(new BasicStroke(2));
-                    g2.drawLine(p.x-5, p.y-5, p.x+5, p.y+5);
-                    g2.drawLine(p.x+5, p.y-5, p.x-5, p.y+5);
+            // 2. Nodes
+            for (int v : visible) {
+                boolean broken = state.broken.get(v);
+                Color fill = broken ? Color.DARK_GRAY : Color.BLUE;
+                if (zones != null && !broken) {
+                    int z = zones.zoneOf(v);
+                    fill = z < 0 ? UNSUPPLIED_COLOR : ZONE_COLORS[z % ZONE_COLORS.length];
                 }
+                drawNode(g2, locations[v], graph.name(v), fill, broken);
+                if (zones != null && zones.isFeeder(v)) {
+                    Point p = locations[v];
+                    g2.setColor(Color.BLACK);
+                    g2.setStroke(FEEDER_STROKE);
+                    g2.drawOval(p.x - NODE_RADIUS, p.y - NODE_RADIUS, 2 * NODE_RADIUS, 2 * NODE_RADIUS);
+                }
+            }
+        }
+
+        private void drawEdge(Graphics2D g2, PathFinder.GraphState state, int edge, int src, int dst, double weight,
+                              boolean labels) {
+            Point p1 = grid.locations[src];
+            Point p2 = grid.locations[dst];
+            if (state.brokenLines.get(edge)) {
+                // Saluran trip: garis putus-putus
+                g2.setColor(LINE_TRIPPED_COLOR);
+                g2.setStroke(LINE_TRIPPED_STROKE);
+                g2.drawLine(p1.x, p1.y, p2.x, p2.y);
+                g2.setStroke(EDGE_STROKE);
+            } else {
+                // Warna abu-abu jika ada node yang rusak
+                g2.setColor(state.broken.get(src) || state.broken.get(dst) ? EDGE_BROKEN_COLOR : EDGE_COLOR);
+                g2.drawLine(p1.x, p1.y, p2.x, p2.y);
+            }
+            drawArrow(g2, p1.x, p1.y, p2.x, p2.y);
+            if (labels) drawWeight(g2, p1, p2, weight);
+        }
+
+        private void drawNode(Graphics2D g2, Point p, String node, Color fill, boolean broken) {
+            g2.setColor(fill);
+            g2.fillOval(p.x - NODE_RADIUS, p.y - NODE_RADIUS, 2 * NODE_RADIUS, 2 * NODE_RADIUS);
+
+            g2.setColor(Color.BLACK);
+            String label = node.length() > 10 ? node.substring(0, 10) + "..." : node;
+            g2.drawString(label, p.x - 20, p.y + 25);
+
+            if (broken) {
+                g2.setColor(Color.WHITE);
+                g2.setStroke(CROSS_STROKE);
+                g2.drawLine(p.x-5, p.y-5, p.x+5, p.y+5);
+                g2.drawLine(p.x+5, p.y-5, p.x-5, p.y+5);
             }
         }
         
@@ -339,20 +1135,30 @@ public class AppPathFinder extends JFrame {
             String label = String.valueOf(weight);
             
             Font originalFont = g2.getFont();
-            g2.setFont(new Font("SansSerif", Font.BOLD, 10)); 
+            g2.setFont(WEIGHT_FONT);
             FontMetrics fm = g2.getFontMetrics();
             int textW = fm.stringWidth(label);
             int textH = fm.getHeight();
             
-            g2.setColor(new Color(255, 255, 255, 240)); 
+            g2.setColor(WEIGHT_BACKGROUND);
             g2.fillRect(offsetX - textW/2 - 2, offsetY - textH + 3, textW + 4, textH);
-            g2.setColor(new Color(0, 100, 0));
+            g2.setColor(WEIGHT_COLOR);
             g2.drawString(label, offsetX - textW/2, offsetY);
             g2.setFont(originalFont);
         }
     }
 
-    public static void main(String[] args) {
+    // --server [port] [file data]: mode HTTP tanpa UI (lihat RouteServer)
+    // --replay <file data> <event.csv|-> [feeder ...]: replay log gangguan (lihat OutageReplay)
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--server")) {
+            RouteServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--replay")) {
+            OutageReplay.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         SwingUtilities.invokeLater(() -> new AppPathFinder().setVisible(true));
     }
 }
\ No newline at end of file
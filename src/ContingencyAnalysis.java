@@ -0,0 +1,347 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Analisis kontingensi N-1 dari satu feeder: untuk setiap gardu x yang mendapat suplai,
+// gardu mana yang ikut padam jika x padam, dan berapa tambahan jarak (dan power loss)
+// gardu yang masih bisa disuplai lewat jalur memutar.
+//
+//  - Pemutusan: v kehilangan suplai tepat jika x mendominasi v pada graf keterjangkauan
+//    dari feeder. Pohon dominator (Lengauer-Tarjan) dihitung sekali; yang putus = subtree x.
+//  - Biaya: hanya gardu di subtree x pada pohon jalur terpendek yang jaraknya bisa berubah.
+//    Dijkstra ulang dibatasi ke subtree itu (tanpa bagian yang terdominasi), paralel per x.
+//  - Loss: rugi daya jalur tiap gardu dijumlah per saluran (r dan I per saluran, default dari
+//    LossAnalysis.Parameters), sebelum dan sesudah memutar, seperti LossAnalysis.compute.
+// Gardu padam dan saluran trip pada snapshot sudah diperhitungkan sebagai kondisi awal.
+public final class ContingencyAnalysis {
+
+    private static final double EPS = 1e-9;
+
+    private ContingencyAnalysis() {
+    }
+
+    static Report analyze(PathFinder.GraphState st, int feeder, LossAnalysis.Parameters parameters, ForkJoinPool pool) {
+        CsrGraph g = st.graph;
+        OutageMask broken = st.broken;
+        OutageMask lines = st.brokenLines;
+        int n = g.nodeCount();
+
+        ShortestPathCache.Tree base = PathFinder.computeTree(g, broken, lines, feeder);
+        double[] dist = base.dist;
+        RootedTree spt = new RootedTree(base.prev, feeder, n);
+        RootedTree dom = new RootedTree(dominators(g, broken, lines, feeder), feeder, n);
+        // Rugi daya jalur feeder -> v pada kondisi awal; preorder menjamin parent lebih dulu
+        double[] loss = new double[n];
+        for (int i = 1; i < spt.count; i++) {
+            int v = spt.order[i];
+            int u = base.prev[v];
+            loss[v] = loss[u] + LossAnalysis.hopLoss(g, u, v, lines, parameters);
+        }
+
+        // Kandidat: semua gardu bersuplai selain feeder (padamnya feeder memutus semuanya)
+        int k = spt.count - 1;
+        int[] lost = new int[k];
+        int[] rerouted = new int[k];
+        double[] total = new double[k];
+        double[] worst = new double[k];
+        double[] lossDelta = new double[k];
+        CsrGraph rev = g.reverse();
+
+        pool.submit(() -> IntStream.range(0, k).parallel().forEach(i -> {
+            int x = spt.order[i + 1];
+            lost[i] = dom.size[x] - 1;
+            if (spt.size[x] == dom.size[x]) return; // seluruh subtree terdominasi: tidak ada yang memutar
+
+            // Seed: gardu di subtree x (yang tidak terdominasi) dengan edge masuk dari luar subtree
+            SearchScratch scratch = SearchScratch.acquire(n);
+            int from = spt.tin[x] + 1;
+            int to = spt.tin[x] + spt.size[x];
+            for (int j = from; j < to; j++) {
+                int v = spt.order[j];
+                if (dom.contains(x, v)) continue;
+                for (int e = rev.offsets[v]; e < rev.offsets[v + 1]; e++) {
+                    int p = rev.targets[e];
+                    if (dist[p] == Double.MAX_VALUE || spt.contains(x, p) || lines.get(rev.forwardEdge[e])) continue;
+                    scratch.relax(v, dist[p] + rev.weights[e], p);
+                }
+            }
+            // newLoss diindeks posisi preorder di subtree x (tin - from)
+            double[] newLoss = new double[spt.size[x]];
+            while (!scratch.isEmpty()) {
+                int u = scratch.pollMin();
+                int pu = scratch.previous(u);
+                double before = spt.contains(x, pu) ? newLoss[spt.tin[pu] - from] : loss[pu];
+                newLoss[spt.tin[u] - from] = before + LossAnalysis.hopLoss(g, pu, u, lines, parameters);
+                double du = scratch.distance(u);
+                for (int e = g.offsets[u], stop = g.offsets[u + 1]; e < stop; e++) {
+                    int v = g.targets[e];
+                    if (!spt.contains(x, v) || dom.contains(x, v) || lines.get(e)) continue;
+                    scratch.relax(v, du + g.weights[e], u);
+                }
+            }
+
+            for (int j = from; j < to; j++) {
+                int v = spt.order[j];
+                if (dom.contains(x, v)) continue;
+                double delta = scratch.distance(v) - dist[v];
+                lossDelta[i] += newLoss[j - from] - loss[v];
+                if (delta > EPS) {
+                    rerouted[i]++;
+                    total[i] += delta;
+                    worst[i] = Math.max(worst[i], delta);
+                }
+            }
+        })).join();
+
+        List<Entry> entries = new ArrayList<>(k);
+        for (int i = 0; i < k; i++) {
+            entries.add(new Entry(g, dom, spt.order[i + 1], lost[i], rerouted[i], total[i], worst[i], lossDelta[i]));
+        }
+        // Paling kritis dulu: jumlah gardu yang putus, lalu tambahan jarak total
+        entries.sort(Comparator.comparingInt((Entry en) -> en.disconnected).reversed()
+                .thenComparing(Comparator.comparingDouble((Entry en) -> en.totalDistanceIncrease).reversed())
+                .thenComparing(en -> en.node));
+        return new Report(g.names[feeder], st.version, n - spt.count, entries);
+    }
+
+    // idom tiap vertex (id vertex) pada graf keterjangkauan dari root tanpa gardu padam
+    // dan saluran trip; -1 untuk root dan vertex yang tidak terjangkau
+    static int[] dominators(CsrGraph g, OutageMask broken, OutageMask lines, int root) {
+        int n = g.nodeCount();
+        LengauerTarjan lt = new LengauerTarjan(g, broken, lines, root);
+        lt.run(g.reverse(), lines);
+        int[] idom = new int[n];
+        Arrays.fill(idom, -1);
+        for (int w = 1; w < lt.count; w++) idom[lt.vertex[w]] = lt.vertex[lt.idom[w]];
+        return idom;
+    }
+
+    // Lengauer-Tarjan versi sederhana (eval dengan path compression, O(m log n)).
+    // Semua array diindeks nomor DFS, bukan id vertex; iteratif agar aman untuk graf besar.
+    private static final class LengauerTarjan {
+        final int[] dfn;    // id vertex -> nomor DFS (-1 jika tidak terjangkau)
+        final int[] vertex; // nomor DFS -> id vertex
+        final int[] dfsParent;
+        final int[] semi;
+        final int[] idom;
+        final int[] ancestor;
+        final int[] label;
+        final int[] bucketHead;
+        final int[] bucketNext;
+        final int[] path;
+        int count;
+
+        LengauerTarjan(CsrGraph g, OutageMask broken, OutageMask lines, int root) {
+            int n = g.nodeCount();
+            dfn = new int[n];
+            vertex = new int[n];
+            dfsParent = new int[n];
+            Arrays.fill(dfn, -1);
+
+            // DFS iteratif dengan kursor edge per vertex di stack
+            int[] stack = new int[n];
+            int[] cursor = new int[n];
+            int sp = 0;
+            dfn[root] = 0;
+            vertex[0] = root;
+            dfsParent[0] = -1;
+            cursor[0] = g.offsets[root];
+            stack[sp++] = 0;
+            count = 1;
+            while (sp > 0) {
+                int a = stack[sp - 1];
+                int u = vertex[a];
+                if (cursor[a] == g.offsets[u + 1]) {
+                    sp--;
+                    continue;
+                }
+                int e = cursor[a]++;
+                int v = g.targets[e];
+                if (dfn[v] >= 0 || broken.get(v) || lines.get(e)) continue;
+                dfn[v] = count;
+                vertex[count] = v;
+                dfsParent[count] = a;
+                cursor[count] = g.offsets[v];
+                stack[sp++] = count++;
+            }
+
+            semi = new int[count];
+            idom = new int[count];
+            ancestor = new int[count];
+            label = new int[count];
+            bucketHead = new int[count];
+            bucketNext = new int[count];
+            path = new int[count];
+            for (int i = 0; i < count; i++) {
+                semi[i] = i;
+                label[i] = i;
+                ancestor[i] = -1;
+                bucketHead[i] = -1;
+            }
+        }
+
+        void run(CsrGraph rev, OutageMask lines) {
+            for (int w = count - 1; w > 0; w--) {
+                int u = vertex[w];
+                for (int e = rev.offsets[u]; e < rev.offsets[u + 1]; e++) {
+                    int p = dfn[rev.targets[e]]; // gardu padam tidak punya nomor DFS
+                    if (p < 0 || lines.get(rev.forwardEdge[e])) continue;
+                    int s = semi[eval(p)];
+                    if (s < semi[w]) semi[w] = s;
+                }
+                bucketNext[w] = bucketHead[semi[w]];
+                bucketHead[semi[w]] = w;
+
+                int pw = dfsParent[w];
+                ancestor[w] = pw; // link
+                for (int v = bucketHead[pw]; v != -1; v = bucketNext[v]) {
+                    int best = eval(v);
+                    idom[v] = semi[best] < semi[v] ? best : pw;
+                }
+                bucketHead[pw] = -1;
+            }
+            for (int w = 1; w < count; w++) {
+                if (idom[w] != semi[w]) idom[w] = idom[idom[w]];
+            }
+        }
+
+        private int eval(int v) {
+            if (ancestor[v] == -1) return v;
+            // compress: kumpulkan jalur ke akar hutan, lalu perbarui dari atas ke bawah
+            int top = 0;
+            for (int u = v; ancestor[ancestor[u]] != -1; u = ancestor[u]) path[top++] = u;
+            while (top > 0) {
+                int x = path[--top];
+                int a = ancestor[x];
+                if (semi[label[a]] < semi[label[x]]) label[x] = label[a];
+                ancestor[x] = ancestor[a];
+            }
+            return label[v];
+        }
+    }
+
+    // Pohon berakar dari array parent, disimpan dalam urutan preorder
+    // sehingga setiap subtree adalah rentang [tin, tin + size) di order.
+    private static final class RootedTree {
+        final int[] order; // vertex dalam urutan preorder
+        final int[] tin;   // posisi vertex di order, -1 jika tidak ada di pohon
+        final int[] size;  // ukuran subtree
+        final int count;
+
+        RootedTree(int[] parent, int root, int n) {
+            int[] start = new int[n + 1];
+            for (int v = 0; v < n; v++) {
+                if (parent[v] >= 0) start[parent[v] + 1]++;
+            }
+            for (int v = 0; v < n; v++) start[v + 1] += start[v];
+            int[] children = new int[start[n]];
+            int[] fill = Arrays.copyOf(start, n);
+            for (int v = 0; v < n; v++) {
+                if (parent[v] >= 0) children[fill[parent[v]]++] = v;
+            }
+
+            order = new int[n];
+            tin = new int[n];
+            size = new int[n];
+            Arrays.fill(tin, -1);
+            int[] stack = fill; // dipakai ulang sebagai stack
+            int sp = 0;
+            int c = 0;
+            stack[sp++] = root;
+            while (sp > 0) {
+                int v = stack[--sp];
+                tin[v] = c;
+                order[c++] = v;
+                for (int i = start[v]; i < start[v + 1]; i++) stack[sp++] = children[i];
+            }
+            for (int i = c - 1; i >= 0; i--) {
+                int v = order[i];
+                size[v]++;
+                if (i > 0) size[parent[v]] += size[v];
+            }
+            count = c;
+        }
+
+        // true jika v ada di subtree x (termasuk x sendiri)
+        boolean contains(int x, int v) {
+            int t = tin[v];
+            return t >= tin[x] && t < tin[x] + size[x];
+        }
+    }
+
+    // Dampak padamnya satu gardu
+    public static final class Entry {
+        public final String node;
+        public final int disconnected;               // gardu lain yang kehilangan suplai
+        public final int rerouted;                   // gardu yang tetap tersuplai tapi jaraknya naik
+        public final double totalDistanceIncrease;   // km, dijumlah atas gardu yang memutar
+        public final double maxDistanceIncrease;     // km, gardu yang paling dirugikan
+        public final double lossIncrease;            // Watt, total tambahan power loss gardu yang tetap tersuplai
+
+        private final CsrGraph graph;
+        private final RootedTree dominatorTree;
+        private final int id;
+
+        Entry(CsrGraph graph, RootedTree dominatorTree, int id, int disconnected, int rerouted,
+              double totalDistanceIncrease, double maxDistanceIncrease, double lossIncrease) {
+            this.graph = graph;
+            this.dominatorTree = dominatorTree;
+            this.id = id;
+            this.node = graph.names[id];
+            this.disconnected = disconnected;
+            this.rerouted = rerouted;
+            this.totalDistanceIncrease = totalDistanceIncrease;
+            this.maxDistanceIncrease = maxDistanceIncrease;
+            this.lossIncrease = lossIncrease;
+        }
+
+        // Nama gardu yang ikut padam (subtree gardu ini di pohon dominator)
+        public List<String> disconnectedNodes() {
+            int from = dominatorTree.tin[id] + 1;
+            int to = dominatorTree.tin[id] + dominatorTree.size[id];
+            List<String> names = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) names.add(graph.names[dominatorTree.order[i]]);
+            return names;
+        }
+    }
+
+    // Laporan N-1, diurutkan dari gardu paling kritis
+    public static final class Report {
+        public final String feeder;
+        public final long version;         // versi GraphState yang dianalisis
+        public final int alreadyUnsupplied; // gardu yang sudah tanpa suplai sebelum kontingensi
+        public final List<Entry> ranked;
+
+        Report(String feeder, long version, int alreadyUnsupplied, List<Entry> ranked) {
+            this.feeder = feeder;
+            this.version = version;
+            this.alreadyUnsupplied = alreadyUnsupplied;
+            this.ranked = Collections.unmodifiableList(ranked);
+        }
+
+        public String toString(int limit) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("Analisis N-1 dari ").append(feeder).append('\n');
+            sb.append("Gardu dianalisis: ").append(ranked.size())
+              .append(", tanpa suplai sebelumnya: ").append(alreadyUnsupplied).append('\n');
+            int shown = Math.min(limit, ranked.size());
+            for (int i = 0; i < shown; i++) {
+                Entry en = ranked.get(i);
+                sb.append(String.format("%d. %s%n   putus: %d, memutar: %d, +%.2f km (maks +%.2f km), +%,.2f W%n",
+                        i + 1, en.node, en.disconnected, en.rerouted,
+                        en.totalDistanceIncrease, en.maxDistanceIncrease, en.lossIncrease));
+            }
+            if (shown < ranked.size()) sb.append("... ").append(ranked.size() - shown).append(" gardu lainnya\n");
+            return sb.toString();
+        }
+
+        @Override
+        public String toString() {
+            return toString(Integer.MAX_VALUE);
+        }
+    }
+}
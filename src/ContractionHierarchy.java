@@ -0,0 +1,377 @@
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+// Contraction Hierarchies di atas CsrGraph.
+// Preprocessing: vertex dikontraksi satu per satu (urutan berdasarkan edge difference),
+// shortcut ditambahkan bila tidak ada witness path. Query: Dijkstra dua arah yang
+// hanya naik ke vertex ber-rank lebih tinggi, lalu shortcut di-unpack kembali
+// sehingga jalur berisi seluruh gardu asli.
+public final class ContractionHierarchy {
+
+    // Batas witness search: lebih kecil saat hanya menaksir prioritas
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+    private static final int ESTIMATE_SETTLE_LIMIT = 40;
+
+    private static final ThreadLocal<SearchScratch[]> LOCAL = ThreadLocal.withInitial(
+            () -> new SearchScratch[] { new SearchScratch(), new SearchScratch() });
+
+    // Hasil query dalam bentuk id vertex
+    public static final class Route {
+        public final int[] nodes;
+        public final double cost;
+
+        Route(int[] nodes, double cost) {
+            this.nodes = nodes;
+            this.cost = cost;
+        }
+    }
+
+    final CsrGraph graph; // graf sumber; hierarki kadaluarsa jika PathFinder membekukan graf baru
+
+    // Tabel edge hierarki (edge asli + shortcut). child = -1 untuk edge asli
+    private int[] edgeFrom;
+    private int[] edgeTo;
+    private double[] edgeWeight;
+    private int[] edgeChild1;
+    private int[] edgeChild2;
+    private int edgeCount;
+
+    private int[] rank;
+
+    // Graf pencarian: upOffsets/upEdges untuk arah maju (u -> rank lebih tinggi),
+    // downOffsets/downEdges untuk arah mundur (edge masuk dari rank lebih tinggi)
+    private int[] upOffsets;
+    private int[] upEdges;
+    private int[] downOffsets;
+    private int[] downEdges;
+
+    private ContractionHierarchy(CsrGraph graph) {
+        this.graph = graph;
+    }
+
+    public int shortcutCount() {
+        return edgeCount - graph.edgeCount();
+    }
+
+    // --- PREPROCESSING ---
+
+    public static ContractionHierarchy build(CsrGraph graph) {
+        ContractionHierarchy ch = new ContractionHierarchy(graph);
+        ch.contract();
+        ch.buildSearchGraphs();
+        return ch;
+    }
+
+    // Daftar id edge yang bisa bertambah (adjacency selama kontraksi)
+    private static final class IntList {
+        int[] items = new int[4];
+        int size;
+
+        void add(int x) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            items[size++] = x;
+        }
+    }
+
+    private IntList[] outList;
+    private IntList[] inList;
+    private boolean[] contracted;
+    private int[] deletedNeighbours;
+    private SearchScratch witness;
+
+    private void contract() {
+        int n = graph.nodeCount();
+        int m = graph.edgeCount();
+        edgeFrom = new int[Math.max(16, m * 2)];
+        edgeTo = new int[edgeFrom.length];
+        edgeWeight = new double[edgeFrom.length];
+        edgeChild1 = new int[edgeFrom.length];
+        edgeChild2 = new int[edgeFrom.length];
+
+        outList = new IntList[n];
+        inList = new IntList[n];
+        for (int v = 0; v < n; v++) {
+            outList[v] = new IntList();
+            inList[v] = new IntList();
+        }
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                int v = graph.target(e);
+                if (v != u) addEdge(u, v, graph.weight(e), -1, -1);
+            }
+        }
+
+        contracted = new boolean[n];
+        deletedNeighbours = new int[n];
+        rank = new int[n];
+        witness = new SearchScratch();
+
+        // Antrian prioritas lazy: (prioritas, vertex) dikemas dalam satu long
+        PriorityQueue<Long> queue = new PriorityQueue<>();
+        for (int v = 0; v < n; v++) queue.add(pack(priority(v), v));
+
+        int nextRank = 0;
+        while (!queue.isEmpty()) {
+            int v = (int) (queue.poll() & 0xffffffffL);
+            int current = priority(v);
+            if (!queue.isEmpty() && current > (int) (queue.peek() >> 32)) {
+                queue.add(pack(current, v)); // prioritas naik, tunda kontraksi
+                continue;
+            }
+            contractNode(v, true);
+            contracted[v] = true;
+            rank[v] = nextRank++;
+            pruneNeighbours(v);
+        }
+
+        outList = null;
+        inList = null;
+        contracted = null;
+        deletedNeighbours = null;
+        witness = null;
+    }
+
+    // Buang edge ke/dari vertex yang sudah dikontraksi dari adjacency tetangga v
+    private void pruneNeighbours(int v) {
+        IntList in = inList[v];
+        for (int i = 0; i < in.size; i++) {
+            int u = edgeFrom[in.items[i]];
+            if (!contracted[u]) prune(outList[u], edgeTo);
+        }
+        IntList out = outList[v];
+        for (int i = 0; i < out.size; i++) {
+            int w = edgeTo[out.items[i]];
+            if (!contracted[w]) prune(inList[w], edgeFrom);
+        }
+        in.size = 0;
+        out.size = 0;
+    }
+
+    private void prune(IntList list, int[] endpoint) {
+        int kept = 0;
+        for (int i = 0; i < list.size; i++) {
+            int e = list.items[i];
+            if (!contracted[endpoint[e]]) list.items[kept++] = e;
+        }
+        list.size = kept;
+    }
+
+    private static long pack(int priority, int v) {
+        return ((long) priority << 32) | v;
+    }
+
+    private int priority(int v) {
+        int degree = 0;
+        IntList in = inList[v];
+        for (int i = 0; i < in.size; i++) if (!contracted[edgeFrom[in.items[i]]]) degree++;
+        IntList out = outList[v];
+        for (int i = 0; i < out.size; i++) if (!contracted[edgeTo[out.items[i]]]) degree++;
+        return contractNode(v, false) - degree + deletedNeighbours[v];
+    }
+
+    // Mengontraksi v (atau hanya menghitung jumlah shortcut jika apply = false)
+    private int contractNode(int v, boolean apply) {
+        int shortcuts = 0;
+        IntList in = inList[v];
+        IntList out = outList[v];
+        double maxOut = 0;
+        for (int j = 0; j < out.size; j++) {
+            int eo = out.items[j];
+            if (!contracted[edgeTo[eo]]) maxOut = Math.max(maxOut, edgeWeight[eo]);
+        }
+
+        for (int i = 0; i < in.size; i++) {
+            int ei = in.items[i];
+            int u = edgeFrom[ei];
+            if (contracted[u]) continue;
+            if (apply) deletedNeighbours[u]++;
+
+            witnessSearch(u, v, edgeWeight[ei] + maxOut, apply ? WITNESS_SETTLE_LIMIT : ESTIMATE_SETTLE_LIMIT);
+            for (int j = 0; j < out.size; j++) {
+                int eo = out.items[j];
+                int w = edgeTo[eo];
+                if (contracted[w] || w == u) continue;
+                double via = edgeWeight[ei] + edgeWeight[eo];
+                if (witness.distance(w) <= via) continue; // ada jalur lain yang tidak lebih panjang
+                shortcuts++;
+                if (apply) addShortcut(u, w, via, ei, eo);
+            }
+        }
+        if (apply) {
+            for (int j = 0; j < out.size; j++) deletedNeighbours[edgeTo[out.items[j]]]++;
+        }
+        return shortcuts;
+    }
+
+    // Dijkstra terbatas dari u tanpa melewati v dan vertex yang sudah dikontraksi
+    private void witnessSearch(int u, int excluded, double maxDist, int settleLimit) {
+        witness.begin(graph.nodeCount());
+        witness.relax(u, 0.0, -1);
+        int settled = 0;
+        while (!witness.isEmpty() && settled < settleLimit) {
+            int x = witness.pollMin();
+            settled++;
+            double dx = witness.distance(x);
+            if (dx > maxDist) break;
+            IntList out = outList[x];
+            for (int i = 0; i < out.size; i++) {
+                int e = out.items[i];
+                int y = edgeTo[e];
+                if (y == excluded || contracted[y]) continue;
+                witness.relax(y, dx + edgeWeight[e], x);
+            }
+        }
+    }
+
+    private void addShortcut(int u, int w, double weight, int child1, int child2) {
+        // Ganti edge u -> w yang lebih panjang bila sudah ada
+        IntList out = outList[u];
+        for (int i = 0; i < out.size; i++) {
+            int e = out.items[i];
+            if (edgeTo[e] == w) {
+                if (edgeWeight[e] <= weight) return;
+                edgeWeight[e] = weight;
+                edgeChild1[e] = child1;
+                edgeChild2[e] = child2;
+                return;
+            }
+        }
+        addEdge(u, w, weight, child1, child2);
+    }
+
+    private void addEdge(int u, int v, double weight, int child1, int child2) {
+        if (edgeCount == edgeFrom.length) {
+            int cap = edgeCount * 2;
+            edgeFrom = Arrays.copyOf(edgeFrom, cap);
+            edgeTo = Arrays.copyOf(edgeTo, cap);
+            edgeWeight = Arrays.copyOf(edgeWeight, cap);
+            edgeChild1 = Arrays.copyOf(edgeChild1, cap);
+            edgeChild2 = Arrays.copyOf(edgeChild2, cap);
+        }
+        int e = edgeCount++;
+        edgeFrom[e] = u;
+        edgeTo[e] = v;
+        edgeWeight[e] = weight;
+        edgeChild1[e] = child1;
+        edgeChild2[e] = child2;
+        outList[u].add(e);
+        inList[v].add(e);
+    }
+
+    private void buildSearchGraphs() {
+        int n = graph.nodeCount();
+        upOffsets = new int[n + 1];
+        downOffsets = new int[n + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            int u = edgeFrom[e];
+            int v = edgeTo[e];
+            if (rank[u] < rank[v]) upOffsets[u + 1]++;
+            else downOffsets[v + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            upOffsets[v + 1] += upOffsets[v];
+            downOffsets[v + 1] += downOffsets[v];
+        }
+        upEdges = new int[upOffsets[n]];
+        downEdges = new int[downOffsets[n]];
+        int[] upCursor = Arrays.copyOf(upOffsets, n);
+        int[] downCursor = Arrays.copyOf(downOffsets, n);
+        for (int e = 0; e < edgeCount; e++) {
+            int u = edgeFrom[e];
+            int v = edgeTo[e];
+            if (rank[u] < rank[v]) upEdges[upCursor[u]++] = e;
+            else downEdges[downCursor[v]++] = e;
+        }
+    }
+
+    // --- QUERY ---
+
+    // null jika tidak ada jalur
+    public Route query(int s, int t) {
+        SearchScratch[] pair = LOCAL.get();
+        SearchScratch fwd = pair[0];
+        SearchScratch bwd = pair[1];
+        int n = graph.nodeCount();
+        fwd.begin(n);
+        bwd.begin(n);
+        fwd.relax(s, 0.0, -1);
+        bwd.relax(t, 0.0, -1);
+
+        double best = Double.MAX_VALUE;
+        int meet = -1;
+        boolean fwdDone = false;
+        boolean bwdDone = false;
+        while (!fwdDone || !bwdDone) {
+            if (!fwdDone) {
+                if (fwd.isEmpty()) {
+                    fwdDone = true;
+                } else {
+                    int u = fwd.pollMin();
+                    double du = fwd.distance(u);
+                    if (du >= best) {
+                        fwdDone = true;
+                    } else {
+                        double total = du + bwd.distance(u);
+                        if (total < best) { best = total; meet = u; }
+                        for (int i = upOffsets[u]; i < upOffsets[u + 1]; i++) {
+                            int e = upEdges[i];
+                            fwd.relax(edgeTo[e], du + edgeWeight[e], e);
+                        }
+                    }
+                }
+            }
+            if (!bwdDone) {
+                if (bwd.isEmpty()) {
+                    bwdDone = true;
+                } else {
+                    int v = bwd.pollMin();
+                    double dv = bwd.distance(v);
+                    if (dv >= best) {
+                        bwdDone = true;
+                    } else {
+                        double total = dv + fwd.distance(v);
+                        if (total < best) { best = total; meet = v; }
+                        for (int i = downOffsets[v]; i < downOffsets[v + 1]; i++) {
+                            int e = downEdges[i];
+                            bwd.relax(edgeFrom[e], dv + edgeWeight[e], e);
+                        }
+                    }
+                }
+            }
+        }
+        if (meet < 0) return null;
+
+        // Kumpulkan edge hierarki s -> meet -> t, lalu unpack shortcut-nya
+        IntList hierarchyEdges = new IntList();
+        for (int e = fwd.previous(meet); e != -1; e = fwd.previous(edgeFrom[e])) hierarchyEdges.add(e);
+        reverse(hierarchyEdges);
+        for (int e = bwd.previous(meet); e != -1; e = bwd.previous(edgeTo[e])) hierarchyEdges.add(e);
+
+        IntList nodes = new IntList();
+        nodes.add(s);
+        int[] stack = new int[16];
+        for (int i = 0; i < hierarchyEdges.size; i++) {
+            int top = 0;
+            stack[top++] = hierarchyEdges.items[i];
+            while (top > 0) {
+                int e = stack[--top];
+                if (edgeChild1[e] < 0) {
+                    nodes.add(edgeTo[e]);
+                    continue;
+                }
+                if (top + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                stack[top++] = edgeChild2[e];
+                stack[top++] = edgeChild1[e];
+            }
+        }
+        return new Route(Arrays.copyOf(nodes.items, nodes.size), best);
+    }
+
+    private static void reverse(IntList list) {
+        for (int i = 0, j = list.size - 1; i < j; i++, j--) {
+            int tmp = list.items[i];
+            list.items[i] = list.items[j];
+            list.items[j] = tmp;
+        }
+    }
+}
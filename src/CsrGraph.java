@@ -0,0 +1,144 @@
+import java.util.Arrays;
+
+// Graf beku dalam format CSR (compressed sparse row).
+// Edge keluar dari vertex u berada di indeks offsets[u] .. offsets[u + 1] - 1
+// pada array targets dan weights. Vertex diidentifikasi dengan int id.
+public final class CsrGraph {
+
+    final String[] names;   // id -> nama gardu
+    final int[] offsets;    // panjang n + 1
+    final int[] targets;    // tujuan setiap edge
+    final double[] weights; // bobot (km) setiap edge
+    // Atribut saluran opsional per edge: resistansi (Ohm/km) dan arus (A).
+    // null jika tidak ada edge yang punya atribut; NaN = pakai nilai default.
+    final double[] resistance;
+    final double[] current;
+    private volatile CsrGraph reverse; // graf terbalik (edge masuk), dibangun saat dibutuhkan
+    // Hanya pada graf terbalik: id edge asli untuk setiap edge (mask saluran diindeks id asli)
+    int[] forwardEdge;
+
+    CsrGraph(String[] names, int[] offsets, int[] targets, double[] weights) {
+        this(names, offsets, targets, weights, null, null);
+    }
+
+    CsrGraph(String[] names, int[] offsets, int[] targets, double[] weights, double[] resistance, double[] current) {
+        this.names = names;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.resistance = resistance;
+        this.current = current;
+    }
+
+    static CsrGraph build(String[] names, int[] src, int[] dst, double[] w, int edgeCount) {
+        return build(names, src, dst, w, null, null, edgeCount);
+    }
+
+    // Membangun CSR dari daftar edge mentah (counting sort berdasarkan source, stabil).
+    // r dan current boleh null (graf tanpa atribut saluran).
+    static CsrGraph build(String[] names, int[] src, int[] dst, double[] w, double[] r, double[] current,
+                          int edgeCount) {
+        int n = names.length;
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < edgeCount; i++) offsets[src[i] + 1]++;
+        for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+
+        int[] targets = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+        double[] resistance = r == null ? null : new double[edgeCount];
+        double[] amps = current == null ? null : new double[edgeCount];
+        int[] cursor = Arrays.copyOf(offsets, n);
+        for (int i = 0; i < edgeCount; i++) {
+            int pos = cursor[src[i]]++;
+            targets[pos] = dst[i];
+            weights[pos] = w[i];
+            if (resistance != null) resistance[pos] = r[i];
+            if (amps != null) amps[pos] = current[i];
+        }
+        return new CsrGraph(names, offsets, targets, weights, resistance, amps);
+    }
+
+    // Graf dengan arah edge dibalik: edge keluar dari v = edge masuk ke v di graf asli
+    public CsrGraph reverse() {
+        CsrGraph r = reverse;
+        if (r == null) {
+            int m = edgeCount();
+            int[] src = new int[m];
+            int[] dst = new int[m];
+            for (int u = 0; u < names.length; u++) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    src[e] = targets[e];
+                    dst[e] = u;
+                }
+            }
+            r = build(names, src, dst, weights, resistance, current, m);
+            // build stabil: urutan edge asli per source baru sama dengan urutan e
+            int[] forward = new int[m];
+            int[] cursor = Arrays.copyOf(r.offsets, names.length);
+            for (int e = 0; e < m; e++) forward[cursor[src[e]]++] = e;
+            r.forwardEdge = forward;
+            r.reverse = this;
+            reverse = r;
+        }
+        return r;
+    }
+
+    public int nodeCount() {
+        return names.length;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    public String name(int id) {
+        return names[id];
+    }
+
+    public int firstEdge(int u) {
+        return offsets[u];
+    }
+
+    public int endEdge(int u) {
+        return offsets[u + 1];
+    }
+
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    // Vertex asal edge (binary search pada offsets)
+    public int source(int edge) {
+        int lo = 0;
+        int hi = names.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (offsets[mid] <= edge) lo = mid;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    // Id edge di graf asli; sama dengan edge kecuali pada graf hasil reverse()
+    public int originalEdge(int edge) {
+        return forwardEdge == null ? edge : forwardEdge[edge];
+    }
+
+    public double weight(int edge) {
+        return weights[edge];
+    }
+
+    public boolean hasLineAttributes() {
+        return resistance != null;
+    }
+
+    // Resistansi saluran (Ohm/km), NaN jika tidak diisi di data
+    public double resistance(int edge) {
+        return resistance == null ? Double.NaN : resistance[edge];
+    }
+
+    // Arus saluran (A), NaN jika tidak diisi di data
+    public double current(int edge) {
+        return current == null ? Double.NaN : current[edge];
+    }
+}
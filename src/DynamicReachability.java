@@ -0,0 +1,228 @@
+import java.util.Arrays;
+
+// Keterjangkauan dari sekumpulan root (feeder) di bawah gardu padam dan saluran trip yang
+// berubah-ubah, tanpa jarak. Lebih murah dari DynamicShortestPathTree untuk pertanyaan
+// "tersuplai atau tidak": pohonnya boleh sembarang, jadi jalur yang memendek tidak perlu
+// disebarkan dan subtree yang masih punya suplai lain tidak perlu dibongkar.
+//
+// Setiap vertex terjangkau punya level yang naik tegas sepanjang edge pohon, sehingga
+// vertex dengan level lebih kecil pasti bukan turunannya (gaya Even-Shiloach):
+//  - putus: vertex yang kehilangan parent diproses urut level; yang punya edge masuk hidup
+//    dari vertex valid berlevel lebih kecil cukup ganti parent dan subtree-nya utuh. Sisanya
+//    yatim, anaknya ikut diperiksa, lalu yatim disambung ulang dengan BFS dari tepinya;
+//  - pulih: BFS hanya atas vertex yang baru terjangkau.
+// Biaya per event sebanding dengan vertex yatim/baru terjangkau, bukan ukuran subtree.
+// Vertex yang keterjangkauannya berbalik pada operasi terakhir tersedia lewat changed(i).
+final class DynamicReachability {
+
+    private static final int UNREACHED = Integer.MAX_VALUE;
+    private static final int MAX_LEVEL = 1 << 30; // di atas ini level dihitung ulang dengan BFS penuh
+
+    final int[] roots;
+    private final CsrGraph graph;
+    private final CsrGraph reverse;
+    private final int[] level;      // UNREACHED jika tidak terjangkau
+    private final int[] parentEdge; // id edge pohon parent -> v, -1 untuk root/tidak terjangkau
+    private final boolean[] root;
+
+    // Memori kerja
+    private final SearchScratch scratch = new SearchScratch(); // vertex kehilangan parent, kunci = level
+    private final boolean[] affected; // yatim
+    private final int[] orphans;
+    private final int[] queue;
+    private final int[] changed;
+    private int changedCount;
+    private int maxLevel;
+
+    // roots tidak boleh berisi duplikat
+    DynamicReachability(CsrGraph graph, int[] roots, ReplayMask brokenNodes, ReplayMask brokenLines) {
+        int n = graph.nodeCount();
+        this.graph = graph;
+        this.reverse = graph.reverse();
+        this.roots = roots.clone();
+        this.level = new int[n];
+        this.parentEdge = new int[n];
+        this.root = new boolean[n];
+        this.affected = new boolean[n];
+        this.orphans = new int[n];
+        this.queue = new int[n];
+        this.changed = new int[n];
+        for (int r : roots) root[r] = true;
+        rebuild(brokenNodes, brokenLines);
+    }
+
+    boolean isReachable(int v) {
+        return level[v] != UNREACHED;
+    }
+
+    // Jumlah vertex yang keterjangkauannya berbalik pada operasi terakhir
+    int changedCount() {
+        return changedCount;
+    }
+
+    int changed(int i) {
+        return changed[i];
+    }
+
+    // BFS penuh dari root hidup; tidak mencatat perubahan
+    void rebuild(ReplayMask brokenNodes, ReplayMask brokenLines) {
+        Arrays.fill(level, UNREACHED);
+        Arrays.fill(parentEdge, -1);
+        maxLevel = 0;
+        int tail = 0;
+        for (int r : roots) {
+            if (brokenNodes.get(r)) continue;
+            level[r] = 0;
+            queue[tail++] = r;
+        }
+        spread(0, tail, brokenNodes, brokenLines, false, false);
+        changedCount = 0;
+    }
+
+    // Gardu x baru saja padam; brokenNodes sudah memuat x
+    void nodeBroken(int x, ReplayMask brokenNodes, ReplayMask brokenLines) {
+        changedCount = 0;
+        if (level[x] == UNREACHED) return;
+        scratch.begin(graph.nodeCount());
+        pushChildren(x);
+        level[x] = UNREACHED;
+        parentEdge[x] = -1;
+        changed[changedCount++] = x;
+        repair(brokenNodes, brokenLines);
+    }
+
+    // Gardu x baru saja hidup; brokenNodes sudah tidak memuat x
+    void nodeRestored(int x, ReplayMask brokenNodes, ReplayMask brokenLines) {
+        changedCount = 0;
+        if (level[x] != UNREACHED) return;
+        if (root[x]) {
+            level[x] = 0;
+        } else if (!attachFromOutside(x, brokenLines)) {
+            return; // x tetap tidak terjangkau
+        }
+        changed[changedCount++] = x;
+        queue[0] = x;
+        spread(0, 1, brokenNodes, brokenLines, false, true);
+        relevelIfNeeded(brokenNodes, brokenLines);
+    }
+
+    // Saluran e (u -> v) baru saja trip; brokenLines sudah memuat e
+    void lineBroken(int e, ReplayMask brokenNodes, ReplayMask brokenLines) {
+        changedCount = 0;
+        int v = graph.targets[e];
+        if (parentEdge[v] != e) return; // pohon tidak lewat e
+        scratch.begin(graph.nodeCount());
+        scratch.relax(v, level[v], -1);
+        repair(brokenNodes, brokenLines);
+    }
+
+    // Saluran e (u -> v) baru saja dipulihkan
+    void lineRestored(int e, ReplayMask brokenNodes, ReplayMask brokenLines) {
+        changedCount = 0;
+        int v = graph.targets[e];
+        int u = graph.source(e);
+        if (level[u] == UNREACHED || level[v] != UNREACHED || brokenNodes.get(v)) return;
+        attach(v, u, e);
+        changed[changedCount++] = v;
+        queue[0] = v;
+        spread(0, 1, brokenNodes, brokenLines, false, true);
+        relevelIfNeeded(brokenNodes, brokenLines);
+    }
+
+    // Proses vertex di scratch (kehilangan parent) urut level. Saat vertex berlevel L diambil,
+    // semua vertex berlevel < L sudah pasti valid atau yatim (level UNREACHED), jadi parent
+    // berlevel < L yang masih terjangkau aman dipakai.
+    private void repair(ReplayMask brokenNodes, ReplayMask brokenLines) {
+        int count = 0;
+        while (!scratch.isEmpty()) {
+            int c = scratch.pollMin();
+            if (reattachBelow(c, brokenLines)) continue;
+            pushChildren(c);
+            level[c] = UNREACHED;
+            parentEdge[c] = -1;
+            affected[c] = true;
+            orphans[count++] = c;
+        }
+        // Yatim masih bisa tersuplai lewat vertex valid berlevel sama/lebih besar
+        int tail = 0;
+        for (int i = 0; i < count; i++) {
+            int v = orphans[i];
+            if (attachFromOutside(v, brokenLines)) queue[tail++] = v;
+        }
+        spread(0, tail, brokenNodes, brokenLines, true, false);
+        for (int i = 0; i < count; i++) {
+            int v = orphans[i];
+            affected[v] = false;
+            if (level[v] == UNREACHED) changed[changedCount++] = v;
+        }
+        relevelIfNeeded(brokenNodes, brokenLines);
+    }
+
+    // Parent baru berlevel lebih kecil untuk c (bukan turunan c), level c tetap
+    private boolean reattachBelow(int c, ReplayMask brokenLines) {
+        CsrGraph rev = reverse;
+        int limit = level[c];
+        for (int e = rev.offsets[c]; e < rev.offsets[c + 1]; e++) {
+            if (level[rev.targets[e]] < limit && !brokenLines.get(rev.forwardEdge[e])) {
+                parentEdge[c] = rev.forwardEdge[e];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void pushChildren(int u) {
+        CsrGraph g = graph;
+        for (int e = g.offsets[u]; e < g.offsets[u + 1]; e++) {
+            int v = g.targets[e];
+            if (parentEdge[v] == e) scratch.relax(v, level[v], -1);
+        }
+    }
+
+    // Sambungkan v ke tetangga masuk terjangkau (tidak terdampak) dengan level terkecil
+    private boolean attachFromOutside(int v, ReplayMask brokenLines) {
+        CsrGraph rev = reverse;
+        int best = -1;
+        for (int e = rev.offsets[v]; e < rev.offsets[v + 1]; e++) {
+            int p = rev.targets[e];
+            if (affected[p] || level[p] == UNREACHED || brokenLines.get(rev.forwardEdge[e])) continue;
+            if (best < 0 || level[p] < level[rev.targets[best]]) best = e;
+        }
+        if (best < 0) return false;
+        attach(v, rev.targets[best], rev.forwardEdge[best]);
+        return true;
+    }
+
+    private void attach(int v, int p, int e) {
+        int l = level[p] + 1;
+        level[v] = l;
+        parentEdge[v] = e;
+        if (l > maxLevel) maxLevel = l;
+    }
+
+    // BFS dari queue[head..tail) ke vertex yang belum terjangkau. Jika onlyAffected, dibatasi
+    // pada vertex yatim; jika record, setiap vertex baru dicatat sebagai berubah.
+    private void spread(int head, int tail, ReplayMask brokenNodes, ReplayMask brokenLines, boolean onlyAffected,
+                        boolean record) {
+        CsrGraph g = graph;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int e = g.offsets[u]; e < g.offsets[u + 1]; e++) {
+                int v = g.targets[e];
+                if (level[v] != UNREACHED || brokenNodes.get(v) || brokenLines.get(e)) continue;
+                if (onlyAffected && !affected[v]) continue;
+                attach(v, u, e);
+                queue[tail++] = v;
+                if (record) changed[changedCount++] = v;
+            }
+        }
+    }
+
+    // Level hanya bisa bertambah lewat attach; BFS penuh menurunkannya lagi tanpa mengubah keterjangkauan
+    private void relevelIfNeeded(ReplayMask brokenNodes, ReplayMask brokenLines) {
+        if (maxLevel < MAX_LEVEL) return;
+        int saved = changedCount;
+        rebuild(brokenNodes, brokenLines);
+        changedCount = saved;
+    }
+}
@@ -0,0 +1,220 @@
+import java.util.Arrays;
+
+// Pohon jalur terpendek dari satu root yang dijaga tetap hidup (gaya Ramalingam-Reps).
+// Saat gardu padam hanya subtree di bawahnya yang dihitung ulang; saat gardu hidup
+// kembali hanya vertex yang jaraknya membaik yang disentuh.
+// Query dari root ke tujuan mana pun cukup menelusuri parent: O(panjang jalur).
+//
+// Dengan beberapa root (feeder), semua root di-seed berjarak 0 sekaligus (multi-source
+// Dijkstra) dan hasilnya hutan: setiap vertex diberi zona = root hidup terdekat.
+// Zona ikut parent, jadi perbaikan subtree yang sama juga memperbaiki label zona.
+//
+// Saluran trip (mask edge) diperlakukan sama: jika saluran pohon u -> v trip dan tidak ada
+// saluran paralel setara, subtree v diputus lalu disambung ulang dari tepinya.
+public final class DynamicShortestPathTree {
+
+    final int root;    // root pertama (satu-satunya untuk pohon biasa)
+    final int[] roots; // indeks di array ini = nomor zona
+    CsrGraph graph;
+    long version; // versi GraphState yang dicerminkan pohon ini (diatur PathFinder)
+    private double[] dist;
+    private int[] parent;
+    private int[] zone; // -1 jika tidak terjangkau
+    private SupplyZones zones; // salinan terakhir untuk pembaca, dibuat ulang jika versi berubah
+
+    // Memori kerja untuk perbaikan
+    private final SearchScratch scratch = new SearchScratch();
+    private boolean[] affected;
+    private int[] queue;
+
+    public DynamicShortestPathTree(CsrGraph graph, int root, OutageMask brokenNodes, OutageMask brokenLines) {
+        this(graph, new int[] { root }, brokenNodes, brokenLines);
+    }
+
+    // roots tidak boleh berisi duplikat
+    public DynamicShortestPathTree(CsrGraph graph, int[] roots, OutageMask brokenNodes, OutageMask brokenLines) {
+        this.root = roots[0];
+        this.roots = roots.clone();
+        rebuild(graph, brokenNodes, brokenLines);
+    }
+
+    public double distance(int v) {
+        return dist[v];
+    }
+
+    public int parent(int v) {
+        return parent[v];
+    }
+
+    public boolean isReachable(int v) {
+        return dist[v] != Double.MAX_VALUE;
+    }
+
+    // Nomor zona (indeks root terdekat), -1 jika tidak terjangkau
+    public int zone(int v) {
+        return zone[v];
+    }
+
+    // Salinan immutable untuk pembaca; pemanggil memegang lock pohon
+    SupplyZones supplyZones() {
+        SupplyZones z = zones;
+        if (z == null || z.version != version || z.graph != graph) {
+            z = new SupplyZones(graph, version, roots, zone.clone(), dist.clone(), parent.clone());
+            zones = z;
+        }
+        return z;
+    }
+
+    // Hitung ulang penuh (dipakai saat topologi berubah)
+    public void rebuild(CsrGraph g, OutageMask brokenNodes, OutageMask brokenLines) {
+        graph = g;
+        int n = g.nodeCount();
+        dist = new double[n];
+        parent = new int[n];
+        zone = new int[n];
+        affected = new boolean[n];
+        queue = new int[n];
+        Arrays.fill(dist, Double.MAX_VALUE);
+        Arrays.fill(parent, -1);
+        Arrays.fill(zone, -1);
+
+        scratch.begin(n);
+        for (int r : roots) {
+            if (!brokenNodes.get(r)) scratch.relax(r, 0.0, -1);
+        }
+        settleFromScratch(brokenNodes, brokenLines, false);
+    }
+
+    // Gardu x baru saja padam: putuskan subtree x lalu sambungkan ulang dari tepinya
+    public void nodeBroken(int x, OutageMask brokenNodes, OutageMask brokenLines) {
+        if (dist[x] == Double.MAX_VALUE) return; // x memang tidak terjangkau, tidak ada jalur lewat x
+        reconnectSubtree(x, false, brokenNodes, brokenLines);
+    }
+
+    // Gardu x baru saja hidup: hitung jaraknya dari tetangga masuk lalu sebarkan perbaikan
+    public void nodeRestored(int x, OutageMask brokenNodes, OutageMask brokenLines) {
+        scratch.begin(graph.nodeCount());
+        if (rootIndex(x) >= 0) {
+            scratch.relax(x, 0.0, -1);
+        } else {
+            seedFromInEdges(x, brokenLines);
+        }
+        if (scratch.isEmpty()) return; // x tetap tidak terjangkau
+        settleFromScratch(brokenNodes, brokenLines, false);
+    }
+
+    // Saluran e (u -> v) baru saja trip; brokenLines sudah memuat e
+    public void lineBroken(int e, OutageMask brokenNodes, OutageMask brokenLines) {
+        CsrGraph g = graph;
+        int v = g.targets[e];
+        int u = g.source(e);
+        if (parent[v] != u) return; // pohon tidak lewat u -> v
+        // saluran paralel u -> v yang masih hidup dengan jarak sama: pohon tetap valid
+        for (int f = g.offsets[u]; f < g.offsets[u + 1]; f++) {
+            if (g.targets[f] == v && !brokenLines.get(f) && dist[u] + g.weights[f] == dist[v]) return;
+        }
+        reconnectSubtree(v, true, brokenNodes, brokenLines);
+    }
+
+    // Saluran e (u -> v) baru saja dipulihkan
+    public void lineRestored(int e, OutageMask brokenNodes, OutageMask brokenLines) {
+        CsrGraph g = graph;
+        int v = g.targets[e];
+        int u = g.source(e);
+        if (dist[u] == Double.MAX_VALUE || brokenNodes.get(v)) return;
+        double d = dist[u] + g.weights[e];
+        if (d >= dist[v]) return;
+        scratch.begin(g.nodeCount());
+        scratch.relax(v, d, u);
+        settleFromScratch(brokenNodes, brokenLines, false);
+    }
+
+    // Putuskan subtree x lalu sambungkan ulang dari vertex tak terdampak.
+    // x sendiri ikut di-seed jika masih hidup (saluran ke x yang trip, bukan gardunya).
+    private void reconnectSubtree(int x, boolean seedRoot, OutageMask brokenNodes, OutageMask brokenLines) {
+        int count = collectSubtree(x);
+        for (int i = 0; i < count; i++) {
+            int v = queue[i];
+            dist[v] = Double.MAX_VALUE;
+            parent[v] = -1;
+            zone[v] = -1;
+        }
+
+        // Seed: vertex terdampak yang masih punya edge masuk dari vertex tak terdampak
+        scratch.begin(graph.nodeCount());
+        for (int i = 0; i < count; i++) {
+            int v = queue[i];
+            if (v == x && !seedRoot) continue;
+            seedFromInEdges(v, brokenLines);
+        }
+        settleFromScratch(brokenNodes, brokenLines, true);
+        for (int i = 0; i < count; i++) affected[queue[i]] = false;
+    }
+
+    private void seedFromInEdges(int v, OutageMask brokenLines) {
+        CsrGraph rev = graph.reverse();
+        for (int e = rev.offsets[v]; e < rev.offsets[v + 1]; e++) {
+            int p = rev.targets[e];
+            if (affected[p] || dist[p] == Double.MAX_VALUE || brokenLines.get(rev.forwardEdge[e])) continue;
+            scratch.relax(v, dist[p] + rev.weights[e], p);
+        }
+    }
+
+    // Jalur root -> target dalam id, atau null jika tidak terjangkau
+    public int[] pathTo(int target) {
+        if (dist[target] == Double.MAX_VALUE) return null;
+        int steps = 0;
+        for (int v = target; v != -1; v = parent[v]) steps++;
+        int[] path = new int[steps];
+        for (int v = target; v != -1; v = parent[v]) path[--steps] = v;
+        return path;
+    }
+
+    // Dijkstra dari isi scratch. Hanya jarak yang membaik yang ditulis ke pohon;
+    // jika onlyAffected, relaksasi dibatasi pada subtree yang sedang diperbaiki.
+    private void settleFromScratch(OutageMask brokenNodes, OutageMask brokenLines, boolean onlyAffected) {
+        CsrGraph g = graph;
+        while (!scratch.isEmpty()) {
+            int u = scratch.pollMin();
+            double du = scratch.distance(u);
+            if (du >= dist[u]) continue;
+            int p = scratch.previous(u);
+            dist[u] = du;
+            parent[u] = p;
+            zone[u] = p < 0 ? rootIndex(u) : zone[p];
+            for (int e = g.offsets[u]; e < g.offsets[u + 1]; e++) {
+                int v = g.targets[e];
+                if (brokenNodes.get(v) || brokenLines.get(e) || (onlyAffected && !affected[v])) continue;
+                double nd = du + g.weights[e];
+                if (nd < dist[v]) scratch.relax(v, nd, u);
+            }
+        }
+    }
+
+    private int rootIndex(int v) {
+        for (int i = 0; i < roots.length; i++) {
+            if (roots[i] == v) return i;
+        }
+        return -1;
+    }
+
+    // Kumpulkan x beserta semua turunannya di pohon ke queue[0..count)
+    private int collectSubtree(int x) {
+        CsrGraph g = graph;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = x;
+        affected[x] = true;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int e = g.offsets[u]; e < g.offsets[u + 1]; e++) {
+                int v = g.targets[e];
+                if (!affected[v] && parent[v] == u) {
+                    affected[v] = true;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return tail;
+    }
+}
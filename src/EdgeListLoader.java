@@ -0,0 +1,327 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Loader daftar edge "source,destination,bobot[,r[,I]]" berbasis memory-mapped file.
+// Kolom opsional r (resistansi saluran, Ohm/km) dan I (arus saluran, A) boleh kosong;
+// nilai kosong berarti memakai default perhitungan power loss.
+// Byte dipindai langsung tanpa split/trim per baris: nama gardu di-intern lewat
+// tabel hash byte (String hanya dibuat sekali per nama baru) dan bobot diparse
+// tanpa alokasi. Aturan format sama dengan loader lama: baris kosong dan baris
+// yang diawali '[' diabaikan, spasi di awal/akhir field dibuang.
+final class EdgeListLoader {
+
+    private static final int CHUNK_SIZE = 1 << 28; // jendela mapping 256 MB
+    private static final int MAX_REPORTED_LINES = 20;
+    private static final int MIN_FIELDS = 3;
+    private static final int MAX_FIELDS = 5;
+    private static final double[] POW10 = new double[23];
+    // Mantissa <= 15 digit selalu < 2^53, jadi eksak sebagai double
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    static {
+        POW10[0] = 1.0;
+        for (int i = 1; i < POW10.length; i++) POW10[i] = POW10[i - 1] * 10.0;
+    }
+
+    // Ringkasan hasil pembacaan file
+    public static final class LoadReport {
+        public long lines;
+        public long edges;
+        public long skipped;   // baris kosong / metadata '['
+        public long malformed; // baris yang tidak bisa diparse
+        public final List<Long> malformedLines = new ArrayList<>(); // nomor baris (maks. 20 pertama)
+
+        @Override
+        public String toString() {
+            return "baris=" + lines + ", edge=" + edges + ", dilewati=" + skipped + ", rusak=" + malformed
+                    + (malformedLines.isEmpty() ? "" : " (baris " + malformedLines + ")");
+        }
+    }
+
+    private final PathFinder target;
+    private final LoadReport report = new LoadReport();
+
+    // Tabel intern: slot berisi (hash << 32) | (id lokal + 1), 0 = kosong.
+    // Hash disimpan di slot agar probe tidak perlu membaca array lain.
+    private long[] table = new long[1 << 12];
+    // Per id lokal: {offset di namePool, panjang, id vertex} berdampingan agar satu cache line
+    private int[] localInfo = new int[256 * 3];
+    private int localCount = 0;
+    private byte[] namePool = new byte[1 << 14];
+    private int namePoolSize = 0;
+
+    // Posisi field pada baris yang sedang diparse
+    private final int[] fieldStart = new int[MAX_FIELDS];
+    private final int[] fieldEnd = new int[MAX_FIELDS];
+    private boolean skippingLine; // di tengah baris kepanjangan yang sedang dibuang
+
+    private EdgeListLoader(PathFinder target) {
+        this.target = target;
+    }
+
+    static LoadReport load(File file, PathFinder target) throws IOException {
+        return load(file, target, CHUNK_SIZE);
+    }
+
+    // chunkSize hanya diperkecil oleh test (baris yang lebih panjang dari satu jendela)
+    static LoadReport load(File file, PathFinder target, int chunkSize) throws IOException {
+        EdgeListLoader loader = new EdgeListLoader(target);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            boolean first = true;
+            while (position < size) {
+                long length = Math.min(chunkSize, size - position);
+                MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                boolean last = position + length == size;
+                int start = 0;
+                if (first && length >= 3 && (buf.get(0) & 0xff) == 0xEF
+                        && (buf.get(1) & 0xff) == 0xBB && (buf.get(2) & 0xff) == 0xBF) {
+                    start = 3; // UTF-8 BOM
+                }
+                first = false;
+                int consumed;
+                if (loader.skippingLine) {
+                    consumed = loader.skipRestOfLine(buf, start, (int) length);
+                } else {
+                    consumed = loader.scan(buf, start, (int) length, last);
+                    if (consumed == 0) { // satu baris lebih panjang dari jendela mapping
+                        consumed = loader.skipOversizedLine((int) length);
+                    }
+                }
+                position += consumed;
+            }
+        }
+        return loader.report;
+    }
+
+    // Memproses semua baris lengkap di buf; mengembalikan jumlah byte yang terpakai
+    private int scan(MappedByteBuffer buf, int pos, int limit, boolean last) {
+        int lineStart = pos;
+        for (int i = pos; i < limit; i++) {
+            if (buf.get(i) == '\n') {
+                parseLine(buf, lineStart, i);
+                lineStart = i + 1;
+            }
+        }
+        if (last && lineStart < limit) {
+            parseLine(buf, lineStart, limit);
+            lineStart = limit;
+        }
+        return lineStart;
+    }
+
+    // Baris dicatat rusak sekali; sisanya (bisa melewati beberapa jendela) dibuang sampai '\n'
+    private int skipOversizedLine(int limit) {
+        report.lines++;
+        markMalformed();
+        skippingLine = true;
+        return limit;
+    }
+
+    private int skipRestOfLine(MappedByteBuffer buf, int pos, int limit) {
+        for (int i = pos; i < limit; i++) {
+            if (buf.get(i) == '\n') {
+                skippingLine = false;
+                return i + 1;
+            }
+        }
+        return limit;
+    }
+
+    private void parseLine(MappedByteBuffer buf, int from, int to) {
+        report.lines++;
+        from = skipSpace(buf, from, to);
+        to = trimEnd(buf, from, to);
+        if (from == to || buf.get(from) == '[') {
+            report.skipped++;
+            return;
+        }
+
+        // Pisahkan field dengan ','; field kosong di akhir diabaikan seperti String.split
+        int fields = 0;
+        int fs = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || buf.get(i) == ',') {
+                if (fields == MAX_FIELDS) {
+                    if (skipSpace(buf, fs, i) != i) { markMalformed(); return; }
+                } else {
+                    fieldStart[fields] = fs;
+                    fieldEnd[fields] = i;
+                    fields++;
+                }
+                fs = i + 1;
+            }
+        }
+        if (fields < MIN_FIELDS) {
+            markMalformed();
+            return;
+        }
+        for (int f = 0; f < fields; f++) {
+            fieldStart[f] = skipSpace(buf, fieldStart[f], fieldEnd[f]);
+            fieldEnd[f] = trimEnd(buf, fieldStart[f], fieldEnd[f]);
+        }
+
+        double weight = parseDouble(buf, fieldStart[2], fieldEnd[2]);
+        if (Double.isNaN(weight)) {
+            markMalformed();
+            return;
+        }
+        double resistance = Double.NaN;
+        double current = Double.NaN;
+        if (fields > 3 && fieldStart[3] < fieldEnd[3]) {
+            resistance = parseDouble(buf, fieldStart[3], fieldEnd[3]);
+            if (Double.isNaN(resistance)) { markMalformed(); return; }
+        }
+        if (fields > 4 && fieldStart[4] < fieldEnd[4]) {
+            current = parseDouble(buf, fieldStart[4], fieldEnd[4]);
+            if (Double.isNaN(current)) { markMalformed(); return; }
+        }
+
+        int u = intern(buf, fieldStart[0], fieldEnd[0]);
+        int v = intern(buf, fieldStart[1], fieldEnd[1]);
+        if (Double.isNaN(resistance) && Double.isNaN(current)) target.addEdge(u, v, weight);
+        else target.addEdge(u, v, weight, resistance, current);
+        report.edges++;
+    }
+
+    private void markMalformed() {
+        report.malformed++;
+        if (report.malformedLines.size() < MAX_REPORTED_LINES) report.malformedLines.add(report.lines);
+    }
+
+    private static boolean isSpace(byte b) {
+        return b >= 0 && b <= ' '; // sama dengan String.trim()
+    }
+
+    private static int skipSpace(MappedByteBuffer buf, int from, int to) {
+        while (from < to && isSpace(buf.get(from))) from++;
+        return from;
+    }
+
+    private static int trimEnd(MappedByteBuffer buf, int from, int to) {
+        while (to > from && isSpace(buf.get(to - 1))) to--;
+        return to;
+    }
+
+    // --- PARSE BOBOT TANPA ALOKASI ---
+
+    // NaN jika bukan angka
+    private static double parseDouble(MappedByteBuffer buf, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (buf.get(i) == '-' || buf.get(i) == '+')) {
+            negative = buf.get(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fraction = 0;
+        boolean dot = false;
+        boolean anyDigit = false;
+        for (; i < to; i++) {
+            byte b = buf.get(i);
+            if (b >= '0' && b <= '9') {
+                if (digits >= MAX_EXACT_DIGITS) return parseSlow(buf, from, to);
+                mantissa = mantissa * 10 + (b - '0');
+                anyDigit = true;
+                if (mantissa != 0) digits++;
+                if (dot) fraction++;
+            } else if (b == '.' && !dot) {
+                dot = true;
+            } else {
+                break;
+            }
+        }
+        if (i < to || !anyDigit) {
+            return parseSlow(buf, from, to); // eksponen, hex, dsb.
+        }
+        if (fraction >= POW10.length) return parseSlow(buf, from, to);
+        // mantissa < 2^53 dan 10^fraction (<= 10^22) eksak, jadi satu pembagian ini dibulatkan dengan benar
+        double value = mantissa / POW10[fraction];
+        return negative ? -value : value;
+    }
+
+    private static double parseSlow(MappedByteBuffer buf, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        for (int i = 0; i < bytes.length; i++) bytes[i] = buf.get(from + i);
+        try {
+            return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    // --- INTERN NAMA GARDU ---
+
+    private int intern(MappedByteBuffer buf, int from, int to) {
+        int h = 0x811C9DC5; // FNV-1a
+        for (int i = from; i < to; i++) {
+            h ^= buf.get(i);
+            h *= 0x01000193;
+        }
+        h ^= h >>> 16; // sebar bit atas ke bit bawah sebelum di-mask
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        int mask = table.length - 1;
+        int slot = h & mask;
+        while (true) {
+            long entry = table[slot];
+            if (entry == 0) break;
+            if ((int) (entry >>> 32) == h) {
+                int local = (int) entry - 1;
+                if (sameBytes(buf, from, to, local)) return localInfo[local * 3 + 2];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // Nama baru: simpan byte-nya dan buat String sekali saja
+        int len = to - from;
+        if (namePoolSize + len > namePool.length) {
+            namePool = Arrays.copyOf(namePool, Math.max(namePool.length * 2, namePoolSize + len));
+        }
+        for (int i = 0; i < len; i++) namePool[namePoolSize + i] = buf.get(from + i);
+        String name = new String(namePool, namePoolSize, len, StandardCharsets.UTF_8);
+
+        if (localCount * 3 == localInfo.length) {
+            localInfo = Arrays.copyOf(localInfo, localInfo.length * 2);
+        }
+        int local = localCount++;
+        int node = target.internNode(name);
+        localInfo[local * 3] = namePoolSize;
+        localInfo[local * 3 + 1] = len;
+        localInfo[local * 3 + 2] = node;
+        namePoolSize += len;
+        table[slot] = ((long) h << 32) | (local + 1);
+        if (localCount * 2 > table.length) rehash();
+        return node;
+    }
+
+    private boolean sameBytes(MappedByteBuffer buf, int from, int to, int local) {
+        if (localInfo[local * 3 + 1] != to - from) return false;
+        int off = localInfo[local * 3];
+        for (int i = from; i < to; i++) {
+            if (namePool[off++] != buf.get(i)) return false;
+        }
+        return true;
+    }
+
+    private void rehash() {
+        long[] bigger = new long[table.length * 2];
+        int mask = bigger.length - 1;
+        for (long entry : table) {
+            if (entry == 0) continue;
+            int slot = (int) (entry >>> 32) & mask;
+            while (bigger[slot] != 0) slot = (slot + 1) & mask;
+            bigger[slot] = entry;
+        }
+        table = bigger;
+    }
+}
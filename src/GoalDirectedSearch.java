@@ -0,0 +1,143 @@
+// Pencarian terarah s -> t: A* dengan heuristik geometris (jika setiap gardu punya
+// koordinat) dan/atau ALT (batas bawah dari tabel Landmarks). Jika keduanya ada, dipakai
+// maksimumnya; maksimum heuristik konsisten tetap konsisten.
+//
+// Kedua heuristik dihitung dari graf utuh, sehingga gardu padam dan saluran trip (yang
+// hanya bisa memperpanjang jalur) tidak membuatnya overestimate: hasil tetap jalur
+// terpendek yang sama dengan Dijkstra, hanya vertex yang di-settle jauh lebih sedikit.
+final class GoalDirectedSearch {
+
+    // Heuristik dikecilkan sedikit agar galat pembulatan tidak membuatnya overestimate
+    private static final double SLACK = 1 - 1e-9;
+    // Batas bawah sebesar ini hanya muncul dari Double.MAX_VALUE di tabel landmark: t tak terjangkau
+    private static final double UNREACHABLE_BOUND = Double.MAX_VALUE / 2;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private GoalDirectedSearch() {
+    }
+
+    // Koordinat per id vertex dan skala km-per-satuan-koordinat.
+    // Geografis: titik pada bola satuan 3D dan jarak chord (tali busur). Chord tidak pernah
+    // melebihi jarak great-circle dan memenuhi triangle inequality, tetapi cukup satu sqrt.
+    // scale = min bobot/jarak atas semua edge, sehingga scale * jarak(u, t) <= jarak graf(u, t)
+    // dan heuristiknya konsisten apa pun satuan koordinatnya.
+    static final class Geometry {
+        final CsrGraph graph;
+        final NodeCoordinates source;
+        final boolean complete; // false jika ada gardu tanpa koordinat atau skala 0: A* tidak dipakai
+        final double scale;
+        private final double[] x;
+        private final double[] y;
+        private final double[] z; // null untuk koordinat planar
+
+        private Geometry(CsrGraph graph, NodeCoordinates source, double[] x, double[] y, double[] z, double scale) {
+            this.graph = graph;
+            this.source = source;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.scale = scale;
+            this.complete = x != null && scale > 0;
+        }
+
+        static Geometry build(CsrGraph g, NodeCoordinates coordinates) {
+            int n = g.nodeCount();
+            double[] x = new double[n];
+            double[] y = new double[n];
+            double[] z = coordinates.geographic ? new double[n] : null;
+            for (int v = 0; v < n; v++) {
+                double[] p = coordinates.points.get(g.names[v]);
+                if (p == null) return new Geometry(g, coordinates, null, null, null, 0);
+                if (z == null) {
+                    x[v] = p[0];
+                    y[v] = p[1];
+                } else {
+                    double lat = Math.toRadians(p[0]);
+                    double lon = Math.toRadians(p[1]);
+                    x[v] = EARTH_RADIUS_KM * Math.cos(lat) * Math.cos(lon);
+                    y[v] = EARTH_RADIUS_KM * Math.cos(lat) * Math.sin(lon);
+                    z[v] = EARTH_RADIUS_KM * Math.sin(lat);
+                }
+            }
+            Geometry geo = new Geometry(g, coordinates, x, y, z, 0);
+            double scale = Double.MAX_VALUE;
+            for (int u = 0; u < n; u++) {
+                for (int e = g.offsets[u]; e < g.offsets[u + 1]; e++) {
+                    double d = geo.distance(u, g.targets[e]);
+                    if (d > 0 && g.weights[e] / d < scale) scale = g.weights[e] / d;
+                }
+            }
+            return new Geometry(g, coordinates, x, y, z, scale == Double.MAX_VALUE ? 0 : scale);
+        }
+
+        double distance(int u, int v) {
+            double dx = x[u] - x[v];
+            double dy = y[u] - y[v];
+            double dz = z == null ? 0 : z[u] - z[v];
+            return Math.sqrt(dx * dx + dy * dy + dz * dz);
+        }
+    }
+
+    // Seperti PathFinder.search dengan tujuan t, tetapi heap diurutkan dengan jarak + batas
+    // bawah sisa jarak. geo (harus complete) dan alt boleh null, tetapi tidak keduanya.
+    // Hasil di scratch: t settled jika dan hanya jika ada jalur.
+    static void search(CsrGraph g, OutageMask broken, OutageMask lines, SearchScratch scratch, int s, int t,
+                       Geometry geo, Landmarks alt) {
+        int k = alt == null ? 0 : alt.count();
+        double[] fromT = new double[k]; // d(L_i, t)
+        double[] toT = new double[k];   // d(t, L_i)
+        for (int i = 0; i < k; i++) {
+            fromT[i] = alt.from[t * k + i];
+            toT[i] = alt.to[t * k + i];
+        }
+
+        double hs = bound(geo, alt, fromT, toT, s, t);
+        if (hs >= UNREACHABLE_BOUND) return; // landmark membuktikan t tak terjangkau dari s
+        scratch.relax(s, 0.0, -1, hs * SLACK);
+        boolean checkLines = !lines.isEmpty();
+
+        int settled = 0;
+        int relaxed = 0;
+        int skipped = 0;
+        while (!scratch.isEmpty()) {
+            int u = scratch.pollMin();
+            settled++;
+            if (u == t) break;
+            if ((settled & PathFinder.CANCEL_CHECK_MASK) == 0) PathFinder.checkCancelled();
+            double du = scratch.distance(u);
+
+            for (int e = g.offsets[u], stop = g.offsets[u + 1]; e < stop; e++) {
+                int v = g.targets[e];
+                if (broken.get(v) || (checkLines && lines.get(e))) {
+                    skipped++;
+                    continue;
+                }
+                relaxed++;
+                double dv = du + g.weights[e];
+                if (dv >= scratch.distance(v) || scratch.isSettled(v)) continue; // heuristik tidak perlu dihitung
+                double h = bound(geo, alt, fromT, toT, v, t);
+                if (h >= UNREACHABLE_BOUND) continue;
+                scratch.relax(v, dv, u, dv + h * SLACK);
+            }
+        }
+        scratch.settledCount = settled;
+        scratch.relaxedCount = relaxed;
+        scratch.brokenSkips = skipped;
+    }
+
+    // Batas bawah d(v, t) pada graf utuh; >= UNREACHABLE_BOUND jika t pasti tak terjangkau
+    private static double bound(Geometry geo, Landmarks alt, double[] fromT, double[] toT, int v, int t) {
+        double h = geo == null ? 0 : geo.scale * geo.distance(v, t);
+        if (alt != null) {
+            int k = fromT.length;
+            int base = v * k;
+            for (int i = 0; i < k; i++) {
+                double forward = fromT[i] - alt.from[base + i]; // d(L, t) - d(L, v)
+                double backward = alt.to[base + i] - toT[i];    // d(v, L) - d(t, L)
+                if (forward > h) h = forward;
+                if (backward > h) h = backward;
+            }
+        }
+        return h;
+    }
+}
@@ -0,0 +1,259 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// Snapshot biner dari CsrGraph agar startup tidak perlu mem-parse data.txt.
+//
+// Layout (little-endian):
+//   header : magic "PLNG", versi format, jumlah vertex n, jumlah edge m, flags, panjang blob nama
+//   nama   : int[n] offset akhir tiap nama di blob, lalu blob UTF-8 (di-pad ke kelipatan 8)
+//   CSR    : int[n + 1] offsets, int[m] targets, double[m] weights
+//   saluran: double[m] resistansi, double[m] arus (hanya jika flags & HAS_LINE_ATTRIBUTES)
+//   trailer: CRC32 atas seluruh byte sebelumnya (long)
+// Versi 1 (tanpa flags dan atribut saluran) masih bisa dibaca.
+//
+// Dibaca dengan memory mapping per bagian, lalu disalin massal ke array.
+final class GraphSnapshot {
+
+    static final int MAGIC = 0x474E4C50; // "PLNG" dalam little-endian
+    static final int FORMAT_VERSION = 2;
+    static final int HAS_LINE_ATTRIBUTES = 1;
+
+    private static final int HEADER_BYTES_V1 = 4 + 4 + 4 + 4 + 8;
+    private static final int HEADER_BYTES = 4 + 4 + 4 + 4 + 4 + 8;
+    private static final long WINDOW = 1L << 30; // jendela mapping 1 GB
+
+    private GraphSnapshot() {
+    }
+
+    // --- TULIS ---
+
+    static void write(CsrGraph g, File file) throws IOException {
+        int n = g.nodeCount();
+        int m = g.edgeCount();
+        byte[][] encoded = new byte[n][];
+        long blobLength = 0;
+        for (int v = 0; v < n; v++) {
+            encoded[v] = g.names[v].getBytes(StandardCharsets.UTF_8);
+            blobLength += encoded[v].length;
+        }
+
+        File tmp = new File(file.getPath() + ".tmp");
+        boolean replaced = false;
+        try {
+            try (FileChannel channel = FileChannel.open(tmp.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                Writer out = new Writer(channel);
+                out.putInt(MAGIC);
+                out.putInt(FORMAT_VERSION);
+                out.putInt(n);
+                out.putInt(m);
+                out.putInt(g.hasLineAttributes() ? HAS_LINE_ATTRIBUTES : 0);
+                out.putLong(blobLength);
+
+                long end = 0;
+                for (int v = 0; v < n; v++) {
+                    end += encoded[v].length;
+                    out.putInt((int) end);
+                }
+                for (int v = 0; v < n; v++) out.putBytes(encoded[v]);
+                for (long pad = (8 - (out.written % 8)) % 8; pad > 0; pad--) out.putByte((byte) 0);
+
+                for (int x : g.offsets) out.putInt(x);
+                for (int x : g.targets) out.putInt(x);
+                for (double w : g.weights) out.putDouble(w);
+                if (g.hasLineAttributes()) {
+                    for (double r : g.resistance) out.putDouble(r);
+                    for (double i : g.current) out.putDouble(i);
+                }
+                out.finish();
+            }
+            replace(tmp, file);
+            replaced = true;
+        } finally {
+            if (!replaced) tmp.delete(); // jangan tinggalkan file .tmp setengah jadi
+        }
+    }
+
+    // Ganti file secara atomik: pembaca melihat snapshot lama atau baru, tidak pernah kosong
+    static void replace(File tmp, File file) throws IOException {
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // Buffer tulis yang sekaligus menghitung CRC32 (juga dipakai ekspor tabel LossAnalysis)
+    static final class Writer {
+        private final FileChannel channel;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32 crc = new CRC32();
+        long written = 0;
+
+        Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putByte(byte b) throws IOException {
+            ensure(1);
+            buf.put(b);
+            written++;
+        }
+
+        void putInt(int x) throws IOException {
+            ensure(4);
+            buf.putInt(x);
+            written += 4;
+        }
+
+        void putLong(long x) throws IOException {
+            ensure(8);
+            buf.putLong(x);
+            written += 8;
+        }
+
+        void putDouble(double x) throws IOException {
+            ensure(8);
+            buf.putDouble(x);
+            written += 8;
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            for (byte b : bytes) putByte(b);
+        }
+
+        void finish() throws IOException {
+            flush();
+            ByteBuffer trailer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            trailer.putLong(crc.getValue()).flip();
+            while (trailer.hasRemaining()) channel.write(trailer);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buf.remaining() < bytes) flush();
+        }
+
+        private void flush() throws IOException {
+            buf.flip();
+            crc.update(buf.duplicate());
+            while (buf.hasRemaining()) channel.write(buf);
+            buf.clear();
+        }
+    }
+
+    // --- BACA ---
+
+    static CsrGraph read(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES_V1 + 8) throw new IOException("Snapshot terlalu pendek: " + file);
+
+            ByteBuffer header = map(channel, 0, HEADER_BYTES_V1);
+            if (header.getInt() != MAGIC) throw new IOException("Bukan snapshot graf: " + file);
+            int version = header.getInt();
+            if (version != 1 && version != FORMAT_VERSION) {
+                throw new IOException("Versi snapshot tidak didukung: " + version);
+            }
+            int headerBytes = version == 1 ? HEADER_BYTES_V1 : HEADER_BYTES;
+            if (size < headerBytes + 8) throw new IOException("Snapshot terlalu pendek: " + file);
+            header = map(channel, 8, headerBytes - 8);
+            int n = header.getInt();
+            int m = header.getInt();
+            int flags = version == 1 ? 0 : header.getInt();
+            long blobLength = header.getLong();
+            boolean lineAttributes = (flags & HAS_LINE_ATTRIBUTES) != 0;
+
+            long namesPos = headerBytes;
+            long blobPos = namesPos + 4L * n;
+            long offsetsPos = blobPos + blobLength + (8 - ((blobPos + blobLength) % 8)) % 8;
+            long targetsPos = offsetsPos + 4L * (n + 1);
+            long weightsPos = targetsPos + 4L * m;
+            long resistancePos = weightsPos + 8L * m;
+            long currentPos = resistancePos + (lineAttributes ? 8L * m : 0);
+            long crcPos = currentPos + (lineAttributes ? 8L * m : 0);
+            if (n < 0 || m < 0 || blobLength < 0 || crcPos + 8 != size) {
+                throw new IOException("Ukuran snapshot tidak sesuai header: " + file);
+            }
+            if (checksum(channel, crcPos) != map(channel, crcPos, 8).getLong()) {
+                throw new IOException("Checksum snapshot tidak cocok: " + file);
+            }
+
+            int[] nameEnds = readInts(channel, namesPos, n);
+            checkAscending(nameEnds, 0, blobLength, file);
+            if (n > 0 && nameEnds[n - 1] != blobLength) throw new IOException("Tabel nama rusak: " + file);
+            String[] names = new String[n];
+            if (blobLength > Integer.MAX_VALUE) throw new IOException("Tabel nama terlalu besar: " + file);
+            ByteBuffer blob = map(channel, blobPos, blobLength);
+            byte[] bytes = new byte[(int) blobLength];
+            blob.get(bytes);
+            int start = 0;
+            for (int v = 0; v < n; v++) {
+                names[v] = new String(bytes, start, nameEnds[v] - start, StandardCharsets.UTF_8);
+                start = nameEnds[v];
+            }
+
+            // CRC hanya menjamin file tidak berubah sejak ditulis; struktur tetap diperiksa
+            int[] offsets = readInts(channel, offsetsPos, n + 1);
+            if (offsets[0] != 0 || offsets[n] != m) throw new IOException("Offset CSR rusak: " + file);
+            checkAscending(offsets, 0, m, file);
+            int[] targets = readInts(channel, targetsPos, m);
+            for (int x : targets) {
+                if (x < 0 || x >= n) throw new IOException("Target edge di luar rentang: " + x + " (" + file + ")");
+            }
+            double[] weights = readDoubles(channel, weightsPos, m);
+            if (!lineAttributes) return new CsrGraph(names, offsets, targets, weights);
+            double[] resistance = readDoubles(channel, resistancePos, m);
+            double[] current = readDoubles(channel, currentPos, m);
+            return new CsrGraph(names, offsets, targets, weights, resistance, current);
+        }
+    }
+
+    // Nilai tidak turun dan berada di [min, max]
+    private static void checkAscending(int[] values, long min, long max, File file) throws IOException {
+        long previous = min;
+        for (int x : values) {
+            if (x < previous || x > max) throw new IOException("Snapshot rusak (urutan indeks tidak valid): " + file);
+            previous = x;
+        }
+    }
+
+    // Helper baca di bawah juga dipakai Landmarks.read
+    static MappedByteBuffer map(FileChannel channel, long pos, long length) throws IOException {
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, pos, length);
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        return buf;
+    }
+
+    static long checksum(FileChannel channel, long length) throws IOException {
+        CRC32 crc = new CRC32();
+        for (long pos = 0; pos < length; pos += WINDOW) {
+            crc.update(map(channel, pos, Math.min(WINDOW, length - pos)));
+        }
+        return crc.getValue();
+    }
+
+    static int[] readInts(FileChannel channel, long pos, int count) throws IOException {
+        int[] out = new int[count];
+        int perWindow = (int) (WINDOW / 4);
+        for (int i = 0; i < count; i += perWindow) {
+            int len = Math.min(perWindow, count - i);
+            map(channel, pos + 4L * i, 4L * len).asIntBuffer().get(out, i, len);
+        }
+        return out;
+    }
+
+    static double[] readDoubles(FileChannel channel, long pos, int count) throws IOException {
+        double[] out = new double[count];
+        int perWindow = (int) (WINDOW / 8);
+        for (int i = 0; i < count; i += perWindow) {
+            int len = Math.min(perWindow, count - i);
+            map(channel, pos + 8L * i, 8L * len).asDoubleBuffer().get(out, i, len);
+        }
+        return out;
+    }
+}
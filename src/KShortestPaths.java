@@ -0,0 +1,209 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// K jalur terpendek tanpa loop (Yen) dari s ke t, dengan gardu padam dan saluran trip dihindari.
+//
+// Pohon jalur terpendek terbalik dari t dihitung sekali per query dan dipakai bersama:
+//  - h[v] = jarak v -> t di graf penuh, heuristik A* yang konsisten untuk setiap spur search
+//    (menghapus node/edge hanya bisa memperpanjang jarak);
+//  - jika jalur pohon dari spur node tidak menyentuh node/edge yang di-mask, jalur itu
+//    langsung menjadi spur path terbaik tanpa pencarian.
+// Node root path dan edge yang sudah dipakai jalur sebelumnya di-mask dengan bitset,
+// graf tidak pernah disalin. Saluran trip di-set di edgeMask sejak awal dan tidak pernah dibersihkan.
+final class KShortestPaths {
+
+    private final CsrGraph graph;
+    private final OutageMask broken;
+    private final int target;
+    private final double[] h;   // jarak ke target
+    private final int[] next;   // hop berikutnya menuju target pada pohon terbalik
+    private final long[] nodeMask;
+    private final long[] edgeMask;
+    private int[] maskedEdges; // edge yang sedang di-mask, untuk dibersihkan setelah spur search
+    private int maskedEdgeCount;
+
+    private KShortestPaths(CsrGraph graph, OutageMask broken, OutageMask lines, int target) {
+        this.graph = graph;
+        this.broken = broken;
+        this.target = target;
+        ShortestPathCache.Tree reverse = PathFinder.computeTree(graph.reverse(), broken, lines, target);
+        this.h = reverse.dist;
+        this.next = reverse.prev;
+        this.nodeMask = new long[(graph.nodeCount() + 63) >>> 6];
+        this.edgeMask = new long[(graph.edgeCount() + 63) >>> 6];
+        for (int e = lines.nextBroken(0); e >= 0; e = lines.nextBroken(e + 1)) setBit(edgeMask, e);
+        this.maskedEdges = new int[16];
+    }
+
+    // Jalur diurutkan dari biaya terkecil; kosong jika tidak ada jalur
+    static List<Path> find(CsrGraph g, OutageMask broken, OutageMask lines, int s, int t, int k) {
+        List<Path> accepted = new ArrayList<>();
+        if (k <= 0 || broken.get(s) || broken.get(t)) return accepted;
+        KShortestPaths yen = new KShortestPaths(g, broken, lines, t);
+        if (yen.h[s] == Double.MAX_VALUE) return accepted;
+
+        PriorityQueue<Path> candidates = new PriorityQueue<>(
+                (a, b) -> a.cost() != b.cost() ? Double.compare(a.cost(), b.cost()) : a.nodes.length - b.nodes.length);
+        Set<Path> seen = new HashSet<>();
+        Path first = yen.treePath(new int[] { s }, new double[] { 0.0 }, 0);
+        accepted.add(first);
+        seen.add(first);
+
+        while (accepted.size() < k) {
+            Path last = accepted.get(accepted.size() - 1);
+            // Lawler: spur node sebelum titik deviasi sudah dicoba saat jalur induknya diproses
+            for (int i = last.deviation; i < last.nodes.length - 1; i++) {
+                PathFinder.checkCancelled();
+                Path candidate = yen.spur(accepted, last, i);
+                if (candidate != null && seen.add(candidate)) candidates.add(candidate);
+            }
+            Path best = candidates.poll();
+            if (best == null) break;
+            accepted.add(best);
+        }
+        return accepted;
+    }
+
+    // Jalur terbaik yang menyimpang dari base di posisi i, atau null
+    private Path spur(List<Path> accepted, Path base, int i) {
+        int spurNode = base.nodes[i];
+        for (int j = 0; j < i; j++) setBit(nodeMask, base.nodes[j]);
+        for (Path p : accepted) {
+            if (p.nodes.length > i + 1 && Arrays.equals(p.nodes, 0, i + 1, base.nodes, 0, i + 1)) {
+                maskPair(p.nodes[i], p.nodes[i + 1]);
+            }
+        }
+
+        Path result = treePathAllowed(spurNode)
+                ? treePath(base.nodes, base.prefix, i)
+                : search(base, i);
+
+        for (int j = 0; j < i; j++) clearBit(nodeMask, base.nodes[j]);
+        while (maskedEdgeCount > 0) clearBit(edgeMask, maskedEdges[--maskedEdgeCount]);
+        return result;
+    }
+
+    // Semua edge paralel u -> v di-mask (jalur dibedakan berdasarkan urutan node)
+    private void maskPair(int u, int v) {
+        for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+            if (graph.targets[e] != v || getBit(edgeMask, e)) continue;
+            setBit(edgeMask, e);
+            if (maskedEdgeCount == maskedEdges.length) maskedEdges = Arrays.copyOf(maskedEdges, maskedEdgeCount * 2);
+            maskedEdges[maskedEdgeCount++] = e;
+        }
+    }
+
+    private boolean treePathAllowed(int spurNode) {
+        if (h[spurNode] == Double.MAX_VALUE) return false;
+        int prevNode = spurNode;
+        for (int v = next[spurNode]; v != -1; v = next[v]) {
+            if (getBit(nodeMask, v)) return false;
+            if (prevNode == spurNode && edgeMaskedBetween(spurNode, v)) return false;
+            prevNode = v;
+        }
+        return true;
+    }
+
+    // Edge u -> v yang dipakai pohon: edge termurah, jadi cukup cek apakah ada yang di-mask
+    // (konservatif jika yang di-mask hanya saluran paralel yang trip)
+    private boolean edgeMaskedBetween(int u, int v) {
+        for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+            if (graph.targets[e] == v && getBit(edgeMask, e)) return true;
+        }
+        return false;
+    }
+
+    // root (nodes[0..i]) disambung jalur pohon dari nodes[i] ke target
+    private Path treePath(int[] rootNodes, double[] rootPrefix, int i) {
+        int spurNode = rootNodes[i];
+        int steps = 0;
+        for (int v = spurNode; v != -1; v = next[v]) steps++;
+        int[] nodes = Arrays.copyOf(rootNodes, i + steps);
+        double[] prefix = Arrays.copyOf(rootPrefix, i + steps);
+        double base = rootPrefix[i] + h[spurNode];
+        int j = i;
+        for (int v = spurNode; v != -1; v = next[v], j++) {
+            nodes[j] = v;
+            prefix[j] = base - h[v];
+        }
+        return new Path(nodes, prefix, i);
+    }
+
+    // A* dari spur node ke target dengan mask aktif
+    private Path search(Path base, int i) {
+        CsrGraph g = graph;
+        int spurNode = base.nodes[i];
+        SearchScratch scratch = SearchScratch.acquire(g.nodeCount());
+        scratch.relax(spurNode, 0.0, -1, h[spurNode]);
+        int settled = 0;
+        while (!scratch.isEmpty()) {
+            int u = scratch.pollMin();
+            if (u == target) break;
+            if ((++settled & PathFinder.CANCEL_CHECK_MASK) == 0) PathFinder.checkCancelled();
+            double du = scratch.distance(u);
+            for (int e = g.offsets[u], stop = g.offsets[u + 1]; e < stop; e++) {
+                int v = g.targets[e];
+                if (h[v] == Double.MAX_VALUE || broken.get(v) || getBit(nodeMask, v) || getBit(edgeMask, e)) {
+                    continue;
+                }
+                double d = du + g.weights[e];
+                scratch.relax(v, d, u, d + h[v]);
+            }
+        }
+        if (!scratch.isSettled(target)) return null;
+
+        int steps = 0;
+        for (int v = target; v != -1; v = scratch.previous(v)) steps++;
+        int[] nodes = Arrays.copyOf(base.nodes, i + steps);
+        double[] prefix = Arrays.copyOf(base.prefix, i + steps);
+        double offset = base.prefix[i];
+        for (int v = target, j = i + steps - 1; v != -1; v = scratch.previous(v), j--) {
+            nodes[j] = v;
+            prefix[j] = offset + scratch.distance(v);
+        }
+        return new Path(nodes, prefix, i);
+    }
+
+    private static boolean getBit(long[] bits, int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    private static void setBit(long[] bits, int i) {
+        bits[i >>> 6] |= 1L << i;
+    }
+
+    private static void clearBit(long[] bits, int i) {
+        bits[i >>> 6] &= ~(1L << i);
+    }
+
+    // Jalur kandidat; prefix[j] = biaya dari s sampai nodes[j]
+    static final class Path {
+        final int[] nodes;
+        final double[] prefix;
+        final int deviation; // posisi spur node tempat jalur ini menyimpang dari induknya
+
+        Path(int[] nodes, double[] prefix, int deviation) {
+            this.nodes = nodes;
+            this.prefix = prefix;
+            this.deviation = deviation;
+        }
+
+        double cost() {
+            return prefix[prefix.length - 1];
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Path && Arrays.equals(nodes, ((Path) o).nodes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(nodes);
+        }
+    }
+}
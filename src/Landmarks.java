@@ -0,0 +1,183 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+// Tabel jarak landmark untuk heuristik ALT (A*, landmarks, triangle inequality).
+// Untuk landmark L dan tujuan t: d(v, t) >= d(L, t) - d(L, v) dan d(v, t) >= d(v, L) - d(t, L).
+// Jarak dihitung pada graf utuh (tanpa gangguan). Gardu padam dan saluran trip hanya bisa
+// memperpanjang jalur, jadi batas bawah ini tetap admissible dan konsisten saat ada gangguan.
+//
+// Landmark dipilih farthest-point: mulai dari vertex terjauh dari vertex 0, lalu berulang
+// vertex yang paling jauh dari semua landmark terpilih. Biaya: 2k Dijkstra penuh, memori 2kn double.
+//
+// Layout file (little-endian, lihat GraphSnapshot.Writer):
+//   header : magic "PLNA", versi, n, m, k, sidik topologi (CRC32 offsets/targets/bobot)
+//   isi    : int[k] id landmark (di-pad ke kelipatan 8), double[n*k] from, double[n*k] to
+//   trailer: CRC32 atas seluruh byte sebelumnya (long)
+final class Landmarks {
+
+    static final int MAGIC = 0x414E4C50; // "PLNA" dalam little-endian
+    static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_BYTES = 4 + 4 + 4 + 4 + 4 + 8;
+
+    final CsrGraph graph;
+    final int[] ids;
+    final double[] from; // from[v * k + i] = d(L_i, v), Double.MAX_VALUE jika tidak terjangkau
+    final double[] to;   // to[v * k + i]   = d(v, L_i)
+
+    private Landmarks(CsrGraph graph, int[] ids, double[] from, double[] to) {
+        this.graph = graph;
+        this.ids = ids;
+        this.from = from;
+        this.to = to;
+    }
+
+    int count() {
+        return ids.length;
+    }
+
+    static Landmarks select(CsrGraph g, int count) {
+        if (count < 1) throw new IllegalArgumentException("Jumlah landmark harus positif: " + count);
+        int n = g.nodeCount();
+        int k = Math.min(count, n);
+        int[] ids = new int[k];
+        double[] from = new double[n * k];
+        double[] to = new double[n * k];
+        if (k == 0) return new Landmarks(g, ids, from, to);
+
+        // separation[v] = jarak v ke landmark terdekat (min dua arah); MAX_VALUE = belum ada landmark
+        double[] separation = new double[n];
+        Arrays.fill(separation, Double.MAX_VALUE);
+        int next = farthest(PathFinder.computeTree(g, OutageMask.EMPTY, OutageMask.EMPTY, 0).dist, ids, 0);
+        for (int i = 0; i < k; i++) {
+            ids[i] = next;
+            double[] forward = PathFinder.computeTree(g, OutageMask.EMPTY, OutageMask.EMPTY, next).dist;
+            double[] backward = PathFinder.computeTree(g.reverse(), OutageMask.EMPTY, OutageMask.EMPTY, next).dist;
+            for (int v = 0; v < n; v++) {
+                from[v * k + i] = forward[v];
+                to[v * k + i] = backward[v];
+                double d = Math.min(forward[v], backward[v]);
+                if (d < separation[v]) separation[v] = d;
+            }
+            next = farthest(separation, ids, i + 1);
+        }
+        return new Landmarks(g, ids, from, to);
+    }
+
+    // Vertex dengan nilai terbesar (tak terjangkau dihitung paling jauh), bukan landmark terpilih
+    private static int farthest(double[] dist, int[] chosen, int chosenCount) {
+        int best = 0;
+        double bestDist = -1;
+        for (int v = 0; v < dist.length; v++) {
+            if (dist[v] > bestDist && (dist[v] > 0 || !isChosen(chosen, chosenCount, v))) {
+                best = v;
+                bestDist = dist[v];
+            }
+        }
+        return best;
+    }
+
+    private static boolean isChosen(int[] ids, int count, int v) {
+        for (int i = 0; i < count; i++) {
+            if (ids[i] == v) return true;
+        }
+        return false;
+    }
+
+    // --- PERSISTENSI ---
+
+    void write(File file) throws IOException {
+        int k = ids.length;
+        File tmp = new File(file.getPath() + ".tmp");
+        boolean replaced = false;
+        try {
+            try (FileChannel channel = FileChannel.open(tmp.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                GraphSnapshot.Writer out = new GraphSnapshot.Writer(channel);
+                out.putInt(MAGIC);
+                out.putInt(FORMAT_VERSION);
+                out.putInt(graph.nodeCount());
+                out.putInt(graph.edgeCount());
+                out.putInt(k);
+                out.putLong(fingerprint(graph));
+                for (int id : ids) out.putInt(id);
+                if (k % 2 != 0) out.putInt(0);
+                for (double d : from) out.putDouble(d);
+                for (double d : to) out.putDouble(d);
+                out.finish();
+            }
+            GraphSnapshot.replace(tmp, file);
+            replaced = true;
+        } finally {
+            if (!replaced) tmp.delete(); // jangan tinggalkan file .tmp setengah jadi
+        }
+    }
+
+    // Tabel hanya diterima jika dibuat untuk topologi dan bobot yang sama dengan g
+    static Landmarks read(File file, CsrGraph g) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + 8) throw new IOException("Tabel landmark terlalu pendek: " + file);
+            ByteBuffer header = GraphSnapshot.map(channel, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC) throw new IOException("Bukan tabel landmark: " + file);
+            int version = header.getInt();
+            if (version != FORMAT_VERSION) throw new IOException("Versi tabel landmark tidak didukung: " + version);
+            int n = header.getInt();
+            int m = header.getInt();
+            int k = header.getInt();
+            long topology = header.getLong();
+            if (n != g.nodeCount() || m != g.edgeCount() || topology != fingerprint(g)) {
+                throw new IOException("Tabel landmark dibuat untuk graf lain: " + file);
+            }
+
+            long idsPos = HEADER_BYTES;
+            long fromPos = idsPos + 4L * (k + k % 2);
+            long toPos = fromPos + 8L * n * k;
+            long crcPos = toPos + 8L * n * k;
+            if (k < 0 || k > n || crcPos + 8 != size) {
+                throw new IOException("Ukuran tabel landmark tidak sesuai header: " + file);
+            }
+            if (GraphSnapshot.checksum(channel, crcPos) != GraphSnapshot.map(channel, crcPos, 8).getLong()) {
+                throw new IOException("Checksum tabel landmark tidak cocok: " + file);
+            }
+            int[] ids = GraphSnapshot.readInts(channel, idsPos, k);
+            for (int id : ids) {
+                if (id < 0 || id >= n) throw new IOException("Id landmark tidak valid: " + id);
+            }
+            return new Landmarks(g, ids, GraphSnapshot.readDoubles(channel, fromPos, n * k),
+                    GraphSnapshot.readDoubles(channel, toPos, n * k));
+        }
+    }
+
+    // CRC32 atas offsets, targets dan bobot: tabel basi jika salah satunya berubah
+    static long fingerprint(CsrGraph g) {
+        CRC32 crc = new CRC32();
+        ByteBuffer buf = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        for (int x : g.offsets) {
+            if (buf.remaining() < 4) update(crc, buf);
+            buf.putInt(x);
+        }
+        for (int x : g.targets) {
+            if (buf.remaining() < 4) update(crc, buf);
+            buf.putInt(x);
+        }
+        for (double w : g.weights) {
+            if (buf.remaining() < 8) update(crc, buf);
+            buf.putDouble(w);
+        }
+        update(crc, buf);
+        return crc.getValue();
+    }
+
+    private static void update(CRC32 crc, ByteBuffer buf) {
+        buf.flip();
+        crc.update(buf);
+        buf.clear();
+    }
+}
@@ -0,0 +1,289 @@
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+// Power loss dari satu feeder ke setiap gardu: satu Dijkstra (bobot km) dan akumulasi
+// panjang, resistansi dan rugi daya I^2 R dilakukan saat vertex di-settle, karena parent-nya
+// pasti sudah final. Per saluran: R = r * L, P = fasa * I^2 * R, dengan r dan I dari kolom
+// opsional data.txt atau default dari Parameters.
+public final class LossAnalysis {
+
+    static final int TABLE_MAGIC = 0x4C4E4C50; // "PLNL" dalam little-endian
+    static final int TABLE_VERSION = 1;
+
+    private LossAnalysis() {
+    }
+
+    // Nilai default untuk saluran tanpa atribut r/I
+    public static final class Parameters {
+        public static final double DEFAULT_PHASES = 3.0;
+        public static final double DEFAULT_RESISTANCE = 0.0671; // Ohm/km, penghantar jaringan PLN
+        public static final double DEFAULT_CURRENT = 600.0;     // Ampere
+
+        public final double phases;
+        public final double resistance; // Ohm/km
+        public final double current;    // Ampere
+
+        public Parameters(double phases, double resistance, double current) {
+            this.phases = phases;
+            this.resistance = resistance;
+            this.current = current;
+        }
+
+        // Parameter yang dipakai UI, RouteServer dan OutageReplay
+        public static Parameters defaults() {
+            return new Parameters(DEFAULT_PHASES, DEFAULT_RESISTANCE, DEFAULT_CURRENT);
+        }
+    }
+
+    // Panjang, resistansi dan loss satu jalur
+    public static final class Totals {
+        public final double length;     // km
+        public final double resistance; // Ohm
+        public final double loss;       // Watt
+        public final int lines;         // jumlah saluran di jalur
+        public final int attributedLines; // saluran dengan r dan/atau I sendiri dari data.txt
+
+        Totals(double length, double resistance, double loss, int lines, int attributedLines) {
+            this.length = length;
+            this.resistance = resistance;
+            this.loss = loss;
+            this.lines = lines;
+            this.attributedLines = attributedLines;
+        }
+    }
+
+    static Table compute(PathFinder.GraphState st, int feeder, Parameters p) {
+        CsrGraph g = st.graph;
+        OutageMask broken = st.broken;
+        OutageMask lines = st.brokenLines;
+        int n = g.nodeCount();
+        int[] order = new int[n];
+        int[] parent = new int[n];
+        double[] length = new double[n];
+        double[] resistance = new double[n];
+        double[] loss = new double[n];
+        int count = 0;
+
+        SearchScratch scratch = SearchScratch.acquire(n);
+        scratch.relax(feeder, 0.0, -1);
+        while (!scratch.isEmpty()) {
+            int v = scratch.pollMin();
+            int u = scratch.previous(v);
+            order[count++] = v;
+            parent[v] = u;
+            if (u >= 0) {
+                int e = treeEdge(g, u, v, lines);
+                double km = g.weights[e];
+                double r = lineResistance(g, e, p) * km;
+                double amps = lineCurrent(g, e, p);
+                length[v] = length[u] + km;
+                resistance[v] = resistance[u] + r;
+                loss[v] = loss[u] + p.phases * amps * amps * r;
+            }
+
+            double dv = scratch.distance(v);
+            for (int e = g.offsets[v], stop = g.offsets[v + 1]; e < stop; e++) {
+                int w = g.targets[e];
+                if (broken.get(w) || lines.get(e)) continue;
+                scratch.relax(w, dv + g.weights[e], v);
+            }
+        }
+        return new Table(g, st.version, feeder, order, count, parent, length, resistance, loss);
+    }
+
+    // Total untuk jalur berurutan (id vertex); tiap hop memakai saluran terpendek u -> v
+    // yang tidak trip (atau yang terpendek, jika semuanya trip: jalur mode diagnosa)
+    static Totals pathTotals(CsrGraph g, int[] nodes, Parameters p, OutageMask lines) {
+        double length = 0;
+        double resistance = 0;
+        double loss = 0;
+        int attributed = 0;
+        for (int i = 1; i < nodes.length; i++) {
+            int e = treeEdge(g, nodes[i - 1], nodes[i], lines);
+            if (e < 0) e = treeEdge(g, nodes[i - 1], nodes[i], OutageMask.EMPTY);
+            if (e < 0) {
+                throw new IllegalArgumentException("Tidak ada saluran " + g.names[nodes[i - 1]] + " -> " + g.names[nodes[i]]);
+            }
+            double km = g.weights[e];
+            double r = lineResistance(g, e, p) * km;
+            double amps = lineCurrent(g, e, p);
+            length += km;
+            resistance += r;
+            loss += p.phases * amps * amps * r;
+            if (hasAttributes(g, e)) attributed++;
+        }
+        return new Totals(length, resistance, loss, Math.max(0, nodes.length - 1), attributed);
+    }
+
+    // Rugi daya satu hop u -> v lewat saluran yang dipakai Dijkstra (dipakai ContingencyAnalysis)
+    static double hopLoss(CsrGraph g, int u, int v, OutageMask lines, Parameters p) {
+        int e = treeEdge(g, u, v, lines);
+        double r = lineResistance(g, e, p) * g.weights[e];
+        double amps = lineCurrent(g, e, p);
+        return p.phases * amps * amps * r;
+    }
+
+    // Edge u -> v yang dipakai Dijkstra: edge pertama yang tidak trip dengan bobot terkecil
+    // (relax hanya mengganti parent jika jarak benar-benar lebih kecil)
+    private static int treeEdge(CsrGraph g, int u, int v, OutageMask lines) {
+        int best = -1;
+        for (int e = g.offsets[u]; e < g.offsets[u + 1]; e++) {
+            if (g.targets[e] != v || lines.get(e)) continue;
+            if (best < 0 || g.weights[e] < g.weights[best]) best = e;
+        }
+        return best;
+    }
+
+    private static boolean hasAttributes(CsrGraph g, int e) {
+        return !Double.isNaN(g.resistance(e)) || !Double.isNaN(g.current(e));
+    }
+
+    private static double lineResistance(CsrGraph g, int e, Parameters p) {
+        double r = g.resistance == null ? Double.NaN : g.resistance[e];
+        return Double.isNaN(r) ? p.resistance : r;
+    }
+
+    private static double lineCurrent(CsrGraph g, int e, Parameters p) {
+        double i = g.current == null ? Double.NaN : g.current[e];
+        return Double.isNaN(i) ? p.current : i;
+    }
+
+    // RFC 4180: nama gardu bisa berisi koma, kutip atau baris baru (juga dipakai OutageReplay)
+    static StringBuilder appendCsvField(StringBuilder line, String field) {
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) return line.append(field);
+        line.append('"');
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '"') line.append('"');
+            line.append(c);
+        }
+        return line.append('"');
+    }
+
+    // Hasil per gardu, diindeks id vertex; gardu tak terjangkau bernilai NaN
+    public static final class Table {
+        public final long version; // versi GraphState yang dihitung
+        final CsrGraph graph;
+        final int feeder;
+        final int[] order;  // gardu terjangkau, urut jarak dari feeder
+        final int count;
+        final int[] parent;
+        final double[] length;
+        final double[] resistance;
+        final double[] loss;
+
+        Table(CsrGraph graph, long version, int feeder, int[] order, int count, int[] parent,
+              double[] length, double[] resistance, double[] loss) {
+            this.graph = graph;
+            this.version = version;
+            this.feeder = feeder;
+            this.order = order;
+            this.count = count;
+            this.parent = parent;
+            this.length = length;
+            this.resistance = resistance;
+            this.loss = loss;
+            // tandai yang tidak terjangkau
+            boolean[] reached = new boolean[graph.nodeCount()];
+            for (int i = 0; i < count; i++) reached[order[i]] = true;
+            for (int v = 0; v < reached.length; v++) {
+                if (!reached[v]) {
+                    parent[v] = -1;
+                    length[v] = resistance[v] = loss[v] = Double.NaN;
+                }
+            }
+        }
+
+        public String feeder() {
+            return graph.names[feeder];
+        }
+
+        public int reachableCount() {
+            return count;
+        }
+
+        public double length(int id) {
+            return length[id];
+        }
+
+        public double resistance(int id) {
+            return resistance[id];
+        }
+
+        public double loss(int id) {
+            return loss[id];
+        }
+
+        public String name(int id) {
+            return graph.names[id];
+        }
+
+        // Id gardu dengan loss terbesar (maks. limit), urut menurun
+        public int[] highestLoss(int limit) {
+            int k = Math.min(limit, count);
+            int[] top = new int[k];
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                int v = order[i];
+                if (size == k && (k == 0 || loss[v] <= loss[top[k - 1]])) continue;
+                int j = size < k ? size++ : k - 1;
+                while (j > 0 && loss[top[j - 1]] < loss[v]) {
+                    top[j] = top[j - 1];
+                    j--;
+                }
+                top[j] = v;
+            }
+            return top;
+        }
+
+        // CSV: satu baris per gardu terjangkau, urut jarak dari feeder
+        public void writeCsv(File file) throws IOException {
+            try (BufferedWriter out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                out.write("gardu,parent,panjang_km,resistansi_ohm,loss_watt\n");
+                StringBuilder line = new StringBuilder(128);
+                for (int i = 0; i < count; i++) {
+                    int v = order[i];
+                    line.setLength(0);
+                    appendCsvField(line, graph.names[v]).append(',');
+                    if (parent[v] >= 0) appendCsvField(line, graph.names[parent[v]]);
+                    line.append(',')
+                        .append(length[v]).append(',')
+                        .append(resistance[v]).append(',')
+                        .append(loss[v]).append('\n');
+                    out.append(line);
+                }
+            }
+        }
+
+        // Biner little-endian: magic "PLNL", versi, n, feeder, jumlah baris, lalu per kolom
+        // int[count] id, int[count] parent, double[count] panjang, resistansi, loss; trailer CRC32.
+        // Nama gardu diambil dari snapshot graf (id sama).
+        public void writeBinary(File file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                GraphSnapshot.Writer out = new GraphSnapshot.Writer(channel);
+                out.putInt(TABLE_MAGIC);
+                out.putInt(TABLE_VERSION);
+                out.putInt(graph.nodeCount());
+                out.putInt(feeder);
+                out.putInt(count);
+                for (int i = 0; i < count; i++) out.putInt(order[i]);
+                for (int i = 0; i < count; i++) out.putInt(parent[order[i]]);
+                for (int i = 0; i < count; i++) out.putDouble(length[order[i]]);
+                for (int i = 0; i < count; i++) out.putDouble(resistance[order[i]]);
+                for (int i = 0; i < count; i++) out.putDouble(loss[order[i]]);
+                out.finish();
+            }
+        }
+    }
+}
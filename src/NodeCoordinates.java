@@ -0,0 +1,70 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+// Posisi gardu untuk heuristik A* (PathFinder.setCoordinates). Planar (x, y dalam satuan
+// bebas, mis. piksel peta) atau geografis (lintang, bujur dalam derajat; jarak great-circle).
+// Satuan tidak perlu sama dengan bobot edge: skalanya dikalibrasi dari edge graf
+// (lihat GoalDirectedSearch.Geometry).
+//
+// Format file, satu gardu per baris: Nama Gardu,x,y  (geografis: Nama Gardu,lintang,bujur)
+// Baris kosong dan baris yang diawali '#' diabaikan. Nama boleh memuat koma; dua field
+// terakhir selalu koordinat.
+public final class NodeCoordinates {
+
+    final boolean geographic;
+    final Map<String, double[]> points = new HashMap<>();
+
+    public NodeCoordinates(boolean geographic) {
+        this.geographic = geographic;
+    }
+
+    public static NodeCoordinates read(File file, boolean geographic) throws IOException {
+        NodeCoordinates coordinates = new NodeCoordinates(geographic);
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            int number = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                number++;
+                String entry = line.trim();
+                if (number == 1 && entry.startsWith("\uFEFF")) entry = entry.substring(1).trim(); // UTF-8 BOM
+                if (entry.isEmpty() || entry.startsWith("#")) continue;
+                int second = entry.lastIndexOf(',');
+                int first = second > 0 ? entry.lastIndexOf(',', second - 1) : -1;
+                try {
+                    if (first <= 0) throw new NumberFormatException();
+                    coordinates.put(entry.substring(0, first).trim(),
+                            Double.parseDouble(entry.substring(first + 1, second).trim()),
+                            Double.parseDouble(entry.substring(second + 1).trim()));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Baris " + number + " tidak valid: " + line);
+                }
+            }
+        }
+        return coordinates;
+    }
+
+    // Geografis: a = lintang, b = bujur (derajat)
+    public void put(String node, double a, double b) {
+        if (Double.isNaN(a) || Double.isNaN(b) || Double.isInfinite(a) || Double.isInfinite(b)) {
+            throw new IllegalArgumentException("Koordinat tidak valid untuk " + node);
+        }
+        if (geographic && (Math.abs(a) > 90 || Math.abs(b) > 180)) {
+            throw new IllegalArgumentException("Lintang/bujur di luar rentang untuk " + node);
+        }
+        points.put(node, new double[] { a, b });
+    }
+
+    NodeCoordinates copy() {
+        NodeCoordinates c = new NodeCoordinates(geographic);
+        c.points.putAll(points);
+        return c;
+    }
+
+    public int size() {
+        return points.size();
+    }
+}
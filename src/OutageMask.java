@@ -0,0 +1,80 @@
+import java.util.Arrays;
+
+// Bitset gangguan yang immutable: gardu padam (diindeks id vertex) atau saluran trip
+// (diindeks id edge CSR). Setiap perubahan menghasilkan salinan baru (copy-on-write),
+// sehingga pembaca yang sedang memakai mask lama tidak pernah melihat status campuran.
+// Mask yang diubah di tempat (replay) ada di ReplayMask dan tidak pernah dipublikasikan.
+public final class OutageMask {
+
+    public static final OutageMask EMPTY = new OutageMask(new long[0], 0);
+
+    private final long[] words;
+    private final int count;
+
+    private OutageMask(long[] words, int count) {
+        this.words = words;
+        this.count = count;
+    }
+
+    public boolean get(int id) {
+        int w = id >>> 6;
+        return w < words.length && (words[w] & (1L << id)) != 0;
+    }
+
+    // Jumlah gardu padam / saluran trip
+    public int count() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    // Salinan dengan status id diubah; mengembalikan this jika tidak ada perubahan
+    public OutageMask with(int id, boolean broken) {
+        if (get(id) == broken) return this;
+        int w = id >>> 6;
+        long[] copy = Arrays.copyOf(words, Math.max(words.length, w + 1));
+        if (broken) copy[w] |= 1L << id;
+        else copy[w] &= ~(1L << id);
+        int total = count + (broken ? 1 : -1);
+        return total == 0 ? EMPTY : new OutageMask(copy, total);
+    }
+
+    // Salinan dengan ids[0..count) diubah sekaligus (mis. skenario badai): paling banyak satu
+    // salinan array, O(jumlah word + count). Mengembalikan this jika tidak ada bit yang berubah,
+    // sehingga skenario yang diterapkan ulang tidak menaikkan versi GraphState.
+    public OutageMask withAll(int[] ids, int count, boolean broken) {
+        long[] copy = null;
+        int total = this.count;
+        for (int i = 0; i < count; i++) {
+            int id = ids[i];
+            int w = id >>> 6;
+            long[] current = copy == null ? words : copy;
+            if ((w < current.length && (current[w] & (1L << id)) != 0) == broken) continue;
+            if (copy == null) copy = Arrays.copyOf(words, Math.max(words.length, maxWord(ids, count) + 1));
+            copy[w] ^= 1L << id;
+            total += broken ? 1 : -1;
+        }
+        if (copy == null) return this;
+        return total == 0 ? EMPTY : new OutageMask(copy, total);
+    }
+
+    private static int maxWord(int[] ids, int count) {
+        int max = 0;
+        for (int i = 0; i < count; i++) max = Math.max(max, ids[i] >>> 6);
+        return max;
+    }
+
+    // Id padam/trip berikutnya mulai dari 'from', atau -1
+    public int nextBroken(int from) {
+        int w = from >>> 6;
+        if (w >= words.length) return -1;
+        long word = words[w] & (-1L << from);
+        while (true) {
+            if (word != 0) return w * 64 + Long.numberOfTrailingZeros(word);
+            if (++w == words.length) return -1;
+            word = words[w];
+        }
+    }
+}
@@ -0,0 +1,564 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Replay log gangguan bertimestamp (trip/restore gardu dan saluran) untuk merekonstruksi
+// gardu mana yang tidak tersuplai dan berapa lama. Log dibaca baris per baris; keterjangkauan
+// dari feeder dijaga DynamicReachability di atas mask privat, jadi setiap event hanya menyentuh
+// vertex di sekitar gangguan (bukan setNodeBroken + findShortestPath per event).
+// Status gangguan PathFinder sendiri tidak disentuh.
+//
+// Memori O(gardu + saluran), tidak bergantung panjang log: setiap interval padam dan setiap
+// jendela laporan bergulir langsung dikirim ke Listener, tidak disimpan.
+//
+// Format event, satu per baris (baris kosong dan baris '#' diabaikan):
+//   waktu,Gardu,TRIP|RESTORE
+//   waktu,Gardu Asal,Gardu Tujuan,TRIP|RESTORE   (semua saluran paralel asal -> tujuan)
+// waktu: epoch milidetik atau ISO-8601 (2024-03-01T10:15:30Z; tanpa zona dianggap UTC).
+// Energi tidak tersalurkan (ENS) diestimasi dengan beban per gardu dari Parameters.loadKw().
+public final class OutageReplay {
+
+    private static final long SUPPLIED = Long.MIN_VALUE; // since[v]: gardu tersuplai
+    private static final long NEVER = Long.MAX_VALUE;    // since[v]: tidak terjangkau bahkan tanpa gangguan
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+    private static final int MAX_MALFORMED_LINES = 20;
+
+    private OutageReplay() {
+    }
+
+    // Konstanta estimasi ENS dan laporan bergulir
+    public static final class Parameters {
+        public final LossAnalysis.Parameters loss; // jumlah fasa dan arus nominal per gardu
+        public final double voltage;               // kV antar fasa
+        public final double powerFactor;
+        public final long windowMillis;            // panjang jendela laporan, 0 = tanpa laporan
+
+        public Parameters(LossAnalysis.Parameters loss, double voltage, double powerFactor, long windowMillis) {
+            this.loss = loss;
+            this.voltage = voltage;
+            this.powerFactor = powerFactor;
+            this.windowMillis = windowMillis;
+        }
+
+        // Tegangan menengah 20 kV, cos phi 0,85, laporan per jam
+        public static Parameters defaults(LossAnalysis.Parameters loss) {
+            return new Parameters(loss, 20.0, 0.85, 3_600_000L);
+        }
+
+        // Beban satu gardu (kW): sqrt(fasa) * V * I * cos phi, dengan I arus nominal yang sama
+        // dengan perhitungan power loss
+        public double loadKw() {
+            return Math.sqrt(loss.phases) * voltage * loss.current * powerFactor;
+        }
+    }
+
+    // Penerima hasil replay; dipanggil dari thread yang menjalankan replay
+    public interface Listener {
+        // Satu periode gardu tidak tersuplai
+        void interval(Interval interval);
+
+        // Ringkasan satu jendela waktu (hanya jika windowMillis > 0)
+        default void window(Window window) {
+        }
+    }
+
+    // Gardu tidak tersuplai pada [start, end) (epoch ms)
+    public static final class Interval {
+        public final String node;
+        public final long start;
+        public final long end;
+        public final boolean ongoing; // belum pulih saat log berakhir (end = waktu event terakhir)
+        public final double energyNotSuppliedKwh;
+
+        Interval(String node, long start, long end, boolean ongoing, double energyNotSuppliedKwh) {
+            this.node = node;
+            this.start = start;
+            this.end = end;
+            this.ongoing = ongoing;
+            this.energyNotSuppliedKwh = energyNotSuppliedKwh;
+        }
+
+        public long durationMillis() {
+            return end - start;
+        }
+    }
+
+    // Ringkasan bergulir untuk [start, end)
+    public static final class Window {
+        public final long start;
+        public final long end;
+        public final int events;
+        public final int trips;
+        public final int restores;
+        public final int unsupplied;     // gardu tidak tersuplai di akhir jendela
+        public final int peakUnsupplied;
+        public final double energyNotSuppliedKwh;
+
+        Window(long start, long end, int events, int trips, int restores, int unsupplied, int peakUnsupplied,
+               double energyNotSuppliedKwh) {
+            this.start = start;
+            this.end = end;
+            this.events = events;
+            this.trips = trips;
+            this.restores = restores;
+            this.unsupplied = unsupplied;
+            this.peakUnsupplied = peakUnsupplied;
+            this.energyNotSuppliedKwh = energyNotSuppliedKwh;
+        }
+    }
+
+    // Statistik per gardu untuk peringkat di Report
+    public static final class NodeStats {
+        public final String node;
+        public final int interruptions;
+        public final long outageMillis;
+        public final double energyNotSuppliedKwh;
+
+        NodeStats(String node, int interruptions, long outageMillis, double energyNotSuppliedKwh) {
+            this.node = node;
+            this.interruptions = interruptions;
+            this.outageMillis = outageMillis;
+            this.energyNotSuppliedKwh = energyNotSuppliedKwh;
+        }
+    }
+
+    public static final class Report {
+        public long events;       // event yang diterapkan (termasuk yang tidak mengubah status)
+        public long unknown;      // gardu/saluran tidak dikenal
+        public long malformed;    // baris yang tidak bisa diparse
+        public long outOfOrder;   // timestamp mundur, diperlakukan sebagai waktu event sebelumnya
+        public long intervals;
+        public long firstTime;
+        public long lastTime;
+        public int neverSupplied; // tidak terjangkau dari feeder bahkan tanpa gangguan
+        public int unsuppliedAtEnd;
+        public int peakUnsupplied;
+        public long peakTime;
+        public long outageMillis;  // dijumlah atas semua gardu
+        public double energyNotSuppliedKwh;
+        public long elapsedNanos;
+        public final List<Long> malformedLines = new ArrayList<>(); // nomor baris (maks. 20 pertama)
+        public List<NodeStats> worst = Collections.emptyList();   // durasi padam terlama dulu
+
+        public double eventsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : events * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Replay %d event (%s s/d %s), %.0f event/s%n", events,
+                    events == 0 ? "-" : Instant.ofEpochMilli(firstTime), events == 0 ? "-" : Instant.ofEpochMilli(lastTime),
+                    eventsPerSecond()));
+            sb.append(String.format("Interval padam: %d, total %.2f jam-gardu, ENS %,.1f kWh%n",
+                    intervals, outageMillis / MILLIS_PER_HOUR, energyNotSuppliedKwh));
+            sb.append("Puncak tidak tersuplai: ").append(peakUnsupplied).append(" gardu");
+            if (peakUnsupplied > 0) sb.append(" (").append(Instant.ofEpochMilli(peakTime)).append(')');
+            sb.append("\nMasih padam di akhir log: ").append(unsuppliedAtEnd)
+              .append(", tanpa suplai sejak awal: ").append(neverSupplied).append('\n');
+            if (unknown > 0 || malformed > 0 || outOfOrder > 0) {
+                sb.append("Tidak dikenal: ").append(unknown).append(", tidak valid: ").append(malformed);
+                if (!malformedLines.isEmpty()) sb.append(" (baris ").append(malformedLines).append(')');
+                sb.append(", timestamp mundur: ").append(outOfOrder).append('\n');
+            }
+            for (int i = 0; i < worst.size(); i++) {
+                NodeStats s = worst.get(i);
+                sb.append(String.format("%d. %s%n   %d kali, %.2f jam, %,.1f kWh%n", i + 1, s.node,
+                        s.interruptions, s.outageMillis / MILLIS_PER_HOUR, s.energyNotSuppliedKwh));
+            }
+            return sb.toString();
+        }
+    }
+
+    // Satu replay penuh; memakai topologi g dan nama gardu dari owner
+    static Report replay(PathFinder owner, CsrGraph g, int[] feeders, BufferedReader in, Parameters p,
+                         Listener listener) throws IOException {
+        long t0 = System.nanoTime();
+        State state = new State(g, feeders, p, listener);
+        Report report = state.report;
+        String[] fields = new String[4];
+        long number = 0;
+        for (String line = in.readLine(); line != null; line = in.readLine()) {
+            number++;
+            if ((number & PathFinder.CANCEL_CHECK_MASK) == 0) PathFinder.checkCancelled();
+            if (line.isEmpty() || line.charAt(0) == '#') continue;
+            int count = split(line, fields);
+            long time;
+            boolean trip;
+            try {
+                if (count < 3 || count > 4) throw new IllegalArgumentException();
+                time = parseTime(fields[0]);
+                trip = parseAction(fields[count - 1]);
+            } catch (IllegalArgumentException | DateTimeException e) {
+                report.malformed++;
+                if (report.malformedLines.size() < MAX_MALFORMED_LINES) report.malformedLines.add(number);
+                continue;
+            }
+            int u = owner.getNodeId(fields[1]);
+            int v = count == 4 ? owner.getNodeId(fields[2]) : -1;
+            if (u < 0 || u >= g.nodeCount() || (count == 4 && !hasLine(g, u, v))) {
+                report.unknown++;
+                continue;
+            }
+            state.advance(time);
+            if (count == 3) state.node(u, trip);
+            else state.line(u, v, trip);
+        }
+        state.finish();
+        report.elapsedNanos = System.nanoTime() - t0;
+        return report;
+    }
+
+    // Status replay: mask privat, pohon dinamis dan akumulasi per gardu
+    private static final class State {
+        final CsrGraph graph;
+        final Listener listener;
+        final Report report = new Report();
+        final double loadKw;
+        final long windowMillis;
+        final ReplayMask nodes;
+        final ReplayMask lines;
+        final DynamicReachability tree;
+        final long[] since;         // awal padam, SUPPLIED atau NEVER
+        final int[] interruptions;
+        final long[] outageMillis;
+        int unsupplied;
+        long now = Long.MIN_VALUE;  // waktu event terakhir
+        double ensKwh;              // integral beban tak tersalurkan sampai now
+
+        // jendela laporan yang sedang berjalan
+        long windowStart;
+        int windowEvents;
+        int windowTrips;
+        int windowRestores;
+        int windowPeak;
+        double windowStartEns;
+
+        State(CsrGraph g, int[] feeders, Parameters p, Listener listener) {
+            this.graph = g;
+            this.listener = listener;
+            this.loadKw = p.loadKw();
+            this.windowMillis = p.windowMillis;
+            int n = g.nodeCount();
+            nodes = new ReplayMask(n);
+            lines = new ReplayMask(g.edgeCount());
+            tree = new DynamicReachability(g, feeders, nodes, lines);
+            since = new long[n];
+            interruptions = new int[n];
+            outageMillis = new long[n];
+            for (int v = 0; v < n; v++) {
+                if (tree.isReachable(v)) {
+                    since[v] = SUPPLIED;
+                } else {
+                    since[v] = NEVER;
+                    report.neverSupplied++;
+                }
+            }
+        }
+
+        // Majukan jam ke time: integrasikan ENS dan tutup jendela yang terlewati
+        void advance(long time) {
+            if (now == Long.MIN_VALUE) {
+                now = time;
+                report.firstTime = time;
+                windowStart = windowMillis > 0 ? Math.floorDiv(time, windowMillis) * windowMillis : time;
+            } else if (time < now) {
+                report.outOfOrder++;
+                time = now;
+            }
+            if (windowMillis > 0) {
+                while (time >= windowStart + windowMillis) {
+                    integrate(windowStart + windowMillis);
+                    emitWindow(windowStart + windowMillis);
+                }
+            }
+            integrate(time);
+            report.events++;
+            windowEvents++;
+        }
+
+        private void integrate(long time) {
+            ensKwh += unsupplied * loadKw * ((time - now) / MILLIS_PER_HOUR);
+            now = time;
+        }
+
+        private void emitWindow(long end) {
+            listener.window(new Window(windowStart, end, windowEvents, windowTrips, windowRestores, unsupplied,
+                    Math.max(windowPeak, unsupplied), ensKwh - windowStartEns));
+            windowStart = end;
+            windowEvents = windowTrips = windowRestores = 0;
+            windowPeak = unsupplied;
+            windowStartEns = ensKwh;
+        }
+
+        void node(int x, boolean trip) {
+            count(trip);
+            if (!nodes.set(x, trip)) return; // sudah dalam status itu
+            if (trip) tree.nodeBroken(x, nodes, lines);
+            else tree.nodeRestored(x, nodes, lines);
+            applyChanges();
+        }
+
+        void line(int u, int v, boolean trip) {
+            count(trip);
+            CsrGraph g = graph;
+            for (int e = g.offsets[u]; e < g.offsets[u + 1]; e++) {
+                if (g.targets[e] != v || !lines.set(e, trip)) continue;
+                if (trip) tree.lineBroken(e, nodes, lines);
+                else tree.lineRestored(e, nodes, lines);
+                applyChanges();
+            }
+        }
+
+        private void count(boolean trip) {
+            if (trip) windowTrips++;
+            else windowRestores++;
+        }
+
+        // Buka/tutup interval untuk vertex yang keterjangkauannya berbalik
+        private void applyChanges() {
+            for (int i = 0; i < tree.changedCount(); i++) {
+                int v = tree.changed(i);
+                if (since[v] == NEVER) continue;
+                if (tree.isReachable(v)) {
+                    close(v, false);
+                    unsupplied--;
+                } else {
+                    since[v] = now;
+                    unsupplied++;
+                }
+            }
+            if (unsupplied > windowPeak) windowPeak = unsupplied;
+            if (unsupplied > report.peakUnsupplied) {
+                report.peakUnsupplied = unsupplied;
+                report.peakTime = now;
+            }
+        }
+
+        private void close(int v, boolean ongoing) {
+            long start = since[v];
+            long duration = now - start;
+            double ens = loadKw * (duration / MILLIS_PER_HOUR);
+            since[v] = SUPPLIED;
+            interruptions[v]++;
+            outageMillis[v] += duration;
+            report.intervals++;
+            report.outageMillis += duration;
+            listener.interval(new Interval(graph.names[v], start, now, ongoing, ens));
+        }
+
+        // Akhir log: interval yang masih terbuka ditutup pada waktu event terakhir
+        void finish() {
+            if (now == Long.MIN_VALUE) return; // log kosong
+            report.lastTime = now;
+            report.unsuppliedAtEnd = unsupplied;
+            for (int v = 0; v < since.length; v++) {
+                if (since[v] != SUPPLIED && since[v] != NEVER) close(v, true);
+            }
+            if (windowMillis > 0) emitWindow(now);
+            report.energyNotSuppliedKwh = ensKwh;
+            report.worst = worst(10);
+        }
+
+        private List<NodeStats> worst(int limit) {
+            int[] top = new int[limit];
+            int size = 0;
+            for (int v = 0; v < outageMillis.length; v++) {
+                if (outageMillis[v] == 0) continue;
+                if (size == limit && outageMillis[v] <= outageMillis[top[limit - 1]]) continue;
+                int j = size < limit ? size++ : limit - 1;
+                while (j > 0 && outageMillis[top[j - 1]] < outageMillis[v]) {
+                    top[j] = top[j - 1];
+                    j--;
+                }
+                top[j] = v;
+            }
+            List<NodeStats> stats = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                int v = top[i];
+                stats.add(new NodeStats(graph.names[v], interruptions[v], outageMillis[v],
+                        loadKw * (outageMillis[v] / MILLIS_PER_HOUR)));
+            }
+            return stats;
+        }
+    }
+
+    private static boolean hasLine(CsrGraph g, int u, int v) {
+        if (v < 0 || v >= g.nodeCount()) return false;
+        for (int e = g.offsets[u]; e < g.offsets[u + 1]; e++) {
+            if (g.targets[e] == v) return true;
+        }
+        return false;
+    }
+
+    // Pisahkan field dengan ',' (maks. 4, spasi dibuang); jumlah field, atau 5 jika lebih
+    private static int split(String line, String[] fields) {
+        int count = 0;
+        int from = 0;
+        while (true) {
+            int comma = line.indexOf(',', from);
+            if (count == fields.length) return fields.length + 1;
+            fields[count++] = (comma < 0 ? line.substring(from) : line.substring(from, comma)).trim();
+            if (comma < 0) return count;
+            from = comma + 1;
+        }
+    }
+
+    private static boolean parseAction(String action) {
+        if (action.equalsIgnoreCase("TRIP")) return true;
+        if (action.equalsIgnoreCase("RESTORE")) return false;
+        throw new IllegalArgumentException("Aksi tidak dikenal: " + action);
+    }
+
+    // Epoch ms atau ISO-8601. Bentuk umum yyyy-MM-ddTHH:mm:ss[.SSS][Z] diparse langsung
+    // tanpa DateTimeFormatter (jalur panas untuk log besar); bentuk lain lewat java.time.
+    static long parseTime(String s) {
+        if (s.isEmpty()) throw new IllegalArgumentException("Waktu kosong");
+        if (isDigits(s, 0, s.length())) return Long.parseLong(s);
+        int len = s.length();
+        if (len >= 19 && s.charAt(4) == '-' && s.charAt(7) == '-' && (s.charAt(10) == 'T' || s.charAt(10) == ' ')
+                && s.charAt(13) == ':' && s.charAt(16) == ':'
+                && isDigits(s, 0, 4) && isDigits(s, 5, 7) && isDigits(s, 8, 10)
+                && isDigits(s, 11, 13) && isDigits(s, 14, 16) && isDigits(s, 17, 19)) {
+            int pos = 19;
+            int millis = 0;
+            if (pos < len && s.charAt(pos) == '.') {
+                int end = pos + 1;
+                while (end < len && Character.isDigit(s.charAt(end))) end++;
+                if (end > pos + 1) {
+                    String fraction = (s.substring(pos + 1, Math.min(end, pos + 4)) + "00").substring(0, 3);
+                    millis = Integer.parseInt(fraction);
+                    pos = end;
+                }
+            }
+            if (pos == len || (pos == len - 1 && s.charAt(pos) == 'Z')) {
+                long day;
+                try {
+                    day = LocalDate.of(Integer.parseInt(s.substring(0, 4)), Integer.parseInt(s.substring(5, 7)),
+                            Integer.parseInt(s.substring(8, 10))).toEpochDay();
+                } catch (DateTimeException e) {
+                    throw new IllegalArgumentException("Tanggal tidak valid: " + s, e);
+                }
+                long seconds = Integer.parseInt(s.substring(11, 13)) * 3600L
+                        + Integer.parseInt(s.substring(14, 16)) * 60L + Integer.parseInt(s.substring(17, 19));
+                if (seconds >= 86400) throw new IllegalArgumentException("Jam tidak valid: " + s);
+                return (day * 86400 + seconds) * 1000 + millis;
+            }
+        }
+        String iso = s.replace(' ', 'T');
+        int t = iso.indexOf('T');
+        boolean zoned = iso.endsWith("Z") || (t > 0 && (iso.indexOf('+', t) > 0 || iso.indexOf('-', t) > 0));
+        return zoned ? OffsetDateTime.parse(iso).toInstant().toEpochMilli()
+                : LocalDateTime.parse(iso).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static boolean isDigits(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return to > from;
+    }
+
+    // Listener yang menulis interval (dan jendela, jika writer-nya diberikan) sebagai CSV
+    public static final class CsvListener implements Listener, Closeable {
+        private final Writer intervals;
+        private final Writer windows;
+        private final StringBuilder line = new StringBuilder(128);
+
+        public CsvListener(Writer intervals, Writer windows) throws IOException {
+            this.intervals = intervals;
+            this.windows = windows;
+            intervals.write("gardu,mulai,selesai,durasi_menit,ens_kwh,berlanjut\n");
+            if (windows != null) {
+                windows.write("mulai,selesai,event,trip,restore,tidak_tersuplai,puncak,ens_kwh\n");
+            }
+        }
+
+        @Override
+        public void interval(Interval interval) {
+            line.setLength(0);
+            LossAnalysis.appendCsvField(line, interval.node).append(',')
+                .append(Instant.ofEpochMilli(interval.start)).append(',')
+                .append(Instant.ofEpochMilli(interval.end)).append(',')
+                .append(interval.durationMillis() / 60_000.0).append(',')
+                .append(interval.energyNotSuppliedKwh).append(',')
+                .append(interval.ongoing).append('\n');
+            write(intervals);
+        }
+
+        @Override
+        public void window(Window window) {
+            if (windows == null) return;
+            line.setLength(0);
+            line.append(Instant.ofEpochMilli(window.start)).append(',')
+                .append(Instant.ofEpochMilli(window.end)).append(',')
+                .append(window.events).append(',')
+                .append(window.trips).append(',')
+                .append(window.restores).append(',')
+                .append(window.unsupplied).append(',')
+                .append(window.peakUnsupplied).append(',')
+                .append(window.energyNotSuppliedKwh).append('\n');
+            write(windows);
+        }
+
+        private void write(Writer out) {
+            try {
+                out.append(line);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                intervals.close();
+            } finally {
+                if (windows != null) windows.close();
+            }
+        }
+    }
+
+    // java OutageReplay <data.txt> <event.csv|-> [feeder ...]
+    // Interval padam ke stdout (CSV), ringkasan ke stderr. Feeder default "PLN (V1)".
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Pemakaian: OutageReplay <data.txt> <event.csv|-> [feeder ...]");
+            System.exit(2);
+        }
+        PathFinder pathFinder = new PathFinder();
+        pathFinder.loadGraph(args[0]);
+        List<String> feeders = args.length > 2 ? Arrays.asList(args).subList(2, args.length)
+                : Collections.singletonList(RouteServer.FEEDER);
+        Parameters parameters = Parameters.defaults(LossAnalysis.Parameters.defaults());
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+        Report report;
+        try (CsvListener csv = new CsvListener(out, null)) {
+            if (args[1].equals("-")) {
+                report = pathFinder.replayOutages(new InputStreamReader(System.in, StandardCharsets.UTF_8),
+                        feeders, parameters, csv);
+            } else {
+                report = pathFinder.replayOutages(new File(args[1]), feeders, parameters, csv);
+            }
+        }
+        System.err.print(report);
+    }
+}
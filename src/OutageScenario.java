@@ -0,0 +1,59 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Skenario gangguan (mis. satu badai) untuk diterapkan sekaligus lewat
+// PathFinder.applyOutageScenario. Format file, satu entri per baris:
+//   Nama Gardu             -> gardu padam
+//   Gardu Asal,Gardu Tujuan -> saluran asal -> tujuan trip (semua saluran paralelnya)
+// Baris kosong dan baris yang diawali '#' diabaikan, spasi di awal/akhir field dibuang.
+public final class OutageScenario {
+
+    final List<String> nodes;
+    final List<String[]> lines; // {asal, tujuan}
+
+    public OutageScenario(List<String> nodes, List<String[]> lines) {
+        this.nodes = new ArrayList<>(nodes);
+        this.lines = new ArrayList<>(lines);
+    }
+
+    public static OutageScenario read(File file) throws IOException {
+        List<String> nodes = new ArrayList<>();
+        List<String[]> lines = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            int number = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                number++;
+                String entry = line.trim();
+                if (number == 1 && entry.startsWith("\uFEFF")) entry = entry.substring(1).trim(); // UTF-8 BOM
+                if (entry.isEmpty() || entry.startsWith("#")) continue;
+                String[] fields = entry.split(",", -1);
+                if (fields.length == 1) {
+                    nodes.add(entry);
+                } else if (fields.length == 2 && !fields[0].trim().isEmpty() && !fields[1].trim().isEmpty()) {
+                    lines.add(new String[] { fields[0].trim(), fields[1].trim() });
+                } else {
+                    throw new IOException("Baris " + number + " tidak valid: " + line);
+                }
+            }
+        }
+        return new OutageScenario(nodes, lines);
+    }
+
+    public List<String> nodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    public int lineCount() {
+        return lines.size();
+    }
+
+    public int size() {
+        return nodes.size() + lines.size();
+    }
+}
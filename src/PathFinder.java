@@ -1,82 +1,683 @@
 import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import javax.management.JMException;
+import javax.management.ObjectName;
 
+// Thread-safe: query membaca satu GraphState (topologi beku + mask gardu/saluran + versi)
+// dari AtomicReference tanpa lock. Semua perubahan diserialkan lewat writeLock dan
+// dipublikasikan sebagai GraphState baru, sehingga satu query tidak pernah
+// mencampur dua status gangguan.
 public class PathFinder {
-    
-    // Struktur data Edge
-    static class Edge {
-        String destination;
-        double weight;
 
-        public Edge(String destination, double weight) {
-            this.destination = destination;
-            this.weight = weight;
+    // Snapshot immutable yang dibaca oleh setiap query
+    public static final class GraphState {
+        public final CsrGraph graph;
+        public final OutageMask broken;
+        public final OutageMask brokenLines; // saluran trip, diindeks id edge CSR graf ini
+        public final long version; // naik pada setiap perubahan topologi atau gangguan
+
+        GraphState(CsrGraph graph, OutageMask broken, OutageMask brokenLines, long version) {
+            this.graph = graph;
+            this.broken = broken;
+            this.brokenLines = brokenLines;
+            this.version = version;
         }
     }
 
-    // Struktur data Node untuk PriorityQueue
-    static class Node implements Comparable<Node> {
-        String id;
-        double distance;
+    private final Object writeLock = new Object();
+    private final AtomicReference<GraphState> state = new AtomicReference<>(
+            new GraphState(CsrGraph.build(new String[0], new int[0], new int[0], new double[0], 0), OutageMask.EMPTY,
+                    OutageMask.EMPTY, 0));
 
-        public Node(String id, double distance) {
-            this.id = id;
-            this.distance = distance;
+    // Graph Data (builder, hanya disentuh di bawah writeLock): tabel nama -> id dan edge mentah
+    private final Map<String, Integer> nodeIds = new ConcurrentHashMap<>();
+    private List<String> nodeNames = new ArrayList<>();
+    // Nama gardu terurut untuk combo box dan /vertices, diisi bersamaan dengan nodeIds
+    private final VertexCatalog catalog = new VertexCatalog();
+    private int[] edgeSrc = new int[16];
+    private int[] edgeDst = new int[16];
+    private double[] edgeWeight = new double[16];
+    // Atribut saluran r/I per edge; null sampai ada edge pertama yang memakainya (NaN = default)
+    private double[] edgeResistance;
+    private double[] edgeCurrent;
+    private int edgeCount = 0; // jika edgeSrc == null, edge masih hanya ada di graf hasil snapshot
+    private volatile boolean topologyDirty = false; // ada edge/vertex baru yang belum dibekukan
+    // Contraction Hierarchies opsional; hanya dipakai selama graf belum berubah
+    private volatile ContractionHierarchy hierarchy;
+    // Pencarian terarah opsional (GoalDirectedSearch): koordinat gardu untuk A* dan tabel
+    // landmark untuk ALT. Geometry dibangun ulang saat graf atau koordinat diganti.
+    private volatile NodeCoordinates coordinates;
+    private volatile GoalDirectedSearch.Geometry geometry;
+    private volatile Landmarks landmarks;
+    // Pohon jalur terpendek yang dijaga hidup untuk root terpilih (mis. feeder "PLN (V1)")
+    private final Map<Integer, DynamicShortestPathTree> trackedTrees = new ConcurrentHashMap<>();
+    // Hutan multi-feeder untuk zona suplai (opsional), diperbaiki bersama pohon di atas
+    private volatile DynamicShortestPathTree zoneTree;
+    private static final int ZONE_BUILD_ATTEMPTS = 4; // percobaan di luar lock (lihat trackSupplyZones)
+    // Cache LRU pohon single-source (opsional)
+    private volatile ShortestPathCache resultCache;
+    // Instrumentation opsional (JMX); null = mati, query tidak mengukur waktu sama sekali
+    private volatile PathFinderMetrics metrics;
+
+    public void addEdge(String source, String destination, double weight) {
+        synchronized (writeLock) {
+            addEdge(internNode(source), internNode(destination), weight);
         }
+    }
 
-        @Override
-        public int compareTo(Node other) {
-            return Double.compare(this.distance, other.distance);
+    // Saluran dengan resistansi (Ohm/km) dan arus (A) sendiri; NaN = pakai default perhitungan loss
+    public void addEdge(String source, String destination, double weight, double resistance, double current) {
+        synchronized (writeLock) {
+            addEdge(internNode(source), internNode(destination), weight, resistance, current);
         }
     }
 
-    // Graph Data
-    private Map<String, List<Edge>> adjList = new HashMap<>();
-    // Set untuk menyimpan Node yang rusak/padam
-    private Set<String> brokenNodes = new HashSet<>();
+    // Edge berdasarkan id (dipakai loader agar tidak membuat String per baris).
+    // Pemanggil harus memegang writeLock.
+    void addEdge(int u, int v, double weight) {
+        if (edgeSrc == null) thawEdges();
+        if (edgeCount == edgeSrc.length) {
+            int cap = edgeCount * 2;
+            edgeSrc = Arrays.copyOf(edgeSrc, cap);
+            edgeDst = Arrays.copyOf(edgeDst, cap);
+            edgeWeight = Arrays.copyOf(edgeWeight, cap);
+            if (edgeResistance != null) {
+                edgeResistance = Arrays.copyOf(edgeResistance, cap);
+                edgeCurrent = Arrays.copyOf(edgeCurrent, cap);
+            }
+        }
+        edgeSrc[edgeCount] = u;
+        edgeDst[edgeCount] = v;
+        edgeWeight[edgeCount] = weight;
+        if (edgeResistance != null) {
+            edgeResistance[edgeCount] = Double.NaN;
+            edgeCurrent[edgeCount] = Double.NaN;
+        }
+        edgeCount++;
+        topologyDirty = true;
+    }
 
-    public void addEdge(String source, String destination, double weight) {
-        adjList.putIfAbsent(source, new ArrayList<>());
-        adjList.putIfAbsent(destination, new ArrayList<>());
-        adjList.get(source).add(new Edge(destination, weight));
+    // Edge dengan atribut saluran: resistansi (Ohm/km) dan arus (A); NaN = pakai default.
+    // Pemanggil harus memegang writeLock.
+    void addEdge(int u, int v, double weight, double resistance, double current) {
+        addEdge(u, v, weight);
+        if (edgeResistance == null) {
+            edgeResistance = new double[edgeSrc.length];
+            edgeCurrent = new double[edgeSrc.length];
+            Arrays.fill(edgeResistance, Double.NaN);
+            Arrays.fill(edgeCurrent, Double.NaN);
+        }
+        edgeResistance[edgeCount - 1] = resistance;
+        edgeCurrent[edgeCount - 1] = current;
+    }
+
+    // Mengembalikan id vertex, mendaftarkan nama baru bila belum ada (di bawah writeLock)
+    int internNode(String name) {
+        Integer id = nodeIds.get(name);
+        if (id == null) {
+            if (edgeSrc == null) thawEdges();
+            id = nodeNames.size();
+            nodeNames.add(name);
+            nodeIds.put(name, id);
+            catalog.add(name);
+            topologyDirty = true;
+        }
+        return id;
+    }
+
+    // -1 jika nama tidak dikenal
+    public int getNodeId(String name) {
+        if (name == null) return -1;
+        Integer id = nodeIds.get(name);
+        return id == null ? -1 : id;
     }
 
-    // Membaca data dari file eksternal
-    public void loadGraphFromFile(String fileName) throws IOException {
+    // Membaca data dari file eksternal (memory-mapped, lihat EdgeListLoader)
+    public EdgeListLoader.LoadReport loadGraphFromFile(String fileName) throws IOException {
         File file = new File(fileName);
         if (!file.exists()) {
             throw new FileNotFoundException("File tidak ditemukan: " + fileName);
         }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                // Mengabaikan baris yang berisi metadata "" yang mungkin muncul tidak sengaja di data.txt
-                if (line.trim().startsWith("[") || line.trim().isEmpty()) continue;
+        PathFinderEvents.Load event = new PathFinderEvents.Load();
+        event.begin();
+        long t0 = System.nanoTime();
+        EdgeListLoader.LoadReport report;
+        synchronized (writeLock) {
+            report = EdgeListLoader.load(file, this);
+            topologyDirty = true;
+        }
+        recordLoad(event, fileName, false, report, System.nanoTime() - t0);
+        return report;
+    }
 
-                String[] parts = line.split(",");
-                if (parts.length == 3) {
-                    addEdge(parts[0].trim(), parts[1].trim(), Double.parseDouble(parts[2].trim()));
-                }
+    // Memuat graf dari file teks, memakai snapshot biner "<file>.bin" jika masih lebih baru.
+    // Jika snapshot tidak ada/kadaluarsa/rusak, file teks diparse dan snapshot ditulis ulang.
+    public EdgeListLoader.LoadReport loadGraph(String fileName) throws IOException {
+        File text = new File(fileName);
+        File snapshot = new File(fileName + ".bin");
+        if (snapshot.exists() && (!text.exists() || snapshot.lastModified() >= text.lastModified())) {
+            try {
+                return loadSnapshot(snapshot.getPath());
+            } catch (IOException e) {
+                // snapshot rusak atau versi lama: jatuh ke parser teks
             }
         }
+
+        EdgeListLoader.LoadReport report = loadGraphFromFile(fileName);
+        try {
+            exportSnapshot(snapshot.getPath());
+        } catch (IOException e) {
+            // gagal menulis cache snapshot tidak menghalangi pemakaian graf
+        }
+        return report;
+    }
+
+    public void exportSnapshot(String fileName) throws IOException {
+        GraphSnapshot.write(getGraph(), new File(fileName));
+    }
+
+    // Mengganti seluruh graf dengan isi snapshot biner
+    public EdgeListLoader.LoadReport loadSnapshot(String fileName) throws IOException {
+        PathFinderEvents.Load event = new PathFinderEvents.Load();
+        event.begin();
+        long t0 = System.nanoTime();
+        CsrGraph loaded = GraphSnapshot.read(new File(fileName));
+
+        synchronized (writeLock) {
+            nodeIds.clear();
+            for (int v = 0; v < loaded.nodeCount(); v++) nodeIds.put(loaded.names[v], v);
+            nodeNames = new ArrayList<>(Arrays.asList(loaded.names));
+            catalog.reset(loaded.names);
+            edgeSrc = null; // array builder baru dibuat jika ada addEdge setelah ini
+            edgeDst = null;
+            edgeWeight = null;
+            edgeResistance = null;
+            edgeCurrent = null;
+            edgeCount = loaded.edgeCount();
+            topologyDirty = false;
+            trackedTrees.clear();
+            zoneTree = null; // id gardu berubah, zona harus dilacak ulang
+            state.set(new GraphState(loaded, OutageMask.EMPTY, OutageMask.EMPTY, state.get().version + 1));
+        }
+
+        EdgeListLoader.LoadReport report = new EdgeListLoader.LoadReport();
+        report.edges = loaded.edgeCount();
+        recordLoad(event, fileName, true, report, System.nanoTime() - t0);
+        return report;
+    }
+
+    private void recordLoad(PathFinderEvents.Load event, String fileName, boolean snapshot,
+                            EdgeListLoader.LoadReport report, long nanos) {
+        PathFinderMetrics m = metrics;
+        if (m != null) m.recordLoad(report, nanos);
+        if (event.shouldCommit()) {
+            event.file = fileName;
+            event.snapshot = snapshot;
+            event.lines = report.lines;
+            event.edges = report.edges;
+            event.malformed = report.malformed;
+            event.commit();
+        }
+    }
+
+    // Salin edge dari graf beku kembali ke array builder
+    private void thawEdges() {
+        CsrGraph g = state.get().graph;
+        int cap = Math.max(16, edgeCount);
+        edgeSrc = new int[cap];
+        edgeDst = Arrays.copyOf(g.targets, cap);
+        edgeWeight = Arrays.copyOf(g.weights, cap);
+        edgeResistance = g.resistance == null ? null : Arrays.copyOf(g.resistance, cap);
+        edgeCurrent = g.current == null ? null : Arrays.copyOf(g.current, cap);
+        for (int u = 0; u < g.nodeCount(); u++) {
+            Arrays.fill(edgeSrc, g.offsets[u], g.offsets[u + 1], u);
+        }
     }
 
-    // Manajemen Node Rusak
+    // Manajemen Node Rusak: publikasikan mask baru, lalu perbaiki pohon yang dilacak
     public void setNodeBroken(String nodeId, boolean isBroken) {
-        if (isBroken) {
-            brokenNodes.add(nodeId);
-        } else {
-            brokenNodes.remove(nodeId);
+        synchronized (writeLock) {
+            GraphState st = snapshot();
+            int id = getNodeId(nodeId);
+            if (id < 0 || id >= st.graph.nodeCount()) return; // gardu tidak ada di graf
+            OutageMask mask = st.broken.with(id, isBroken);
+            if (mask == st.broken) return;
+            GraphState next = new GraphState(st.graph, mask, st.brokenLines, st.version + 1);
+            state.set(next);
+
+            // Perbaiki hanya subtree yang terdampak
+            for (DynamicShortestPathTree tree : maintainedTrees()) {
+                synchronized (tree) {
+                    if (isBroken) tree.nodeBroken(id, mask, next.brokenLines);
+                    else tree.nodeRestored(id, mask, next.brokenLines);
+                    tree.version = next.version;
+                }
+            }
+        }
+    }
+
+    // Trip / pulihkan saluran source -> destination (semua edge paralel di antara keduanya).
+    // Saluran dua arah di file data adalah dua edge; masing-masing arah di-trip sendiri.
+    public void setLineBroken(String source, String destination, boolean isBroken) {
+        synchronized (writeLock) {
+            GraphState st = snapshot();
+            CsrGraph g = st.graph;
+            int u = getNodeId(source);
+            int v = getNodeId(destination);
+            if (u < 0 || v < 0 || u >= g.nodeCount() || v >= g.nodeCount()) return;
+            OutageMask lines = st.brokenLines;
+            for (int e = g.offsets[u]; e < g.offsets[u + 1]; e++) {
+                if (g.targets[e] == v) lines = lines.with(e, isBroken);
+            }
+            if (lines == st.brokenLines) return; // tidak ada saluran atau status sudah sama
+            GraphState next = new GraphState(g, st.broken, lines, st.version + 1);
+            state.set(next);
+
+            for (DynamicShortestPathTree tree : maintainedTrees()) {
+                synchronized (tree) {
+                    for (int e = g.offsets[u]; e < g.offsets[u + 1]; e++) {
+                        if (g.targets[e] != v) continue;
+                        if (isBroken) tree.lineBroken(e, next.broken, lines);
+                        else tree.lineRestored(e, next.broken, lines);
+                    }
+                    tree.version = next.version;
+                }
+            }
+        }
+    }
+
+    // true jika ada saluran source -> destination dan semuanya trip
+    public boolean isLineBroken(String source, String destination) {
+        GraphState st = snapshot();
+        CsrGraph g = st.graph;
+        int u = getNodeId(source);
+        int v = getNodeId(destination);
+        if (u < 0 || v < 0 || u >= g.nodeCount() || v >= g.nodeCount()) return false;
+        boolean found = false;
+        for (int e = g.offsets[u]; e < g.offsets[u + 1]; e++) {
+            if (g.targets[e] != v) continue;
+            if (!st.brokenLines.get(e)) return false;
+            found = true;
+        }
+        return found;
+    }
+
+    // Terapkan (broken = true) atau cabut seluruh skenario sekaligus: satu salinan per mask,
+    // satu versi baru, lalu pohon yang dilacak dibangun ulang sekali (bukan per entri).
+    // Mengembalikan entri skenario yang gardu/salurannya tidak ada di graf.
+    public List<String> applyOutageScenario(OutageScenario scenario, boolean broken) {
+        synchronized (writeLock) {
+            GraphState st = snapshot();
+            CsrGraph g = st.graph;
+            List<String> unknown = new ArrayList<>();
+            int[] nodes = new int[scenario.nodes.size()];
+            int nodeCount = 0;
+            for (String name : scenario.nodes) {
+                int id = getNodeId(name);
+                if (id < 0 || id >= g.nodeCount()) unknown.add(name);
+                else nodes[nodeCount++] = id;
+            }
+            int[] lines = new int[16];
+            int lineCount = 0;
+            for (String[] line : scenario.lines) {
+                int u = getNodeId(line[0]);
+                int v = getNodeId(line[1]);
+                boolean found = false;
+                if (u >= 0 && v >= 0 && u < g.nodeCount() && v < g.nodeCount()) {
+                    for (int e = g.offsets[u]; e < g.offsets[u + 1]; e++) {
+                        if (g.targets[e] != v) continue;
+                        if (lineCount == lines.length) lines = Arrays.copyOf(lines, lineCount * 2);
+                        lines[lineCount++] = e;
+                        found = true;
+                    }
+                }
+                if (!found) unknown.add(line[0] + "," + line[1]);
+            }
+            publishOutages(st, st.broken.withAll(nodes, nodeCount, broken),
+                    st.brokenLines.withAll(lines, lineCount, broken));
+            return unknown;
+        }
+    }
+
+    // Pulihkan semua gardu dan saluran
+    public void clearAllOutages() {
+        synchronized (writeLock) {
+            publishOutages(snapshot(), OutageMask.EMPTY, OutageMask.EMPTY);
+        }
+    }
+
+    // Di bawah writeLock: publikasikan mask baru dan bangun ulang pohon yang dilacak
+    private void publishOutages(GraphState st, OutageMask broken, OutageMask lines) {
+        if (broken == st.broken && lines == st.brokenLines) return;
+        GraphState next = new GraphState(st.graph, broken, lines, st.version + 1);
+        state.set(next);
+        for (DynamicShortestPathTree tree : maintainedTrees()) {
+            synchronized (tree) {
+                tree.rebuild(next.graph, broken, lines);
+                tree.version = next.version;
+            }
         }
     }
 
     public boolean isNodeBroken(String nodeId) {
-        return brokenNodes.contains(nodeId);
+        int id = getNodeId(nodeId);
+        return id >= 0 && state.get().broken.get(id);
     }
-    
-    public Map<String, List<Edge>> getGraphMap() {
-        return adjList;
+
+    public boolean isNodeBroken(int id) {
+        return state.get().broken.get(id);
+    }
+
+    public long getVersion() {
+        return snapshot().version;
+    }
+
+    // GraphState terakhir yang dipublikasikan, tanpa membekukan topologi (untuk metrik)
+    GraphState currentState() {
+        return state.get();
+    }
+
+    // Snapshot konsisten saat ini; topologi yang berubah dibekukan dulu bila perlu
+    public GraphState snapshot() {
+        if (topologyDirty) {
+            synchronized (writeLock) {
+                if (topologyDirty) freeze();
+            }
+        }
+        return state.get();
+    }
+
+    // Graf CSR beku; dibangun ulang hanya jika ada perubahan topologi
+    public CsrGraph getGraph() {
+        return snapshot().graph;
+    }
+
+    // Di bawah writeLock: bekukan builder menjadi CSR baru dan bangun ulang pohon yang dilacak
+    private void freeze() {
+        GraphState st = state.get();
+        CsrGraph g = CsrGraph.build(nodeNames.toArray(new String[0]), edgeSrc, edgeDst, edgeWeight,
+                edgeResistance, edgeCurrent, edgeCount);
+        GraphState next = new GraphState(g, st.broken, remapLines(st.graph, g, st.brokenLines), st.version + 1);
+        for (DynamicShortestPathTree tree : maintainedTrees()) {
+            synchronized (tree) {
+                tree.rebuild(g, next.broken, next.brokenLines);
+                tree.version = next.version;
+            }
+        }
+        state.set(next);
+        topologyDirty = false;
+    }
+
+    // Id edge CSR bergeser saat graf dibekukan ulang. Edge hanya ditambah dan build stabil,
+    // jadi edge ke-k milik u di graf lama tetap edge ke-k milik u di graf baru.
+    private static OutageMask remapLines(CsrGraph old, CsrGraph g, OutageMask lines) {
+        if (lines.isEmpty()) return lines;
+        int[] ids = new int[lines.count()];
+        int count = 0;
+        for (int e = lines.nextBroken(0); e >= 0; e = lines.nextBroken(e + 1)) {
+            int u = old.source(e);
+            ids[count++] = g.offsets[u] + (e - old.offsets[u]);
+        }
+        return OutageMask.EMPTY.withAll(ids, count, true);
+    }
+
+    // Preprocessing CH untuk topologi saat ini (panggil ulang setelah topologi berubah)
+    public void prepareContractionHierarchy() {
+        hierarchy = ContractionHierarchy.build(getGraph());
+    }
+
+    public boolean hasContractionHierarchy() {
+        ContractionHierarchy ch = hierarchy;
+        return ch != null && ch.graph == getGraph();
+    }
+
+    // Koordinat gardu untuk heuristik A* (null = matikan). Disalin, jadi perubahan
+    // NodeCoordinates setelah ini tidak berpengaruh. A* hanya dipakai jika setiap gardu punya koordinat.
+    public void setCoordinates(NodeCoordinates coordinates) {
+        this.coordinates = coordinates == null ? null : coordinates.copy();
+        this.geometry = null;
+    }
+
+    public boolean hasCoordinateHeuristic() {
+        return geometry(getGraph()) != null;
+    }
+
+    // Preprocessing ALT untuk topologi saat ini: 2 * count Dijkstra penuh (panggil ulang setelah topologi berubah)
+    public void prepareLandmarks(int count) {
+        landmarks = Landmarks.select(getGraph(), count);
+    }
+
+    public boolean hasLandmarks() {
+        Landmarks alt = landmarks;
+        return alt != null && alt.graph == getGraph();
+    }
+
+    public void exportLandmarks(String fileName) throws IOException {
+        Landmarks alt = landmarks;
+        if (alt == null || alt.graph != getGraph()) {
+            throw new IllegalStateException("Landmark belum disiapkan untuk graf saat ini");
+        }
+        alt.write(new File(fileName));
+    }
+
+    // IOException jika file rusak atau dibuat untuk topologi/bobot lain
+    public void loadLandmarks(String fileName) throws IOException {
+        landmarks = Landmarks.read(new File(fileName), getGraph());
+    }
+
+    // Muat tabel landmark jika masih cocok dengan graf, jika tidak hitung ulang lalu simpan
+    public void loadOrPrepareLandmarks(String fileName, int count) {
+        try {
+            loadLandmarks(fileName);
+            if (landmarks.count() == Math.min(count, getGraph().nodeCount())) return;
+        } catch (IOException e) {
+            // belum ada atau basi
+        }
+        prepareLandmarks(count);
+        try {
+            exportLandmarks(fileName);
+        } catch (IOException e) {
+            // gagal menyimpan tidak menghalangi pemakaian tabel
+        }
+    }
+
+    private GoalDirectedSearch.Geometry geometry(CsrGraph g) {
+        NodeCoordinates c = coordinates;
+        if (c == null) return null;
+        GoalDirectedSearch.Geometry geo = geometry;
+        if (geo == null || geo.graph != g || geo.source != c) {
+            geo = GoalDirectedSearch.Geometry.build(g, c);
+            geometry = geo;
+        }
+        return geo.complete ? geo : null;
+    }
+
+    // Mode SSSP dinamis: query dari root ini menjadi penelusuran parent O(panjang jalur)
+    public void trackRoot(String root) {
+        synchronized (writeLock) {
+            GraphState st = snapshot();
+            int id = getNodeId(root);
+            if (id < 0 || id >= st.graph.nodeCount() || trackedTrees.containsKey(id)) return;
+            DynamicShortestPathTree tree = new DynamicShortestPathTree(st.graph, id, st.broken, st.brokenLines);
+            tree.version = st.version;
+            trackedTrees.put(id, tree);
+        }
+    }
+
+    public void untrackRoot(String root) {
+        trackedTrees.remove(getNodeId(root));
+    }
+
+    // Pohon yang ikut diperbaiki pada setiap perubahan (dipanggil di bawah writeLock)
+    private List<DynamicShortestPathTree> maintainedTrees() {
+        List<DynamicShortestPathTree> trees = new ArrayList<>(trackedTrees.values());
+        DynamicShortestPathTree zones = zoneTree;
+        if (zones != null) trees.add(zones);
+        return trees;
+    }
+
+    // Zona suplai sekali hitung: satu Dijkstra dengan semua feeder sebagai source
+    public SupplyZones computeSupplyZones(Collection<String> feeders) {
+        GraphState st = snapshot();
+        DynamicShortestPathTree forest = new DynamicShortestPathTree(st.graph, feederIds(st, feeders), st.broken,
+                st.brokenLines);
+        forest.version = st.version;
+        return forest.supplyZones();
+    }
+
+    // Zona suplai yang dijaga hidup: setNodeBroken hanya memperbaiki subtree terdampak,
+    // termasuk saat feeder sendiri padam (gardunya pindah ke feeder tetangga).
+    // Hutan dibangun dari snapshot di luar writeLock agar setNodeBroken dkk. tidak ikut
+    // menunggu Dijkstra penuh; dipasang hanya jika snapshot itu masih versi terbaru, jika
+    // tidak dibangun ulang. Setelah ZONE_BUILD_ATTEMPTS kali kalah balapan, dibangun di bawah lock.
+    public void trackSupplyZones(Collection<String> feeders) {
+        for (int attempt = 1; attempt < ZONE_BUILD_ATTEMPTS; attempt++) {
+            GraphState st = snapshot();
+            DynamicShortestPathTree forest = new DynamicShortestPathTree(st.graph, feederIds(st, feeders), st.broken,
+                    st.brokenLines);
+            forest.version = st.version;
+            synchronized (writeLock) {
+                if (!topologyDirty && state.get().version == st.version) {
+                    zoneTree = forest;
+                    return;
+                }
+            }
+        }
+        synchronized (writeLock) {
+            GraphState st = snapshot();
+            DynamicShortestPathTree forest = new DynamicShortestPathTree(st.graph, feederIds(st, feeders), st.broken,
+                    st.brokenLines);
+            forest.version = st.version;
+            zoneTree = forest;
+        }
+    }
+
+    public void untrackSupplyZones() {
+        zoneTree = null;
+    }
+
+    // Zona pada versi terbaru; null jika trackSupplyZones belum dipanggil
+    public SupplyZones getSupplyZones() {
+        snapshot(); // perubahan topologi yang tertunda ikut membangun ulang hutan zona
+        DynamicShortestPathTree forest = zoneTree;
+        if (forest == null) return null;
+        synchronized (forest) {
+            return forest.supplyZones();
+        }
+    }
+
+    private int[] feederIds(GraphState st, Collection<String> feeders) {
+        int[] ids = new int[feeders.size()];
+        int count = 0;
+        for (String feeder : feeders) {
+            int id = getNodeId(feeder);
+            if (id < 0 || id >= st.graph.nodeCount()) {
+                throw new IllegalArgumentException("Feeder tidak dikenal: " + feeder);
+            }
+            boolean duplicate = false;
+            for (int i = 0; i < count; i++) duplicate |= ids[i] == id;
+            if (!duplicate) ids[count++] = id;
+        }
+        if (count == 0) throw new IllegalArgumentException("Minimal satu feeder");
+        return Arrays.copyOf(ids, count);
+    }
+
+    // Replay log gangguan di atas topologi saat ini (lihat OutageReplay); status gangguan
+    // PathFinder tidak disentuh. Log dibaca bertahap, hasil dikirim ke listener.
+    public OutageReplay.Report replayOutages(File events, Collection<String> feeders,
+                                             OutageReplay.Parameters parameters,
+                                             OutageReplay.Listener listener) throws IOException {
+        try (Reader in = new InputStreamReader(new FileInputStream(events), StandardCharsets.UTF_8)) {
+            return replayOutages(in, feeders, parameters, listener);
+        }
+    }
+
+    public OutageReplay.Report replayOutages(Reader events, Collection<String> feeders,
+                                             OutageReplay.Parameters parameters,
+                                             OutageReplay.Listener listener) throws IOException {
+        GraphState st = snapshot();
+        int[] roots = feederIds(st, feeders);
+        BufferedReader in = events instanceof BufferedReader ? (BufferedReader) events
+                : new BufferedReader(events, 1 << 16);
+        return OutageReplay.replay(this, st.graph, roots, in, parameters, listener);
+    }
+
+    // Cache pohon single-source dengan anggaran memori (byte); 0 untuk mematikan.
+    // Hanya diisi oleh query yang jatuh ke Dijkstra (tanpa CH/A*/ALT atau rute CH kena gangguan).
+    public void enableResultCache(long budgetBytes) {
+        resultCache = budgetBytes > 0 ? new ShortestPathCache(budgetBytes) : null;
+    }
+
+    public ShortestPathCache getResultCache() {
+        return resultCache;
+    }
+
+    // Aktifkan agregasi metrik query/load (idempoten). Event JFR tidak bergantung pada ini.
+    public PathFinderMetrics enableMetrics() {
+        synchronized (writeLock) {
+            if (metrics == null) metrics = new PathFinderMetrics(this);
+            return metrics;
+        }
+    }
+
+    public void disableMetrics() {
+        metrics = null;
+    }
+
+    public PathFinderMetrics getMetrics() {
+        return metrics;
+    }
+
+    // Aktifkan metrik dan daftarkan ke platform MBeanServer sebagai pathfinder:type=PathFinder,name=<name>
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName = new ObjectName("pathfinder:type=PathFinder,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(enableMetrics(), objectName);
+        return objectName;
+    }
+
+    // Analisis N-1 dari feeder pada snapshot saat ini (lihat ContingencyAnalysis).
+    // parameters: default r/I untuk saluran tanpa atribut, dipakai menghitung tambahan power loss.
+    public ContingencyAnalysis.Report analyzeContingencies(String feeder, LossAnalysis.Parameters parameters) {
+        GraphState st = snapshot();
+        int s = getNodeId(feeder);
+        if (s < 0 || s >= st.graph.nodeCount() || st.broken.get(s)) {
+            throw new IllegalArgumentException("Feeder tidak dikenal atau padam: " + feeder);
+        }
+        return ContingencyAnalysis.analyze(st, s, parameters, ForkJoinPool.commonPool());
+    }
+
+    // Panjang, resistansi dan power loss dari feeder ke setiap gardu (lihat LossAnalysis)
+    public LossAnalysis.Table computeLosses(String feeder, LossAnalysis.Parameters parameters) {
+        GraphState st = snapshot();
+        int s = getNodeId(feeder);
+        if (s < 0 || s >= st.graph.nodeCount() || st.broken.get(s)) {
+            throw new IllegalArgumentException("Feeder tidak dikenal atau padam: " + feeder);
+        }
+        return LossAnalysis.compute(st, s, parameters);
+    }
+
+    // Total loss untuk jalur hasil findShortestPath, memakai atribut r/I per saluran
+    // (saluran paralel yang trip tidak dipakai selama masih ada yang hidup)
+    public LossAnalysis.Totals routeLoss(List<String> path, LossAnalysis.Parameters parameters) {
+        GraphState st = snapshot();
+        CsrGraph g = st.graph;
+        int[] nodes = new int[path.size()];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = getNodeId(path.get(i));
+            if (nodes[i] < 0 || nodes[i] >= g.nodeCount()) {
+                throw new IllegalArgumentException("Gardu tidak dikenal: " + path.get(i));
+            }
+        }
+        return LossAnalysis.pathTotals(g, nodes, parameters, st.brokenLines);
     }
 
     // --- ALGORITMA DIJKSTRA ---
@@ -86,109 +687,371 @@ public class PathFinder {
         return findShortestPath(start, end, false); // Default: Jangan abaikan kerusakan
     }
 
-    // Core Algorithm: Dijkstra Biasa 
+    // Rute terpendek: route() memilih strategi termurah yang sah untuk snapshot ini,
+    // berurutan pohon terlacak, cache, CH, A*/ALT, lalu Dijkstra biasa.
+    // Tanpa metrik dan tanpa rekaman JFR, langsung ke route() tanpa nanoTime atau statistik.
     public PathResult findShortestPath(String start, String end, boolean ignoreBroken) {
+        PathFinderMetrics m = metrics;
+        PathFinderEvents.Search event = new PathFinderEvents.Search();
+        if (m == null && !event.isEnabled()) {
+            return route(start, end, ignoreBroken, null);
+        }
+
+        event.begin();
+        long t0 = System.nanoTime();
+        SearchScratch stats = SearchScratch.current();
+        stats.clearStats();
+        PathResult result = route(start, end, ignoreBroken, stats);
+        long nanos = System.nanoTime() - t0;
+        boolean found = !result.path.isEmpty();
+        if (m != null) m.recordQuery(stats, found, nanos);
+        if (event.shouldCommit()) {
+            event.start = start;
+            event.end = end;
+            event.strategy = PathFinderMetrics.STRATEGY_NAMES[stats.strategy];
+            event.ignoreBroken = ignoreBroken;
+            event.found = found;
+            event.cost = result.totalCost;
+            event.nodesSettled = stats.settledCount;
+            event.edgesRelaxed = stats.relaxedCount;
+            event.heapPushes = stats.pushCount;
+            event.brokenSkips = stats.brokenSkips;
+            event.commit();
+        }
+        return result;
+    }
+
+    // stats != null: catat strategi yang menjawab (penghitung diisi oleh search())
+    private PathResult route(String start, String end, boolean ignoreBroken, SearchScratch stats) {
+        GraphState st = snapshot(); // seluruh query memakai snapshot yang sama
+        CsrGraph g = st.graph;
+        int s = getNodeId(start);
+        int t = getNodeId(end);
+        if (s < 0 || t < 0 || s >= g.nodeCount() || t >= g.nodeCount()) {
+            return new PathResult(new ArrayList<>(), 0.0);
+        }
         // Jika mode normal (tidak ignoreBroken), cek apakah start/end sendiri yang rusak
-        if (!ignoreBroken && (brokenNodes.contains(start) || brokenNodes.contains(end))) {
+        OutageMask broken = ignoreBroken ? OutageMask.EMPTY : st.broken;
+        OutageMask lines = ignoreBroken ? OutageMask.EMPTY : st.brokenLines;
+        if (broken.get(s) || broken.get(t)) {
             return new PathResult(new ArrayList<>(), 0.0);
         }
 
-        PriorityQueue<Node> pq = new PriorityQueue<>(); // queue node berdasar jarak terkecil
-        Map<String, Double> distances = new HashMap<>(); // menyimpan jarak terpendek ke setiap vertex
-        Map<String, String> previous = new HashMap<>(); // menyimpan vertex sebelumnya
-        Set<String> visited = new HashSet<>(); // yg sudah dikunjungi akan disimpan
-
-        // Inisialisasi jarak infinity
-        for (String v : adjList.keySet()) {
-            distances.put(v, Double.MAX_VALUE); // set jarak awal infinity
-        }
-
-        distances.put(start, 0.0);
-        pq.add(new Node(start, 0.0));
-
-        while (!pq.isEmpty()) {  // loop utama
-            Node current = pq.poll(); // ambil dan hapus node dengan jarak terkecil dari queue
-            String currentId = current.id;
-            
-            if (visited.contains(currentId)) continue; // lanjut jika sudah dikunjungi
-            visited.add(currentId);
-            
-            if (adjList.containsKey(currentId)) { // loop untuk semua adjency
-                for (Edge edge : adjList.get(currentId)) {
-                    
-                    // Cek apakah ada node rusak? (Kecuali kita sedang mode diagnosa/ignoreBroken)
-                    if (!ignoreBroken && brokenNodes.contains(edge.destination)) {
-                        continue; 
+        DynamicShortestPathTree tree = ignoreBroken ? null : trackedTrees.get(s);
+        if (tree != null) {
+            synchronized (tree) {
+                // hanya dipakai jika pohon mencerminkan snapshot yang sama
+                if (tree.graph == g && tree.version == st.version) {
+                    if (stats != null) stats.strategy = PathFinderMetrics.TREE;
+                    int[] nodes = tree.pathTo(t);
+                    if (nodes == null) {
+                        return new PathResult(new ArrayList<>(), 0.0);
                     }
+                    return new PathResult(namesOf(g, nodes), tree.distance(t));
+                }
+            }
+        }
 
-                    if (!visited.contains(edge.destination)) {
-                        double newDist = distances.get(currentId) + edge.weight;
-                        if (newDist < distances.get(edge.destination)) {
-                            distances.put(edge.destination, newDist);
-                            previous.put(edge.destination, currentId);
-                            pq.add(new Node(edge.destination, newDist));
-                        }
-                    }
+        // Source yang sudah pernah dihitung pada versi ini dijawab tanpa pencarian.
+        // Miss tidak langsung menghitung pohon penuh: CH dan A*/ALT (early exit) jauh lebih murah,
+        // jadi pohon baru hanya dibangun di tahap Dijkstra di bawah.
+        ShortestPathCache cache = resultCache;
+        if (cache != null) {
+            ShortestPathCache.Tree cached = cache.get(s, ignoreBroken, st.version);
+            if (cached != null) {
+                if (stats != null) stats.strategy = PathFinderMetrics.CACHE;
+                return pathFromTree(g, cached, t);
+            }
+        }
+
+        // Jalur CH adalah jalur terpendek graf utuh; jika tidak melewati gardu padam atau
+        // saluran trip, jalur itu juga terpendek untuk graf dengan gangguan. Selain itu, fallback ke Dijkstra.
+        ContractionHierarchy ch = hierarchy;
+        if (ch != null && ch.graph == g) {
+            if (stats != null) stats.strategy = PathFinderMetrics.CH;
+            ContractionHierarchy.Route route = ch.query(s, t);
+            if (route == null) {
+                return new PathResult(new ArrayList<>(), 0.0);
+            }
+            if (!touchesBroken(broken, route.nodes) && !usesBrokenLine(g, lines, route.nodes)) {
+                return new PathResult(namesOf(g, route.nodes), route.cost);
+            }
+        }
+        // Batas bawah A*/ALT berasal dari graf utuh, jadi tetap sah saat ada gangguan
+        GoalDirectedSearch.Geometry geo = geometry(g);
+        Landmarks alt = landmarks;
+        if (alt != null && alt.graph != g) alt = null;
+        if (geo != null || alt != null) {
+            if (stats != null) stats.strategy = alt != null ? PathFinderMetrics.ALT : PathFinderMetrics.ASTAR;
+            return goalDirected(g, broken, lines, s, t, geo, alt);
+        }
+        if (stats != null) stats.strategy = PathFinderMetrics.DIJKSTRA;
+        if (cache != null) {
+            // Tanpa early exit: pohon penuh disimpan agar query berikutnya dari source ini jadi hit
+            ShortestPathCache.Tree computed = computeTree(g, broken, lines, s);
+            cache.put(s, ignoreBroken, st.version, computed);
+            return pathFromTree(g, computed, t);
+        }
+        return dijkstra(g, broken, lines, s, t);
+    }
+
+    private static PathResult pathFromTree(CsrGraph g, ShortestPathCache.Tree tree, int t) {
+        if (tree.dist[t] == Double.MAX_VALUE) {
+            return new PathResult(new ArrayList<>(), 0.0);
+        }
+        return new PathResult(buildPath(g, tree.prev, t), tree.dist[t]);
+    }
+
+    // Hingga k jalur alternatif tanpa loop, urut dari biaya terkecil (yang pertama = rute utama)
+    public List<PathResult> findKShortestPaths(String start, String end, int k) {
+        return findKShortestPaths(start, end, k, false);
+    }
+
+    public List<PathResult> findKShortestPaths(String start, String end, int k, boolean ignoreBroken) {
+        GraphState st = snapshot();
+        CsrGraph g = st.graph;
+        int s = getNodeId(start);
+        int t = getNodeId(end);
+        List<PathResult> results = new ArrayList<>();
+        if (s < 0 || t < 0 || s >= g.nodeCount() || t >= g.nodeCount()) return results;
+
+        OutageMask broken = ignoreBroken ? OutageMask.EMPTY : st.broken;
+        OutageMask lines = ignoreBroken ? OutageMask.EMPTY : st.brokenLines;
+        for (KShortestPaths.Path p : KShortestPaths.find(g, broken, lines, s, t, k)) {
+            results.add(new PathResult(namesOf(g, p.nodes), p.cost()));
+        }
+        return results;
+    }
+
+    private static PathResult dijkstra(CsrGraph g, OutageMask broken, OutageMask lines, int s, int t) {
+        // jarak, predecessor dan heap decrease-key dipakai ulang per thread
+        SearchScratch scratch = SearchScratch.acquire(g.nodeCount());
+        search(g, broken, lines, scratch, s, t);
+
+        // Jika tujuan tidak pernah settled, berarti tidak ada jalur
+        if (!scratch.isSettled(t)) {
+            return new PathResult(new ArrayList<>(), 0.0);
+        }
+        return new PathResult(buildPath(g, scratch, t), scratch.distance(t));
+    }
+
+    private static PathResult goalDirected(CsrGraph g, OutageMask broken, OutageMask lines, int s, int t,
+                                           GoalDirectedSearch.Geometry geo, Landmarks alt) {
+        SearchScratch scratch = SearchScratch.acquire(g.nodeCount());
+        GoalDirectedSearch.search(g, broken, lines, scratch, s, t, geo, alt);
+        if (!scratch.isSettled(t)) {
+            return new PathResult(new ArrayList<>(), 0.0);
+        }
+        return new PathResult(buildPath(g, scratch, t), scratch.distance(t));
+    }
+
+    // Pohon single-source lengkap (tanpa early exit), untuk disimpan di cache
+    // Pada graf hasil reverse(), lines tetap diindeks id edge graf asli.
+    static ShortestPathCache.Tree computeTree(CsrGraph g, OutageMask broken, OutageMask lines, int s) {
+        int n = g.nodeCount();
+        SearchScratch scratch = SearchScratch.acquire(n);
+        search(g, broken, lines, scratch, s, -1);
+        double[] dist = new double[n];
+        int[] prev = new int[n];
+        scratch.exportTo(dist, prev, n);
+        return new ShortestPathCache.Tree(g, dist, prev);
+    }
+
+    // Loop utama Dijkstra; t = -1 berarti jelajahi semua vertex yang terjangkau.
+    // broken/lines = OutageMask.EMPTY untuk mode diagnosa (kerusakan diabaikan).
+    private static void search(CsrGraph g, OutageMask broken, OutageMask lines, SearchScratch scratch, int s, int t) {
+        scratch.relax(s, 0.0, -1);
+        // Tanpa saluran trip, cek mask saluran dilewati sama sekali (flag invariant, JIT meng-unswitch loop)
+        boolean checkLines = !lines.isEmpty();
+        int[] lineIds = g.forwardEdge; // null kecuali pada graf terbalik
+
+        int settled = 0;
+        int relaxed = 0;
+        int skipped = 0;
+        while (!scratch.isEmpty()) {  // loop utama
+            int u = scratch.pollMin(); // ambil node dengan jarak terkecil, otomatis settled
+            settled++;
+            if (u == t) break; // tujuan sudah pasti, tidak perlu menjelajah sisa graf
+            if ((settled & CANCEL_CHECK_MASK) == 0) checkCancelled();
+            double du = scratch.distance(u);
+
+            for (int e = g.offsets[u], stop = g.offsets[u + 1]; e < stop; e++) { // loop untuk semua adjency
+                int v = g.targets[e];
+
+                // Cek apakah ada node rusak atau saluran trip?
+                if (broken.get(v) || (checkLines && lines.get(lineIds == null ? e : lineIds[e]))) {
+                    skipped++;
+                    continue; 
                 }
+                relaxed++;
+                scratch.relax(v, du + g.weights[e], u); // insert atau decrease-key
             }
         }
+        // statistik untuk instrumentation; heap push dihitung scratch sendiri
+        scratch.settledCount = settled;
+        scratch.relaxedCount = relaxed;
+        scratch.brokenSkips = skipped;
+    }
 
-        // Rekonstruksi Jalur (Backtracking dari End ke Start)
-        List<String> path = new ArrayList<>();
-        
-        // Jika jarak ke tujuan masih MAX_VALUE, berarti tidak ada jalur
-        if (distances.get(end) == null || distances.get(end) == Double.MAX_VALUE) {
-            return new PathResult(path, 0.0);
+    // Hook pembatalan kooperatif: loop pencarian memeriksa interrupt thread setiap
+    // CANCEL_CHECK_MASK + 1 vertex, sehingga Future.cancel(true) menghentikan query panjang.
+    static final int CANCEL_CHECK_MASK = 1023;
+
+    static void checkCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Pencarian dibatalkan");
         }
+    }
+
+    // --- BATCH QUERY ---
+
+    // Ukuran potongan untuk batch dari Stream (membatasi memori untuk stream yang panjang)
+    static final int STREAM_CHUNK = 16_384;
 
-        String curr = end;
-        while (curr != null) {
-            path.add(0, curr);
-            curr = previous.get(curr);
+    // Stream dibaca per potongan STREAM_CHUNK query, bukan dikumpulkan seluruhnya; semua potongan
+    // memakai snapshot yang sama. Source yang muncul di beberapa potongan dihitung ulang per potongan.
+    public void findShortestPaths(Stream<RouteQuery> queries, boolean ignoreBroken,
+                                  BiConsumer<RouteQuery, PathResult> sink) {
+        GraphState st = snapshot();
+        List<RouteQuery> chunk = new ArrayList<>();
+        Iterator<RouteQuery> it = queries.iterator();
+        while (it.hasNext()) {
+            chunk.add(it.next());
+            if (chunk.size() == STREAM_CHUNK || !it.hasNext()) {
+                findShortestPaths(st, chunk, ignoreBroken, sink, ForkJoinPool.commonPool());
+                chunk.clear();
+            }
         }
-        
-        // Validasi: Jalur harus dimulai dari start (menangani kasus graph terputus total)
-        if (!path.isEmpty() && !path.get(0).equals(start)) {
-             return new PathResult(new ArrayList<>(), 0.0);
+    }
+
+    public void findShortestPaths(Collection<RouteQuery> queries, boolean ignoreBroken,
+                                  BiConsumer<RouteQuery, PathResult> sink) {
+        findShortestPaths(queries, ignoreBroken, sink, ForkJoinPool.commonPool());
+    }
+
+    // Banyak pasangan start/end sekaligus: dikelompokkan per source, satu SSSP per source
+    // dijalankan paralel di pool. Hasil dikirim ke sink (dari thread pool) begitu selesai,
+    // jadi sink harus thread-safe. Semua query membaca snapshot graf & gangguan yang sama.
+    public void findShortestPaths(Collection<RouteQuery> queries, boolean ignoreBroken,
+                                  BiConsumer<RouteQuery, PathResult> sink, ForkJoinPool pool) {
+        findShortestPaths(snapshot(), queries, ignoreBroken, sink, pool);
+    }
+
+    private void findShortestPaths(GraphState st, Collection<RouteQuery> queries, boolean ignoreBroken,
+                                   BiConsumer<RouteQuery, PathResult> sink, ForkJoinPool pool) {
+        CsrGraph g = st.graph;
+        OutageMask broken = ignoreBroken ? OutageMask.EMPTY : st.broken;
+        OutageMask lines = ignoreBroken ? OutageMask.EMPTY : st.brokenLines;
+
+        Map<Integer, SourceGroup> bySource = new HashMap<>();
+        for (RouteQuery q : queries) {
+            int s = getNodeId(q.start);
+            int t = getNodeId(q.end);
+            if (s < 0 || t < 0 || s >= g.nodeCount() || t >= g.nodeCount() || broken.get(s) || broken.get(t)) {
+                sink.accept(q, new PathResult(new ArrayList<>(), 0.0));
+                continue;
+            }
+            bySource.computeIfAbsent(s, SourceGroup::new).add(q, t);
         }
 
-        return new PathResult(path, distances.get(end));
+        pool.submit(() -> bySource.values().parallelStream().forEach(group -> {
+            if (group.size == 1) { // satu tujuan: cukup pencarian dengan early exit
+                sink.accept(group.queries.get(0), dijkstra(g, broken, lines, group.source, group.targets[0]));
+                return;
+            }
+            ShortestPathCache.Tree tree = computeTree(g, broken, lines, group.source);
+            for (int i = 0; i < group.size; i++) {
+                int t = group.targets[i];
+                if (tree.dist[t] == Double.MAX_VALUE) {
+                    sink.accept(group.queries.get(i), new PathResult(new ArrayList<>(), 0.0));
+                } else {
+                    sink.accept(group.queries.get(i), new PathResult(buildPath(g, tree.prev, t), tree.dist[t]));
+                }
+            }
+        })).join();
     }
 
-    // --- ALGORITMA MERGE SORT ---
-    // Untuk mengurutkan nama vertex secara alfabetis (A-Z)
-    public List<String> getSortedVertexNames() {
-        List<String> vertices = new ArrayList<>(adjList.keySet());
-        mergeSort(vertices, 0, vertices.size() - 1);
-        return vertices;
+    // Query batch yang berbagi source yang sama
+    private static class SourceGroup {
+        final int source;
+        final List<RouteQuery> queries = new ArrayList<>();
+        int[] targets = new int[4];
+        int size = 0;
+
+        SourceGroup(int source) {
+            this.source = source;
+        }
+
+        void add(RouteQuery q, int target) {
+            if (size == targets.length) targets = Arrays.copyOf(targets, size * 2);
+            queries.add(q);
+            targets[size++] = target;
+        }
     }
 
-    private void mergeSort(List<String> list, int left, int right) {
-        if (left < right) {
-            int mid = (left + right) / 2;
-            mergeSort(list, left, mid);
-            mergeSort(list, mid + 1, right);
-            merge(list, left, mid, right);
+    private static boolean touchesBroken(OutageMask broken, int[] nodes) {
+        if (broken.isEmpty()) return false;
+        for (int v : nodes) {
+            if (broken.get(v)) return true;
         }
+        return false;
+    }
+
+    // Konservatif: true jika ada edge u -> v pada jalur yang trip, walau saluran paralelnya hidup
+    private static boolean usesBrokenLine(CsrGraph g, OutageMask lines, int[] nodes) {
+        if (lines.isEmpty()) return false;
+        for (int i = 1; i < nodes.length; i++) {
+            int u = nodes[i - 1];
+            for (int e = g.offsets[u]; e < g.offsets[u + 1]; e++) {
+                if (g.targets[e] == nodes[i] && lines.get(e)) return true;
+            }
+        }
+        return false;
+    }
+
+    static List<String> namesOf(CsrGraph g, int[] nodes) {
+        List<String> path = new ArrayList<>(nodes.length);
+        for (int v : nodes) path.add(g.names[v]);
+        return path;
+    }
+
+    // Rekonstruksi Jalur (Backtracking dari End ke Start), id diterjemahkan ke nama di sini
+    static List<String> buildPath(CsrGraph g, int[] previous, int end) {
+        int steps = 0;
+        for (int v = end; v != -1; v = previous[v]) steps++;
+        String[] path = new String[steps];
+        for (int v = end; v != -1; v = previous[v]) path[--steps] = g.names[v];
+        return new ArrayList<>(Arrays.asList(path));
+    }
+
+    static List<String> buildPath(CsrGraph g, SearchScratch scratch, int end) {
+        int steps = 0;
+        for (int v = end; v != -1; v = scratch.previous(v)) steps++;
+        String[] path = new String[steps];
+        for (int v = end; v != -1; v = scratch.previous(v)) path[--steps] = g.names[v];
+        return new ArrayList<>(Arrays.asList(path));
+    }
+
+    // Nama vertex terurut alfabetis (A-Z). Snapshot read-only dari VertexCatalog: O(1) jika
+    // tidak ada gardu baru sejak pemanggilan terakhir.
+    public List<String> getSortedVertexNames() {
+        return catalog.names();
+    }
+
+    // Indeks nama gardu untuk pencarian prefix/substring (combo box, /vertices?q=)
+    public VertexCatalog getVertexCatalog() {
+        return catalog;
     }
 
-    // algoritma merge
-    private void merge(List<String> list, int left, int mid, int right) {
-        int n1 = mid - left + 1;
-        int n2 = right - mid;
-        List<String> L = new ArrayList<>();
-        List<String> R = new ArrayList<>();
-        for (int i = 0; i < n1; ++i) L.add(list.get(left + i));
-        for (int j = 0; j < n2; ++j) R.add(list.get(mid + 1 + j));
+    // Pasangan start/end untuk batch query
+    public static class RouteQuery {
+        public final String start;
+        public final String end;
 
-        int i = 0, j = 0, k = left;
-        while (i < n1 && j < n2) {
-            if (L.get(i).compareTo(R.get(j)) <= 0) { list.set(k, L.get(i)); i++; } 
-            else { list.set(k, R.get(j)); j++; }
-            k++;
+        public RouteQuery(String start, String end) {
+            this.start = start;
+            this.end = end;
         }
-        while (i < n1) { list.set(k, L.get(i)); i++; k++; }
-        while (j < n2) { list.set(k, R.get(j)); j++; k++; }
     }
 
     // Helper class untuk return hasil
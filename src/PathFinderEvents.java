@@ -0,0 +1,75 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Event JFR PathFinder. Selama JFR tidak merekam event ini, begin/commit tidak melakukan
+// apa-apa dan objek event dihilangkan oleh escape analysis, jadi biayanya mendekati nol.
+// Rekam dengan: java -XX:StartFlightRecording=settings=profile,filename=rute.jfr ...
+final class PathFinderEvents {
+
+    private PathFinderEvents() {
+    }
+
+    @Name("pathfinder.Search")
+    @Label("Pencarian Rute")
+    @Category("PathFinder")
+    @Description("Satu panggilan findShortestPath beserta statistik Dijkstra-nya")
+    @StackTrace(false)
+    static final class Search extends Event {
+        @Label("Start")
+        String start;
+
+        @Label("End")
+        String end;
+
+        @Label("Strategi")
+        @Description("rejected, tree, cache, ch, dijkstra, astar atau alt")
+        String strategy;
+
+        @Label("Abaikan Gangguan")
+        boolean ignoreBroken;
+
+        @Label("Ditemukan")
+        boolean found;
+
+        @Label("Jarak (km)")
+        double cost;
+
+        @Label("Node Settled")
+        int nodesSettled;
+
+        @Label("Edge Relaxed")
+        int edgesRelaxed;
+
+        @Label("Heap Push")
+        int heapPushes;
+
+        @Label("Gardu Padam Dilewati")
+        int brokenSkips;
+    }
+
+    @Name("pathfinder.Load")
+    @Label("Muat Graf")
+    @Category("PathFinder")
+    @Description("Pemuatan graf dari file teks atau snapshot biner")
+    @StackTrace(false)
+    static final class Load extends Event {
+        @Label("File")
+        String file;
+
+        @Label("Snapshot")
+        boolean snapshot;
+
+        @Label("Baris")
+        long lines;
+
+        @Label("Edge")
+        long edges;
+
+        @Label("Baris Rusak")
+        long malformed;
+    }
+}
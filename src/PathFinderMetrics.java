@@ -0,0 +1,220 @@
+import java.util.concurrent.atomic.LongAdder;
+
+// Agregat instrumentation PathFinder, diekspos lewat JMX (PathFinderMetricsMBean).
+// Hanya ada setelah PathFinder.enableMetrics(); selama null, query tidak mengukur apa pun.
+// Jalur rekam tidak mengalokasi: LongAdder dan LatencyHistogram dengan bucket tetap.
+public final class PathFinderMetrics implements PathFinderMetricsMBean {
+
+    // Strategi yang menjawab query (SearchScratch.strategy)
+    static final int REJECTED = 0;
+    static final int TREE = 1;
+    static final int CACHE = 2;
+    static final int CH = 3;
+    static final int DIJKSTRA = 4;
+    static final int ASTAR = 5; // A* dengan heuristik koordinat saja
+    static final int ALT = 6;   // A* dengan tabel landmark (plus koordinat jika ada)
+    static final String[] STRATEGY_NAMES = { "rejected", "tree", "cache", "ch", "dijkstra", "astar", "alt" };
+
+    private final PathFinder owner;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder[] byStrategy = new LongAdder[STRATEGY_NAMES.length];
+    private final LongAdder notFound = new LongAdder();
+    private final LongAdder nodesSettled = new LongAdder();
+    private final LongAdder edgesRelaxed = new LongAdder();
+    private final LongAdder heapPushes = new LongAdder();
+    private final LongAdder brokenSkips = new LongAdder();
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private volatile long lastLoadNanos;
+    private volatile long lastLoadEdges;
+    private volatile long lastLoadMalformed;
+
+    PathFinderMetrics(PathFinder owner) {
+        this.owner = owner;
+        for (int i = 0; i < byStrategy.length; i++) byStrategy[i] = new LongAdder();
+    }
+
+    void recordQuery(SearchScratch stats, boolean found, long nanos) {
+        byStrategy[stats.strategy].increment();
+        if (!found) notFound.increment();
+        nodesSettled.add(stats.settledCount);
+        edgesRelaxed.add(stats.relaxedCount);
+        heapPushes.add(stats.pushCount);
+        brokenSkips.add(stats.brokenSkips);
+        latency.record(nanos);
+    }
+
+    void recordLoad(EdgeListLoader.LoadReport report, long nanos) {
+        loads.increment();
+        loadNanos.add(nanos);
+        lastLoadNanos = nanos;
+        lastLoadEdges = report.edges;
+        lastLoadMalformed = report.malformed;
+    }
+
+    @Override
+    public long getQueryCount() {
+        long total = 0;
+        for (LongAdder a : byStrategy) total += a.sum();
+        return total;
+    }
+
+    @Override
+    public long getRejectedQueries() {
+        return byStrategy[REJECTED].sum();
+    }
+
+    @Override
+    public long getTreeQueries() {
+        return byStrategy[TREE].sum();
+    }
+
+    @Override
+    public long getCacheQueries() {
+        return byStrategy[CACHE].sum();
+    }
+
+    @Override
+    public long getContractionHierarchyQueries() {
+        return byStrategy[CH].sum();
+    }
+
+    @Override
+    public long getDijkstraQueries() {
+        return byStrategy[DIJKSTRA].sum();
+    }
+
+    @Override
+    public long getAStarQueries() {
+        return byStrategy[ASTAR].sum();
+    }
+
+    @Override
+    public long getLandmarkQueries() {
+        return byStrategy[ALT].sum();
+    }
+
+    @Override
+    public long getNotFoundQueries() {
+        return notFound.sum();
+    }
+
+    @Override
+    public long getNodesSettled() {
+        return nodesSettled.sum();
+    }
+
+    @Override
+    public long getEdgesRelaxed() {
+        return edgesRelaxed.sum();
+    }
+
+    @Override
+    public long getHeapPushes() {
+        return heapPushes.sum();
+    }
+
+    @Override
+    public long getBrokenSkips() {
+        return brokenSkips.sum();
+    }
+
+    @Override
+    public double getLatencyMeanMicros() {
+        return latency.mean() / 1e3;
+    }
+
+    @Override
+    public double getLatencyP50Micros() {
+        return latency.percentile(50) / 1e3;
+    }
+
+    @Override
+    public double getLatencyP90Micros() {
+        return latency.percentile(90) / 1e3;
+    }
+
+    @Override
+    public double getLatencyP99Micros() {
+        return latency.percentile(99) / 1e3;
+    }
+
+    @Override
+    public double getLatencyP999Micros() {
+        return latency.percentile(99.9) / 1e3;
+    }
+
+    @Override
+    public double getLatencyMaxMicros() {
+        return latency.max() / 1e3;
+    }
+
+    @Override
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    @Override
+    public double getLastLoadMillis() {
+        return lastLoadNanos / 1e6;
+    }
+
+    @Override
+    public double getTotalLoadMillis() {
+        return loadNanos.sum() / 1e6;
+    }
+
+    @Override
+    public long getLastLoadEdges() {
+        return lastLoadEdges;
+    }
+
+    @Override
+    public long getLastLoadMalformed() {
+        return lastLoadMalformed;
+    }
+
+    // Atribut di bawah membaca GraphState terakhir yang dipublikasikan (tanpa freeze)
+    @Override
+    public int getOutageCount() {
+        return owner.currentState().broken.count();
+    }
+
+    @Override
+    public int getLineOutageCount() {
+        return owner.currentState().brokenLines.count();
+    }
+
+    @Override
+    public int getNodeCount() {
+        return owner.currentState().graph.nodeCount();
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return owner.currentState().graph.edgeCount();
+    }
+
+    @Override
+    public long getGraphVersion() {
+        return owner.currentState().version;
+    }
+
+    // Statistik query dan load dinolkan; status graf tidak terpengaruh
+    @Override
+    public void reset() {
+        for (LongAdder a : byStrategy) a.reset();
+        notFound.reset();
+        nodesSettled.reset();
+        edgesRelaxed.reset();
+        heapPushes.reset();
+        brokenSkips.reset();
+        latency.reset();
+        loads.reset();
+        loadNanos.reset();
+        lastLoadNanos = 0;
+        lastLoadEdges = 0;
+        lastLoadMalformed = 0;
+    }
+}
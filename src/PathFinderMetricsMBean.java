@@ -0,0 +1,63 @@
+// Atribut JMX PathFinder (lihat PathFinderMetrics). Latensi dalam mikrodetik.
+public interface PathFinderMetricsMBean {
+
+    long getQueryCount();
+
+    long getRejectedQueries();  // nama tidak dikenal atau start/end padam
+
+    long getTreeQueries();      // dijawab pohon SSSP dinamis
+
+    long getCacheQueries();     // dijawab cache pohon single-source
+
+    long getContractionHierarchyQueries();
+
+    long getDijkstraQueries();
+
+    long getAStarQueries();     // A* dengan heuristik koordinat
+
+    long getLandmarkQueries();  // A* dengan landmark (ALT)
+
+    long getNotFoundQueries();  // tidak ada jalur
+
+    long getNodesSettled();
+
+    long getEdgesRelaxed();
+
+    long getHeapPushes();
+
+    long getBrokenSkips();
+
+    double getLatencyMeanMicros();
+
+    double getLatencyP50Micros();
+
+    double getLatencyP90Micros();
+
+    double getLatencyP99Micros();
+
+    double getLatencyP999Micros();
+
+    double getLatencyMaxMicros();
+
+    long getLoadCount();
+
+    double getLastLoadMillis();
+
+    double getTotalLoadMillis();
+
+    long getLastLoadEdges();
+
+    long getLastLoadMalformed();
+
+    int getOutageCount();
+
+    int getLineOutageCount();
+
+    int getNodeCount();
+
+    int getEdgeCount();
+
+    long getGraphVersion();
+
+    void reset();
+}
@@ -0,0 +1,23 @@
+// Bitset gangguan yang diubah di tempat, tanpa salinan per perubahan: gardu padam atau
+// saluran trip pada replay log gangguan. Hanya untuk pemilik tunggal (OutageReplay) yang
+// tidak pernah mempublikasikannya; mask di GraphState adalah OutageMask yang immutable.
+final class ReplayMask {
+
+    private final long[] words;
+
+    // Kosong, berkapasitas id [0, size)
+    ReplayMask(int size) {
+        this.words = new long[(size + 63) >>> 6];
+    }
+
+    boolean get(int id) {
+        return (words[id >>> 6] & (1L << id)) != 0;
+    }
+
+    // Ubah status id di tempat; true jika status berubah
+    boolean set(int id, boolean broken) {
+        if (get(id) == broken) return false;
+        words[id >>> 6] ^= 1L << id;
+        return true;
+    }
+}
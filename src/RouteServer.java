@@ -0,0 +1,454 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+
+// Mode server tanpa UI untuk integrasi SCADA: HTTP/1.1 (com.sun.net.httpserver) di atas satu
+// PathFinder bersama. Koneksi keep-alive dan request pipelined dilayani berurutan per koneksi;
+// setiap respons memakai Content-Length agar koneksi bisa dipakai ulang.
+//
+//   GET  /route?start=..&end=..[&ignoreBroken=true]  jalur terpendek + power loss
+//   POST /batch[?ignoreBroken=true]                   body: satu "start,end" per baris
+//   GET  /broken                                      daftar gardu padam dan saluran trip
+//   POST /broken?node=..&broken=true|false            matikan / hidupkan gardu
+//   POST /broken?source=..&destination=..&broken=..   trip / pulihkan saluran source -> destination
+//   GET  /vertices                                    nama gardu terurut A-Z
+//   GET  /vertices?prefix=..  atau  ?q=..[&limit=..]  nama berawalan prefix / memuat q
+//
+// Semua respons JSON (UTF-8). Handler berjalan di virtual thread jika JDK mendukung
+// (Java 21+), selain itu di pool thread biasa.
+public final class RouteServer {
+
+    static final int DEFAULT_PORT = 8080;
+    static final int MAX_BATCH = 100_000; // pasangan per request /batch
+    static final int MAX_VERTEX_MATCHES = 1000; // default limit /vertices?prefix=.. / ?q=..
+    static final String FEEDER = "PLN (V1)";
+    static final int LANDMARKS = 8; // tabel ALT disimpan di <data>.alt, dihitung ulang jika basi
+
+    private static final LossAnalysis.Parameters LOSS_PARAMETERS = LossAnalysis.Parameters.defaults();
+
+    private final PathFinder pathFinder;
+    private final int requestedPort;
+    private HttpServer server;        // dibuat di start()
+    private ExecutorService executor;
+    // JSON /vertices lengkap disimpan per graf beku: menyusun ulang O(V) string per request terlalu mahal
+    private volatile CsrGraph verticesGraph;
+    private volatile byte[] verticesJson;
+
+    public RouteServer(PathFinder pathFinder, int port) {
+        this.pathFinder = pathFinder;
+        this.requestedPort = port;
+    }
+
+    // Bind port dan mulai melayani; port 0 = port bebas (lihat port())
+    public synchronized void start() throws IOException {
+        if (server != null) throw new IllegalStateException("RouteServer sudah berjalan");
+        // Header dan body respons ditulis terpisah; tanpa TCP_NODELAY, Nagle + delayed ACK
+        // menahan setiap respons ~40 ms. Dibaca sekali oleh JDK saat HttpServer pertama dibuat,
+        // jadi di-set di sini (bukan saat kelas dimuat) agar pemakai kelas lain tidak terkena.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        HttpServer created = HttpServer.create(new InetSocketAddress(requestedPort), 1024);
+        executor = newExecutor();
+        created.setExecutor(executor);
+        created.createContext("/route", exchange -> handle(exchange, this::route));
+        created.createContext("/batch", exchange -> handle(exchange, this::batch));
+        created.createContext("/broken", exchange -> handle(exchange, this::broken));
+        created.createContext("/vertices", exchange -> handle(exchange, this::vertices));
+        created.start();
+        server = created;
+    }
+
+    // Tunggu maksimal delaySeconds agar request yang sedang berjalan selesai
+    public synchronized void stop(int delaySeconds) {
+        if (server == null) return;
+        server.stop(delaySeconds);
+        server = null;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public synchronized int port() {
+        if (server == null) throw new IllegalStateException("RouteServer belum berjalan");
+        return server.getAddress().getPort();
+    }
+
+    // java RouteServer [port] [file data]
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        String data = args.length > 1 ? args[1] : "data.txt";
+
+        PathFinder pathFinder = new PathFinder();
+        try {
+            pathFinder.registerMBean("server");
+        } catch (JMException e) {
+            System.err.println("Gagal mendaftarkan MBean: " + e.getMessage());
+        }
+        EdgeListLoader.LoadReport report = pathFinder.loadGraph(data);
+        System.out.println("Graf " + data + ": " + report);
+        // seperti di UI: query dari feeder utama dijawab pohon SSSP dinamis
+        pathFinder.trackRoot(FEEDER);
+        // query antar gardu lain: ALT alih-alih Dijkstra penuh
+        pathFinder.loadOrPrepareLandmarks(data + ".alt", LANDMARKS);
+
+        RouteServer routeServer = new RouteServer(pathFinder, port);
+        routeServer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> routeServer.stop(1)));
+        System.out.println("RouteServer mendengarkan di port " + routeServer.port());
+    }
+
+    // Virtual thread per request (Java 21+) lewat refleksi karena build menarget Java 17
+    static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+            return Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "route-server");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    // --- HANDLER ---
+
+    interface Endpoint {
+        Response serve(HttpExchange exchange, Map<String, String> params) throws IOException;
+    }
+
+    static final class Response {
+        final int status;
+        final byte[] body;
+
+        Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        static Response ok(Json json) {
+            return new Response(200, json.toBytes());
+        }
+
+        static Response error(int status, String message) {
+            return new Response(status, new Json().beginObject().field("error", message).endObject().toBytes());
+        }
+    }
+
+    private static void handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        Response response;
+        try {
+            response = endpoint.serve(exchange, parseQuery(exchange.getRequestURI().getRawQuery()));
+        } catch (IllegalArgumentException e) {
+            response = Response.error(400, e.getMessage());
+        } catch (RuntimeException e) {
+            response = Response.error(500, String.valueOf(e));
+        }
+        // sisa body harus dibaca agar request berikutnya di koneksi yang sama bisa diparse
+        try (InputStream in = exchange.getRequestBody()) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status, response.body.length == 0 ? -1 : response.body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response.body);
+        }
+    }
+
+    private Response route(HttpExchange exchange, Map<String, String> params) {
+        if (!"GET".equals(exchange.getRequestMethod())) return Response.error(405, "Gunakan GET");
+        String start = required(params, "start");
+        String end = required(params, "end");
+        PathFinder.PathResult result = pathFinder.findShortestPath(start, end, flag(params, "ignoreBroken"));
+        Json json = new Json();
+        writeRoute(json, start, end, result);
+        return Response.ok(json);
+    }
+
+    private Response batch(HttpExchange exchange, Map<String, String> params) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) return Response.error(405, "Gunakan POST");
+        List<PathFinder.RouteQuery> queries = new ArrayList<>();
+        // stream tidak ditutup di sini; handle() yang menghabiskan dan menutupnya
+        BufferedReader in = new BufferedReader(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8));
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.isBlank()) continue;
+            int comma = line.indexOf(',');
+            if (comma < 0) throw new IllegalArgumentException("Baris batch harus \"start,end\": " + line);
+            if (queries.size() == MAX_BATCH) throw new IllegalArgumentException("Batch maksimal " + MAX_BATCH + " pasangan");
+            queries.add(new PathFinder.RouteQuery(line.substring(0, comma).trim(), line.substring(comma + 1).trim()));
+        }
+
+        // sink dipanggil paralel dari pool; tiap query menulis slot sendiri
+        Map<PathFinder.RouteQuery, Integer> index = new IdentityHashMap<>(queries.size() * 2);
+        for (int i = 0; i < queries.size(); i++) index.put(queries.get(i), i);
+        PathFinder.PathResult[] results = new PathFinder.PathResult[queries.size()];
+        pathFinder.findShortestPaths(queries, flag(params, "ignoreBroken"), (q, r) -> results[index.get(q)] = r);
+
+        Json json = new Json().beginObject().field("count", queries.size()).name("results").beginArray();
+        for (int i = 0; i < results.length; i++) {
+            PathFinder.RouteQuery q = queries.get(i);
+            writeRoute(json, q.start, q.end, results[i]);
+        }
+        return Response.ok(json.endArray().endObject());
+    }
+
+    private Response broken(HttpExchange exchange, Map<String, String> params) {
+        if ("GET".equals(exchange.getRequestMethod())) {
+            PathFinder.GraphState st = pathFinder.snapshot();
+            Json json = new Json().beginObject().field("version", st.version)
+                    .field("count", st.broken.count()).name("nodes").beginArray();
+            for (int v = st.broken.nextBroken(0); v >= 0; v = st.broken.nextBroken(v + 1)) {
+                if (v < st.graph.nodeCount()) json.value(st.graph.name(v));
+            }
+            json.endArray().field("lineCount", st.brokenLines.count()).name("lines").beginArray();
+            CsrGraph g = st.graph;
+            for (int e = st.brokenLines.nextBroken(0); e >= 0; e = st.brokenLines.nextBroken(e + 1)) {
+                int u = g.source(e);
+                if (!firstTripped(g, st.brokenLines, u, e)) continue; // saluran paralel cukup sekali
+                json.beginObject().field("source", g.name(u)).field("destination", g.name(g.targets[e])).endObject();
+            }
+            return Response.ok(json.endArray().endObject());
+        }
+        if (!"POST".equals(exchange.getRequestMethod())) return Response.error(405, "Gunakan GET atau POST");
+        if (params.containsKey("source")) return brokenLine(params);
+        String node = required(params, "node");
+        boolean broken = flag(params, "broken");
+        int id = pathFinder.getNodeId(node);
+        if (id < 0 || id >= pathFinder.getGraph().nodeCount()) return Response.error(404, "Gardu tidak dikenal: " + node);
+        pathFinder.setNodeBroken(node, broken);
+        PathFinder.GraphState st = pathFinder.snapshot();
+        return Response.ok(new Json().beginObject().field("node", node).field("broken", st.broken.get(id))
+                .field("version", st.version).field("outages", st.broken.count()).endObject());
+    }
+
+    private Response brokenLine(Map<String, String> params) {
+        String source = required(params, "source");
+        String destination = required(params, "destination");
+        boolean broken = flag(params, "broken");
+        CsrGraph g = pathFinder.getGraph();
+        int u = pathFinder.getNodeId(source);
+        int v = pathFinder.getNodeId(destination);
+        boolean exists = false;
+        if (u >= 0 && v >= 0 && u < g.nodeCount() && v < g.nodeCount()) {
+            for (int e = g.offsets[u]; e < g.offsets[u + 1]; e++) exists |= g.targets[e] == v;
+        }
+        if (!exists) return Response.error(404, "Saluran tidak dikenal: " + source + " -> " + destination);
+        pathFinder.setLineBroken(source, destination, broken);
+        PathFinder.GraphState st = pathFinder.snapshot();
+        return Response.ok(new Json().beginObject().field("source", source).field("destination", destination)
+                .field("broken", pathFinder.isLineBroken(source, destination)).field("version", st.version)
+                .field("lineOutages", st.brokenLines.count()).endObject());
+    }
+
+    // true jika e adalah saluran trip pertama dari u ke tujuan yang sama
+    private static boolean firstTripped(CsrGraph g, OutageMask lines, int u, int e) {
+        for (int f = g.offsets[u]; f < e; f++) {
+            if (g.targets[f] == g.targets[e] && lines.get(f)) return false;
+        }
+        return true;
+    }
+
+    private Response vertices(HttpExchange exchange, Map<String, String> params) {
+        if (!"GET".equals(exchange.getRequestMethod())) return Response.error(405, "Gunakan GET");
+        String prefix = params.get("prefix");
+        String query = params.get("q");
+        if (prefix != null || query != null) {
+            VertexCatalog catalog = pathFinder.getVertexCatalog();
+            int limit = positiveInt(params, "limit", MAX_VERTEX_MATCHES);
+            List<String> names = query != null ? catalog.search(query.trim(), limit) : catalog.prefix(prefix);
+            Json json = new Json().beginArray();
+            for (int i = 0; i < names.size() && i < limit; i++) json.value(names.get(i));
+            return new Response(200, json.endArray().toBytes());
+        }
+        CsrGraph g = pathFinder.getGraph();
+        byte[] body = verticesJson;
+        if (verticesGraph != g || body == null) {
+            Json json = new Json().beginArray();
+            for (String name : pathFinder.getSortedVertexNames()) json.value(name);
+            body = json.endArray().toBytes();
+            verticesJson = body;
+            verticesGraph = g;
+        }
+        return new Response(200, body);
+    }
+
+    private void writeRoute(Json json, String start, String end, PathFinder.PathResult result) {
+        boolean found = !result.path.isEmpty();
+        json.beginObject().field("start", start).field("end", end).field("found", found);
+        if (found) {
+            LossAnalysis.Totals totals = pathFinder.routeLoss(result.path, LOSS_PARAMETERS);
+            json.field("km", result.totalCost)
+                .field("resistanceOhm", totals.resistance)
+                .field("lossWatt", totals.loss)
+                .name("path").beginArray();
+            for (String node : result.path) json.value(node);
+            json.endArray();
+        }
+        json.endObject();
+    }
+
+    private static String required(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) throw new IllegalArgumentException("Parameter '" + name + "' wajib diisi");
+        return value;
+    }
+
+    private static int positiveInt(Map<String, String> params, String name, int defaultValue) {
+        String value = params.get(name);
+        if (value == null) return defaultValue;
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed > 0) return parsed;
+        } catch (NumberFormatException e) {
+            // jatuh ke pesan di bawah
+        }
+        throw new IllegalArgumentException("Parameter '" + name + "' harus bilangan bulat positif");
+    }
+
+    private static boolean flag(Map<String, String> params, String name) {
+        return Boolean.parseBoolean(params.get(name));
+    }
+
+    static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return params;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    // Penulis JSON minimal; koma antar elemen diatur otomatis
+    static final class Json {
+        private final StringBuilder out = new StringBuilder(256);
+        private boolean first = true;
+
+        Json beginObject() {
+            separator();
+            out.append('{');
+            first = true;
+            return this;
+        }
+
+        Json endObject() {
+            out.append('}');
+            first = false;
+            return this;
+        }
+
+        Json beginArray() {
+            separator();
+            out.append('[');
+            first = true;
+            return this;
+        }
+
+        Json endArray() {
+            out.append(']');
+            first = false;
+            return this;
+        }
+
+        Json name(String name) {
+            separator();
+            string(name);
+            out.append(':');
+            first = true; // nilai setelah nama tanpa koma
+            return this;
+        }
+
+        Json field(String name, String value) {
+            return name(name).value(value);
+        }
+
+        Json field(String name, boolean value) {
+            name(name);
+            out.append(value);
+            first = false;
+            return this;
+        }
+
+        Json field(String name, long value) {
+            name(name);
+            out.append(value);
+            first = false;
+            return this;
+        }
+
+        Json field(String name, double value) {
+            name(name);
+            if (Double.isFinite(value)) out.append(value);
+            else out.append("null");
+            first = false;
+            return this;
+        }
+
+        Json value(String value) {
+            separator();
+            string(value);
+            first = false;
+            return this;
+        }
+
+        byte[] toBytes() {
+            return out.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        private void separator() {
+            if (!first) out.append(',');
+        }
+
+        private void string(String s) {
+            out.append('"');
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '"':
+                        out.append("\\\"");
+                        break;
+                    case '\\':
+                        out.append("\\\\");
+                        break;
+                    case '\n':
+                        out.append("\\n");
+                        break;
+                    case '\r':
+                        out.append("\\r");
+                        break;
+                    case '\t':
+                        out.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) out.append(String.format("\\u%04x", (int) c));
+                        else out.append(c);
+                }
+            }
+            out.append('"');
+        }
+    }
+}
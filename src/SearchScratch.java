@@ -0,0 +1,161 @@
+import java.util.Arrays;
+
+// Memori kerja Dijkstra yang dipakai ulang per thread.
+// Berisi jarak, predecessor dan indexed 4-ary min-heap dengan decrease-key.
+// Nilai per vertex hanya berlaku jika stamp[v] == generation, sehingga
+// tidak perlu reset O(V) di awal setiap pencarian.
+final class SearchScratch {
+
+    private static final int ARITY = 4;
+    private static final int SETTLED = -1;
+
+    private static final ThreadLocal<SearchScratch> LOCAL = ThreadLocal.withInitial(SearchScratch::new);
+
+    private double[] dist = new double[0];
+    private int[] prev = new int[0];
+    private int[] pos = new int[0];    // posisi di heap, atau SETTLED
+    private int[] stamp = new int[0];
+    private int generation = 0;
+
+    private int[] heap = new int[16];          // vertex pada setiap posisi heap
+    private double[] heapKey = new double[16]; // kunci sejajar dengan heap
+    private int size = 0;
+
+    // Statistik pencarian terakhir di thread ini, dibaca instrumentation (PathFinderMetrics).
+    // begin() menolkan penghitung; strategy hanya diubah oleh PathFinder.
+    int settledCount;
+    int relaxedCount;
+    int brokenSkips;
+    int pushCount;
+    int strategy;
+
+    // Scratch milik thread pemanggil, disiapkan untuk graf berukuran n
+    static SearchScratch acquire(int n) {
+        SearchScratch s = LOCAL.get();
+        s.begin(n);
+        return s;
+    }
+
+    // Scratch milik thread pemanggil tanpa menyiapkan pencarian (untuk membaca statistik)
+    static SearchScratch current() {
+        return LOCAL.get();
+    }
+
+    void clearStats() {
+        settledCount = relaxedCount = brokenSkips = pushCount = 0;
+        strategy = PathFinderMetrics.REJECTED;
+    }
+
+    void begin(int n) {
+        if (stamp.length < n) {
+            int cap = Math.max(n, stamp.length * 2);
+            dist = new double[cap];
+            prev = new int[cap];
+            pos = new int[cap];
+            stamp = new int[cap];
+            generation = 0;
+        }
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+        size = 0;
+        settledCount = relaxedCount = brokenSkips = pushCount = 0;
+    }
+
+    double distance(int v) {
+        return stamp[v] == generation ? dist[v] : Double.MAX_VALUE;
+    }
+
+    int previous(int v) {
+        return stamp[v] == generation ? prev[v] : -1;
+    }
+
+    boolean isSettled(int v) {
+        return stamp[v] == generation && pos[v] == SETTLED;
+    }
+
+    // Masukkan v ke heap atau turunkan kuncinya; false jika d tidak lebih baik
+    boolean relax(int v, double d, int from) {
+        return relax(v, d, from, d);
+    }
+
+    // Seperti relax, tetapi heap diurutkan dengan key (mis. d + heuristik A* yang konsisten)
+    boolean relax(int v, double d, int from, double key) {
+        if (stamp[v] != generation) {
+            stamp[v] = generation;
+            dist[v] = d;
+            prev[v] = from;
+            push(v, key);
+            return true;
+        }
+        if (pos[v] == SETTLED || d >= dist[v]) return false;
+        dist[v] = d;
+        prev[v] = from;
+        siftUp(pos[v], v, key);
+        return true;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Ambil vertex dengan jarak terkecil dan tandai sebagai settled
+    int pollMin() {
+        int top = heap[0];
+        pos[top] = SETTLED;
+        size--;
+        if (size > 0) siftDown(0, heap[size], heapKey[size]);
+        return top;
+    }
+
+    // Ekspor jarak/predecessor ke array penuh (untuk pohon single-source)
+    void exportTo(double[] outDist, int[] outPrev, int n) {
+        for (int v = 0; v < n; v++) {
+            boolean valid = stamp[v] == generation;
+            outDist[v] = valid ? dist[v] : Double.MAX_VALUE;
+            outPrev[v] = valid ? prev[v] : -1;
+        }
+    }
+
+    private void push(int v, double d) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+            heapKey = Arrays.copyOf(heapKey, size * 2);
+        }
+        pushCount++;
+        siftUp(size++, v, d);
+    }
+
+    private void siftUp(int i, int v, double d) {
+        while (i > 0) {
+            int parent = (i - 1) / ARITY;
+            if (heapKey[parent] <= d) break;
+            place(i, heap[parent], heapKey[parent]);
+            i = parent;
+        }
+        place(i, v, d);
+    }
+
+    private void siftDown(int i, int v, double d) {
+        while (true) {
+            int first = i * ARITY + 1;
+            if (first >= size) break;
+            int best = first;
+            int last = Math.min(first + ARITY, size);
+            for (int c = first + 1; c < last; c++) {
+                if (heapKey[c] < heapKey[best]) best = c;
+            }
+            if (heapKey[best] >= d) break;
+            place(i, heap[best], heapKey[best]);
+            i = best;
+        }
+        place(i, v, d);
+    }
+
+    private void place(int i, int v, double d) {
+        heap[i] = v;
+        heapKey[i] = d;
+        pos[v] = i;
+    }
+}
@@ -0,0 +1,132 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+// Cache LRU berisi pohon jalur terpendek single-source (jarak + predecessor penuh).
+// Kunci: (source, ignoreBroken, versi graf). Versi naik setiap kali topologi atau
+// status gangguan berubah, sehingga entri lama tidak pernah terbaca lagi.
+// Ukuran dibatasi dengan anggaran memori dalam byte.
+public final class ShortestPathCache {
+
+    private static final long ENTRY_OVERHEAD = 96; // taksiran header objek + kunci
+
+    // Pohon hasil SSSP dari satu source
+    static final class Tree {
+        final CsrGraph graph;
+        final double[] dist;
+        final int[] prev;
+
+        Tree(CsrGraph graph, double[] dist, int[] prev) {
+            this.graph = graph;
+            this.dist = dist;
+            this.prev = prev;
+        }
+
+        long bytes() {
+            return ENTRY_OVERHEAD + dist.length * 8L + prev.length * 4L;
+        }
+    }
+
+    private static final class Key {
+        final int source;
+        final boolean ignoreBroken;
+        final long version;
+
+        Key(int source, boolean ignoreBroken, long version) {
+            this.source = source;
+            this.ignoreBroken = ignoreBroken;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return source == k.source && ignoreBroken == k.ignoreBroken && version == k.version;
+        }
+
+        @Override
+        public int hashCode() {
+            return (source * 31 + (ignoreBroken ? 1 : 0)) * 31 + Long.hashCode(version);
+        }
+    }
+
+    private final LinkedHashMap<Key, Tree> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final long budgetBytes;
+    private long usedBytes;
+    private long currentVersion = Long.MIN_VALUE;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ShortestPathCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    synchronized Tree get(int source, boolean ignoreBroken, long version) {
+        dropStale(version);
+        Tree tree = entries.get(new Key(source, ignoreBroken, version));
+        if (tree == null) misses++;
+        else hits++;
+        return tree;
+    }
+
+    synchronized void put(int source, boolean ignoreBroken, long version, Tree tree) {
+        dropStale(version);
+        if (version != currentVersion || tree.bytes() > budgetBytes) return; // versi sudah lewat / terlalu besar
+        Tree old = entries.put(new Key(source, ignoreBroken, version), tree);
+        if (old != null) usedBytes -= old.bytes();
+        usedBytes += tree.bytes();
+
+        Iterator<Tree> it = entries.values().iterator();
+        while (usedBytes > budgetBytes && it.hasNext()) {
+            usedBytes -= it.next().bytes();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    // Versi baru: semua entri versi lama dibuang sekaligus
+    private void dropStale(long version) {
+        if (version <= currentVersion) return;
+        currentVersion = version;
+        evictions += entries.size();
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "hit=" + hits + ", miss=" + misses + ", evict=" + evictions
+                + ", entri=" + entries.size() + ", memori=" + usedBytes + "/" + budgetBytes + " byte";
+    }
+}
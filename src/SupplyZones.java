@@ -0,0 +1,83 @@
+// Partisi zona suplai: setiap gardu diberi feeder hidup terdekat, jarak dan predecessor-nya
+// dari satu Dijkstra multi-source (lihat DynamicShortestPathTree). Salinan immutable pada
+// satu versi GraphState; zona dinomori sesuai urutan feeder.
+public final class SupplyZones {
+
+    public final long version;
+    final CsrGraph graph;
+    final int[] feeders; // id feeder per nomor zona
+    final int[] zone;    // nomor zona per gardu, -1 = tidak tersuplai
+    final double[] dist;
+    final int[] parent;
+
+    SupplyZones(CsrGraph graph, long version, int[] feeders, int[] zone, double[] dist, int[] parent) {
+        this.graph = graph;
+        this.version = version;
+        this.feeders = feeders;
+        this.zone = zone;
+        this.dist = dist;
+        this.parent = parent;
+    }
+
+    public int feederCount() {
+        return feeders.length;
+    }
+
+    public String feederName(int zone) {
+        return graph.names[feeders[zone]];
+    }
+
+    public boolean isFeeder(int id) {
+        int z = zoneOf(id);
+        return z >= 0 && feeders[z] == id;
+    }
+
+    // Nomor zona gardu, -1 jika tidak tersuplai (atau id di luar graf)
+    public int zoneOf(int id) {
+        return id >= 0 && id < zone.length ? zone[id] : -1;
+    }
+
+    // Nama feeder yang menyuplai gardu, null jika tidak tersuplai
+    public String feederOf(int id) {
+        int z = zoneOf(id);
+        return z < 0 ? null : feederName(z);
+    }
+
+    // Jarak (km) ke feeder terdekat, NaN jika tidak tersuplai
+    public double distance(int id) {
+        return zoneOf(id) < 0 ? Double.NaN : dist[id];
+    }
+
+    // Gardu sebelumnya pada jalur dari feeder, -1 untuk feeder atau gardu tidak tersuplai
+    public int parent(int id) {
+        return zoneOf(id) < 0 ? -1 : parent[id];
+    }
+
+    // Jumlah gardu per zona (indeks = nomor zona)
+    public int[] zoneSizes() {
+        int[] sizes = new int[feeders.length];
+        for (int z : zone) {
+            if (z >= 0) sizes[z]++;
+        }
+        return sizes;
+    }
+
+    public int unsuppliedCount() {
+        int count = 0;
+        for (int z : zone) {
+            if (z < 0) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Zona suplai (versi " + version + ")\n");
+        int[] sizes = zoneSizes();
+        for (int z = 0; z < feeders.length; z++) {
+            sb.append(feederName(z)).append(": ").append(sizes[z]).append(" gardu\n");
+        }
+        sb.append("Tidak tersuplai: ").append(unsuppliedCount()).append(" gardu\n");
+        return sb.toString();
+    }
+}
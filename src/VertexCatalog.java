@@ -0,0 +1,237 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+// Indeks nama gardu terurut A-Z (String.compareTo), dijaga inkremental oleh PathFinder saat
+// gardu baru didaftarkan. Nama baru masuk buffer dan digabung ke array terurut saat dibaca
+// berikutnya: O(n + k log k) untuk k nama baru, bukan merge sort penuh per panggilan.
+//
+//  - names()         : view array terurut, O(1) (array lama tidak pernah diubah, hanya diganti);
+//  - prefix(p)       : rentang nama berawalan p lewat dua binary search, O(|p| log n);
+//  - search(q, limit): nama yang memuat q di posisi mana pun, tanpa membedakan huruf
+//                      besar/kecil ("solo", "ardu", "v6"), lewat suffix array penuh (satu suffix
+//                      per karakter, 8 byte per karakter nama). Dibangun saat search pertama
+//                      dan dibuang jika ada nama baru.
+public final class VertexCatalog {
+
+    private static final String[] NONE = new String[0];
+    private static final int INSERTION_SORT_THRESHOLD = 12;
+
+    private String[] sorted = NONE;
+    private String[] pending = new String[16]; // belum terurut, belum digabung
+    private int pendingCount;
+    private SuffixArray suffixes; // null = belum dibangun
+
+    // Nama harus belum ada di katalog (PathFinder menjamin lewat tabel nama -> id)
+    synchronized void add(String name) {
+        if (pendingCount == pending.length) pending = Arrays.copyOf(pending, pendingCount * 2);
+        pending[pendingCount++] = name;
+    }
+
+    // Ganti seluruh isi (mis. setelah memuat snapshot); diurutkan saat dibaca berikutnya
+    synchronized void reset(String[] names) {
+        sorted = NONE;
+        pending = Arrays.copyOf(names, Math.max(16, names.length));
+        pendingCount = names.length;
+        suffixes = null;
+    }
+
+    public synchronized int size() {
+        return sorted.length + pendingCount;
+    }
+
+    // Semua nama terurut; snapshot read-only yang tidak ikut berubah saat gardu baru ditambahkan
+    public synchronized List<String> names() {
+        return Collections.unmodifiableList(Arrays.asList(flush()));
+    }
+
+    public synchronized boolean contains(String name) {
+        return Arrays.binarySearch(flush(), name) >= 0;
+    }
+
+    // Nama yang diawali prefix (peka huruf besar/kecil), terurut
+    public synchronized List<String> prefix(String prefix) {
+        String[] a = flush();
+        int lo = lowerBound(a, prefix);
+        int hi = a.length;
+        for (int from = lo; from < hi; ) { // nama berawalan prefix membentuk satu rentang mulai lo
+            int mid = (from + hi) >>> 1;
+            if (a[mid].startsWith(prefix)) from = mid + 1;
+            else hi = mid;
+        }
+        return Collections.unmodifiableList(Arrays.asList(a).subList(lo, hi));
+    }
+
+    // Maksimal limit nama (terurut) yang memuat query, tanpa membedakan huruf besar/kecil.
+    // Query kosong = limit nama pertama. O(|q| log N + kemunculan yang dilewati), N = total karakter.
+    public synchronized List<String> search(String query, int limit) {
+        String[] a = flush();
+        if (query.isEmpty()) return new ArrayList<>(Arrays.asList(a).subList(0, Math.min(limit, a.length)));
+        if (suffixes == null) suffixes = new SuffixArray(a);
+        SuffixArray index = suffixes;
+        long[] sa = index.sa;
+        int lo = 0;
+        int hi = sa.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (index.compare(sa[mid], query) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        // nama bisa muncul lebih dari sekali (query muncul di beberapa posisi); ambil limit yang berbeda
+        int[] hits = new int[Math.min(limit, 64)];
+        BitSet seen = new BitSet(a.length);
+        int count = 0;
+        for (int i = lo; i < sa.length && count < limit && index.compare(sa[i], query) == 0; i++) {
+            int name = (int) (sa[i] >>> 32);
+            if (seen.get(name)) continue;
+            seen.set(name);
+            if (count == hits.length) hits = Arrays.copyOf(hits, Math.min(limit, count * 2));
+            hits[count++] = name;
+        }
+        Arrays.sort(hits, 0, count);
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) result.add(a[hits[i]]);
+        return result;
+    }
+
+    // Gabungkan buffer ke array terurut (array baru, yang lama tetap utuh untuk view lama)
+    private String[] flush() {
+        if (pendingCount == 0) return sorted;
+        Arrays.sort(pending, 0, pendingCount);
+        String[] old = sorted;
+        String[] merged = new String[old.length + pendingCount];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < old.length && j < pendingCount) {
+            merged[k++] = old[i].compareTo(pending[j]) <= 0 ? old[i++] : pending[j++];
+        }
+        while (i < old.length) merged[k++] = old[i++];
+        while (j < pendingCount) merged[k++] = pending[j++];
+        Arrays.fill(pending, 0, pendingCount, null);
+        pendingCount = 0;
+        sorted = merged;
+        suffixes = null;
+        return merged;
+    }
+
+    private static int lowerBound(String[] a, String key) {
+        int lo = 0;
+        int hi = a.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid].compareTo(key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // --- SUFFIX ARRAY ---
+
+    // Satu suffix per posisi karakter setiap nama: (indeks di sorted << 32) | offset.
+    // Nama disalin sekali sebagai huruf kecil ke satu char[] agar sort dan pencarian hanya
+    // membaca array, tanpa String.charAt + toLowerCase per perbandingan.
+    private static final class SuffixArray {
+        final char[] text;   // semua nama (huruf kecil) berurutan
+        final int[] starts;  // starts[i] = awal nama i di text, starts[n] = text.length
+        final long[] sa;
+
+        SuffixArray(String[] names) {
+            long total = 0;
+            for (String name : names) total += name.length();
+            if (total > Integer.MAX_VALUE - 8) throw new IllegalStateException("Nama gardu terlalu banyak untuk diindeks");
+            text = new char[(int) total];
+            starts = new int[names.length + 1];
+            sa = new long[(int) total];
+            int k = 0;
+            for (int i = 0; i < names.length; i++) {
+                starts[i] = k;
+                long base = (long) i << 32;
+                for (int p = 0; p < names[i].length(); p++) {
+                    text[k] = Character.toLowerCase(names[i].charAt(p));
+                    sa[k++] = base | p;
+                }
+            }
+            starts[names.length] = k;
+            sort(0, sa.length, 0);
+        }
+
+        // Karakter ke-depth dari suffix, -1 jika suffix sudah habis
+        int charAt(long suffix, int depth) {
+            int name = (int) (suffix >>> 32);
+            int p = starts[name] + (int) suffix + depth;
+            return p < starts[name + 1] ? text[p] : -1;
+        }
+
+        // Bandingkan suffix dengan query sebagai prefix: 0 jika suffix diawali query
+        int compare(long suffix, String query) {
+            for (int d = 0; d < query.length(); d++) {
+                int c = charAt(suffix, d);
+                int q = Character.toLowerCase(query.charAt(d));
+                if (c != q) return c < q ? -1 : 1;
+            }
+            return 0;
+        }
+
+        // Multikey quicksort (Bentley-Sedgewick) atas suffix mulai karakter ke-depth.
+        // Suffix yang identik diurutkan menurut indeks nama agar hasilnya deterministik.
+        private void sort(int lo, int hi, int depth) {
+            long[] a = sa;
+            while (hi - lo > 1) {
+                if (hi - lo < INSERTION_SORT_THRESHOLD) {
+                    insertionSort(lo, hi, depth);
+                    return;
+                }
+                int pivot = charAt(a[(lo + hi) >>> 1], depth);
+                int lt = lo;
+                int gt = hi - 1;
+                int i = lo;
+                while (i <= gt) {
+                    int c = charAt(a[i], depth);
+                    if (c < pivot) swap(a, lt++, i++);
+                    else if (c > pivot) swap(a, i, gt--);
+                    else i++;
+                }
+                sort(lo, lt, depth);
+                sort(gt + 1, hi, depth);
+                if (pivot < 0) {
+                    Arrays.sort(a, lt, gt + 1);
+                    return;
+                }
+                lo = lt;
+                hi = gt + 1;
+                depth++;
+            }
+        }
+
+        private void insertionSort(int lo, int hi, int depth) {
+            long[] a = sa;
+            for (int i = lo + 1; i < hi; i++) {
+                long x = a[i];
+                int j = i;
+                while (j > lo && compare(a[j - 1], x, depth) > 0) {
+                    a[j] = a[j - 1];
+                    j--;
+                }
+                a[j] = x;
+            }
+        }
+
+        private int compare(long x, long y, int depth) {
+            for (int d = depth; ; d++) {
+                int cx = charAt(x, d);
+                int cy = charAt(y, d);
+                if (cx != cy) return cx < cy ? -1 : 1;
+                if (cx < 0) return Long.compare(x, y);
+            }
+        }
+    }
+
+    private static void swap(long[] a, int i, int j) {
+        long t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+}
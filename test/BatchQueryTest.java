@@ -0,0 +1,70 @@
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Batch query (Collection dan Stream) harus memberi hasil yang sama dengan findShortestPath per
+// pasangan, termasuk nama gardu yang tidak dikenal dan gardu ujung yang padam.
+class BatchQueryTest {
+
+    @Test
+    void batchMatchesSingleQueries() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int round = 0; round < 30; round++) {
+            int n = 2 + random.nextInt(30);
+            ReferenceGraph ref = ReferenceGraph.random(random, n, random.nextInt(n * 3 + 1) + 1);
+            PathFinder pathFinder = ref.toPathFinder();
+            ref.toggleRandom(random, pathFinder, random.nextInt(6));
+            boolean ignoreBroken = round % 3 == 0;
+
+            // lebih dari satu potongan stream, dengan banyak source dan tujuan berulang
+            int count = round == 0 ? PathFinder.STREAM_CHUNK + 100 : 500;
+            List<PathFinder.RouteQuery> queries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String start = random.nextInt(20) == 0 ? "Tidak Ada " + i : ReferenceGraph.name(random.nextInt(n));
+                String end = random.nextInt(20) == 0 ? "Tidak Ada" : ReferenceGraph.name(random.nextInt(n));
+                queries.add(new PathFinder.RouteQuery(start, end));
+            }
+
+            Map<PathFinder.RouteQuery, PathFinder.PathResult> fromCollection = new IdentityHashMap<>();
+            pathFinder.findShortestPaths(queries, ignoreBroken, (q, r) -> {
+                synchronized (fromCollection) {
+                    assertEquals(null, fromCollection.put(q, r), "sink dipanggil dua kali");
+                }
+            });
+            Map<PathFinder.RouteQuery, PathFinder.PathResult> fromStream = new IdentityHashMap<>();
+            pathFinder.findShortestPaths(queries.stream(), ignoreBroken, (q, r) -> {
+                synchronized (fromStream) {
+                    assertEquals(null, fromStream.put(q, r), "sink dipanggil dua kali");
+                }
+            });
+            assertEquals(count, fromCollection.size());
+            assertEquals(count, fromStream.size());
+
+            for (PathFinder.RouteQuery q : queries) {
+                String context = "round " + round + " " + q.start + " -> " + q.end;
+                PathFinder.PathResult single = pathFinder.findShortestPath(q.start, q.end, ignoreBroken);
+                for (PathFinder.PathResult batch : new PathFinder.PathResult[] { fromCollection.get(q), fromStream.get(q) }) {
+                    assertEquals(single.path.isEmpty(), batch.path.isEmpty(), context);
+                    assertEquals(single.totalCost, batch.totalCost, ReferenceGraph.EPS * Math.max(1, single.totalCost), context);
+                    if (q.start.startsWith("Tidak Ada") || q.end.startsWith("Tidak Ada")) {
+                        assertTrue(batch.path.isEmpty(), context);
+                        continue;
+                    }
+                    int s = Integer.parseInt(q.start.substring(1));
+                    int t = Integer.parseInt(q.end.substring(1));
+                    if (!ignoreBroken && (ref.brokenNode[s] || ref.brokenNode[t])) {
+                        assertTrue(batch.path.isEmpty(), context + ": ujung padam");
+                    }
+                    ref.assertRoute(batch, s, t, ignoreBroken, context);
+                }
+            }
+        }
+    }
+}
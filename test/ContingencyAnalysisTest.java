@@ -0,0 +1,150 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Analisis N-1 (pohon dominator + Dijkstra per subtree) dibandingkan dengan brute force:
+// untuk setiap gardu x, padamkan x di graf pembanding lalu jalankan Dijkstra dari feeder.
+class ContingencyAnalysisTest {
+
+    private static final LossAnalysis.Parameters LOSS = new LossAnalysis.Parameters(3.0, 0.05, 200.0);
+    // Tanpa r/I per saluran, rugi daya jalur = jarak * 3 * I^2 * r
+    private static final double LOSS_PER_KM = 3.0 * 200.0 * 200.0 * 0.05;
+
+    @Test
+    void matchesRemovingEachNodeAndRerunningDijkstra() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int round = 0; round < 150; round++) {
+            int n = 2 + random.nextInt(30);
+            ReferenceGraph ref = ReferenceGraph.random(random, n, random.nextInt(4 * n + 1));
+            PathFinder pathFinder = ref.toPathFinder();
+            ref.toggleRandom(random, pathFinder, random.nextInt(1 + n / 4));
+            int feeder = random.nextInt(n);
+            if (!ref.present[feeder] || ref.brokenNode[feeder]) continue;
+
+            ContingencyAnalysis.Report report = pathFinder.analyzeContingencies(ReferenceGraph.name(feeder), LOSS);
+            double[] base = ref.distances(feeder, false);
+            int supplied = 0;
+            int known = 0;
+            for (int v = 0; v < n; v++) {
+                if (base[v] != Double.MAX_VALUE) supplied++;
+                if (ref.present[v]) known++;
+            }
+            String context = "round " + round;
+            assertEquals(supplied - 1, report.ranked.size(), context);
+            assertEquals(known - supplied, report.alreadyUnsupplied, context);
+
+            for (ContingencyAnalysis.Entry entry : report.ranked) {
+                int x = Integer.parseInt(entry.node.substring(1));
+                ref.brokenNode[x] = true;
+                double[] after = ref.distances(feeder, false);
+                ref.brokenNode[x] = false;
+
+                List<String> lost = new ArrayList<>();
+                int rerouted = 0;
+                double total = 0;
+                double worst = 0;
+                double lossDelta = 0;
+                for (int v = 0; v < n; v++) {
+                    if (v == x || base[v] == Double.MAX_VALUE) continue;
+                    if (after[v] == Double.MAX_VALUE) {
+                        lost.add(ReferenceGraph.name(v));
+                        continue;
+                    }
+                    lossDelta += (after[v] - base[v]) * LOSS_PER_KM;
+                    if (after[v] - base[v] > ReferenceGraph.EPS) {
+                        rerouted++;
+                        total += after[v] - base[v];
+                        worst = Math.max(worst, after[v] - base[v]);
+                    }
+                }
+                String where = context + " x=" + entry.node;
+                assertEquals(lost.size(), entry.disconnected, where);
+                assertEquals(sorted(lost), sorted(entry.disconnectedNodes()), where);
+                assertEquals(rerouted, entry.rerouted, where);
+                assertEquals(total, entry.totalDistanceIncrease, 1e-6, where);
+                assertEquals(worst, entry.maxDistanceIncrease, 1e-6, where);
+                assertEquals(lossDelta, entry.lossIncrease, 1e-6 * Math.max(1, Math.abs(lossDelta)), where);
+            }
+        }
+    }
+
+    // r dan I per saluran: loss dihitung per saluran, bukan jarak * nilai default
+    @Test
+    void lossIncreaseUsesPerLineResistanceAndCurrent() {
+        PathFinder pathFinder = new PathFinder();
+        pathFinder.addEdge("F", "A", 1.0, 0.1, 100.0);               // 3 * 100^2 * 0.1 * 1   = 3000 W
+        pathFinder.addEdge("A", "B", 1.0);                           // 3 * 200^2 * 0.05 * 1  = 6000 W
+        pathFinder.addEdge("F", "C", 1.0, 1.0, 10.0);                // 3 * 10^2 * 1 * 1      = 300 W
+        pathFinder.addEdge("C", "B", 1.5, 1.0, 100.0);               // 3 * 100^2 * 1 * 1.5   = 45000 W
+
+        ContingencyAnalysis.Report report = pathFinder.analyzeContingencies("F", LOSS);
+        ContingencyAnalysis.Entry a = null;
+        for (ContingencyAnalysis.Entry entry : report.ranked) {
+            if (entry.node.equals("A")) a = entry;
+        }
+        assertEquals(0, a.disconnected);
+        assertEquals(1, a.rerouted);
+        assertEquals(0.5, a.totalDistanceIncrease, 1e-12);
+        // B: 3000 + 6000 -> 300 + 45000
+        assertEquals(36300.0, a.lossIncrease, 1e-6);
+    }
+
+    // Pohon dominator langsung: idom[v] harus dominator terdekat hasil brute force
+    @Test
+    void immediateDominatorsMatchBruteForce() {
+        SplittableRandom random = new SplittableRandom(12);
+        for (int round = 0; round < 200; round++) {
+            int n = 2 + random.nextInt(25);
+            ReferenceGraph ref = ReferenceGraph.random(random, n, random.nextInt(3 * n + 1));
+            PathFinder pathFinder = ref.toPathFinder();
+            ref.toggleRandom(random, pathFinder, random.nextInt(1 + n / 4));
+            PathFinder.GraphState st = pathFinder.snapshot();
+            int root = random.nextInt(n);
+            int rootId = pathFinder.getNodeId(ReferenceGraph.name(root));
+            if (rootId < 0 || ref.brokenNode[root]) continue;
+
+            int[] idom = ContingencyAnalysis.dominators(st.graph, st.broken, st.brokenLines, rootId);
+            double[] base = ref.distances(root, false);
+            // dominators[v] = semua x (selain v) yang memutus v jika padam
+            Map<Integer, List<Integer>> dominators = new HashMap<>();
+            for (int v = 0; v < n; v++) dominators.put(v, new ArrayList<>());
+            for (int x = 0; x < n; x++) {
+                if (x == root || base[x] == Double.MAX_VALUE) continue;
+                ref.brokenNode[x] = true;
+                double[] after = ref.distances(root, false);
+                ref.brokenNode[x] = false;
+                for (int v = 0; v < n; v++) {
+                    if (v != x && base[v] != Double.MAX_VALUE && after[v] == Double.MAX_VALUE) dominators.get(v).add(x);
+                }
+            }
+            for (int v = 0; v < n; v++) {
+                int id = pathFinder.getNodeId(ReferenceGraph.name(v));
+                if (id < 0) continue;
+                String where = "round " + round + " v=" + v;
+                if (v == root || base[v] == Double.MAX_VALUE) {
+                    assertEquals(-1, idom[id], where);
+                    continue;
+                }
+                // idom = dominator (termasuk root) yang didominasi semua dominator lain: dominator
+                // terdekat punya himpunan dominator terbesar
+                int expected = root;
+                for (int x : dominators.get(v)) {
+                    if (expected == root || dominators.get(x).size() > dominators.get(expected).size()) expected = x;
+                }
+                assertEquals(ReferenceGraph.name(expected), st.graph.name(idom[id]), where);
+            }
+        }
+    }
+
+    private static List<String> sorted(List<String> names) {
+        List<String> copy = new ArrayList<>(names);
+        copy.sort(null);
+        return copy;
+    }
+}
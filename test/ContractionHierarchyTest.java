@@ -0,0 +1,39 @@
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Rute lewat CH (dan fallback-nya saat jalur CH terkena gangguan) dibandingkan dengan Dijkstra naif
+class ContractionHierarchyTest {
+
+    @Test
+    void routesMatchDijkstraOnRandomGraphs() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int round = 0; round < 200; round++) {
+            int n = 2 + random.nextInt(40);
+            ReferenceGraph ref = ReferenceGraph.random(random, n, random.nextInt(4 * n + 1));
+            PathFinder pathFinder = ref.toPathFinder();
+            pathFinder.prepareContractionHierarchy();
+            assertTrue(pathFinder.hasContractionHierarchy());
+            for (int phase = 0; phase < 3; phase++) {
+                for (int q = 0; q < 30; q++) {
+                    ref.assertRoute(pathFinder, random.nextInt(n), random.nextInt(n), "round " + round + " phase " + phase);
+                }
+                ref.toggleRandom(random, pathFinder, 1 + n / 5);
+            }
+            assertTrue(pathFinder.hasContractionHierarchy(), "gangguan tidak boleh membuang hierarki");
+        }
+    }
+
+    @Test
+    void hierarchyIsDroppedWhenTopologyChanges() {
+        SplittableRandom random = new SplittableRandom(5);
+        ReferenceGraph ref = ReferenceGraph.random(random, 20, 60);
+        PathFinder pathFinder = ref.toPathFinder();
+        pathFinder.prepareContractionHierarchy();
+        pathFinder.addEdge("N0", "N19", 0.5);
+        assertTrue(!pathFinder.hasContractionHierarchy());
+        assertTrue(pathFinder.findShortestPath("N0", "N19").totalCost <= 0.5);
+    }
+}
@@ -0,0 +1,88 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Keterjangkauan inkremental dibandingkan dengan BFS penuh setelah setiap gangguan,
+// termasuk daftar vertex yang berbalik (changed) yang dipakai OutageReplay.
+class DynamicReachabilityTest {
+
+    @Test
+    void matchesBreadthFirstSearchThroughRandomOutages() {
+        SplittableRandom random = new SplittableRandom(20);
+        for (int round = 0; round < 200; round++) {
+            int n = 2 + random.nextInt(40);
+            ReferenceGraph ref = ReferenceGraph.random(random, n, random.nextInt(4 * n + 1));
+            CsrGraph g = ref.toPathFinder().snapshot().graph;
+            int nodeCount = g.nodeCount();
+            if (nodeCount == 0) continue;
+            int[] roots = new int[1 + random.nextInt(Math.min(3, nodeCount))];
+            for (int i = 0; i < roots.length; i++) roots[i] = i * (nodeCount / roots.length);
+
+            ReplayMask nodes = new ReplayMask(nodeCount);
+            ReplayMask lines = new ReplayMask(g.edgeCount());
+            DynamicReachability tree = new DynamicReachability(g, roots, nodes, lines);
+            boolean[] before = reachable(g, roots, nodes, lines);
+            assertReachable(tree, before, "round " + round + " awal");
+
+            for (int step = 0; step < 40; step++) {
+                String context = "round " + round + " step " + step;
+                if (random.nextBoolean() || g.edgeCount() == 0) {
+                    int x = random.nextInt(nodeCount);
+                    boolean trip = !nodes.get(x);
+                    nodes.set(x, trip);
+                    if (trip) tree.nodeBroken(x, nodes, lines);
+                    else tree.nodeRestored(x, nodes, lines);
+                } else {
+                    int e = random.nextInt(g.edgeCount());
+                    boolean trip = !lines.get(e);
+                    lines.set(e, trip);
+                    if (trip) tree.lineBroken(e, nodes, lines);
+                    else tree.lineRestored(e, nodes, lines);
+                }
+                boolean[] after = reachable(g, roots, nodes, lines);
+                assertReachable(tree, after, context);
+
+                List<Integer> expected = new ArrayList<>();
+                for (int v = 0; v < nodeCount; v++) {
+                    if (before[v] != after[v]) expected.add(v);
+                }
+                List<Integer> changed = new ArrayList<>();
+                for (int i = 0; i < tree.changedCount(); i++) changed.add(tree.changed(i));
+                changed.sort(null);
+                assertEquals(expected, changed, context);
+                before = after;
+            }
+        }
+    }
+
+    private static void assertReachable(DynamicReachability tree, boolean[] expected, String context) {
+        for (int v = 0; v < expected.length; v++) {
+            assertEquals(expected[v], tree.isReachable(v), context + " v=" + v);
+        }
+    }
+
+    private static boolean[] reachable(CsrGraph g, int[] roots, ReplayMask nodes, ReplayMask lines) {
+        boolean[] seen = new boolean[g.nodeCount()];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int r : roots) {
+            if (nodes.get(r) || seen[r]) continue;
+            seen[r] = true;
+            queue.add(r);
+        }
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            for (int e = g.offsets[u]; e < g.offsets[u + 1]; e++) {
+                int v = g.targets[e];
+                if (seen[v] || nodes.get(v) || lines.get(e)) continue;
+                seen[v] = true;
+                queue.add(v);
+            }
+        }
+        return seen;
+    }
+}
@@ -0,0 +1,27 @@
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+// Pohon yang dilacak (trackRoot) diperbaiki inkremental setiap gangguan; setelah setiap
+// perubahan, rute dari root ke semua gardu harus sama dengan Dijkstra naif dari nol.
+class DynamicShortestPathTreeTest {
+
+    @Test
+    void trackedTreeMatchesDijkstraAcrossOutageSequences() {
+        SplittableRandom random = new SplittableRandom(4);
+        for (int round = 0; round < 150; round++) {
+            int n = 2 + random.nextInt(30);
+            ReferenceGraph ref = ReferenceGraph.random(random, n, random.nextInt(4 * n + 1));
+            PathFinder pathFinder = ref.toPathFinder();
+            int root = random.nextInt(n);
+            pathFinder.trackRoot(ReferenceGraph.name(root));
+            for (int step = 0; step < 25; step++) {
+                ref.toggleRandom(random, pathFinder, 1);
+                if (step % 8 == 7) ref.setNodeBroken(pathFinder, root, !ref.brokenNode[root]); // root ikut padam/pulih
+                for (int t = 0; t < n; t++) {
+                    ref.assertRoute(pathFinder, root, t, "round " + round + " step " + step);
+                }
+            }
+        }
+    }
+}
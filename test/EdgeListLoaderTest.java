@@ -0,0 +1,82 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EdgeListLoaderTest {
+
+    @TempDir
+    Path dir;
+
+    // Parser bobot tanpa alokasi harus memberi double yang persis sama dengan Double.parseDouble
+    @Test
+    void weightsMatchDoubleParseDouble() throws IOException {
+        SplittableRandom random = new SplittableRandom(7);
+        String[] weights = new String[3000];
+        weights[0] = "954.7528785783065";
+        weights[1] = "0.1";
+        weights[2] = "123456789012345.6";
+        weights[3] = "1e3";
+        weights[4] = "0.0000000000000000000001";
+        for (int i = 5; i < weights.length; i++) {
+            int digits = 1 + random.nextInt(20);
+            StringBuilder b = new StringBuilder();
+            for (int d = 0; d < digits; d++) b.append((char) ('0' + random.nextInt(10)));
+            b.insert(random.nextInt(digits + 1), '.');
+            if (b.charAt(0) == '.') b.insert(0, '0');
+            if (b.charAt(b.length() - 1) == '.') b.append('0');
+            weights[i] = b.toString();
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < weights.length; i++) text.append("A").append(i).append(",B").append(i).append(',').append(weights[i]).append('\n');
+        PathFinder pathFinder = load(text.toString(), 1 << 28);
+
+        CsrGraph g = pathFinder.getGraph();
+        for (int i = 0; i < weights.length; i++) {
+            int u = pathFinder.getNodeId("A" + i);
+            int e = g.firstEdge(u);
+            assertEquals(Double.parseDouble(weights[i]), g.weight(e), 0.0, weights[i]);
+        }
+    }
+
+    // Baris yang lebih panjang dari jendela mapping dibuang utuh, bukan dipotong jadi baris baru
+    @Test
+    void oversizedLineIsSkippedToItsNewline() throws IOException {
+        StringBuilder longLine = new StringBuilder();
+        for (int i = 0; i < 300; i++) longLine.append('L');
+        longLine.append(",M,1");
+        String text = "X,Y,1\n" + longLine + "\nA,B,2\n";
+        EdgeListLoader.LoadReport report = loadReport(text, 64);
+
+        assertEquals(3, report.lines);
+        assertEquals(2, report.edges);
+        assertEquals(1, report.malformed);
+        assertEquals("[2]", report.malformedLines.toString());
+    }
+
+    private PathFinder load(String text, int chunkSize) throws IOException {
+        PathFinder pathFinder = new PathFinder();
+        EdgeListLoader.load(write(text), pathFinder, chunkSize);
+        return pathFinder;
+    }
+
+    private EdgeListLoader.LoadReport loadReport(String text, int chunkSize) throws IOException {
+        PathFinder pathFinder = new PathFinder();
+        EdgeListLoader.LoadReport report = EdgeListLoader.load(write(text), pathFinder, chunkSize);
+        assertEquals(-1, pathFinder.getNodeId("M"), "sisa baris kepanjangan tidak boleh menjadi edge");
+        return report;
+    }
+
+    private File write(String text) throws IOException {
+        Path file = Files.createTempFile(dir, "edges", ".txt");
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        return file.toFile();
+    }
+}
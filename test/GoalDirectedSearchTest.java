@@ -0,0 +1,120 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A* (koordinat planar dan geografis), ALT dan gabungan keduanya dibandingkan dengan Dijkstra
+// naif, dengan gardu padam dan saluran trip. Bobot edge >= jarak koordinat (skala) agar
+// heuristik A* tidak selalu nol, ditambah sebagian edge berbobot nol.
+class GoalDirectedSearchTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void routesMatchDijkstra() throws IOException {
+        SplittableRandom random = new SplittableRandom(7);
+        int withGeometry = 0;
+        for (int round = 0; round < 400; round++) {
+            int n = 2 + random.nextInt(60);
+            boolean geographic = round % 3 == 0;
+            double[] x = new double[n];
+            double[] y = new double[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = geographic ? -7 + random.nextDouble() : random.nextDouble() * 100; // lintang
+                y[i] = geographic ? 110 + random.nextDouble() : random.nextDouble() * 100; // bujur
+            }
+            // edge acak plus loop per gardu agar setiap gardu terdaftar (A* butuh semua koordinat)
+            int m = random.nextInt(n * 4 + 1);
+            int[] from = new int[m + n];
+            int[] to = new int[m + n];
+            double[] weight = new double[m + n];
+            for (int e = 0; e < m; e++) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                double d = Math.hypot(x[u] - x[v], y[u] - y[v]);
+                weight[e] = geographic ? Math.toDegrees(d) * 111 * (1 + random.nextDouble())
+                        : d * (1 + random.nextDouble() * (random.nextInt(4) == 0 ? 3 : 0.2));
+                if (round % 2 == 0 && random.nextInt(10) == 0) weight[e] = 0;
+                from[e] = u;
+                to[e] = v;
+            }
+            for (int i = 0; i < n; i++) {
+                from[m + i] = i;
+                to[m + i] = i;
+                weight[m + i] = 1;
+            }
+            ReferenceGraph ref = ReferenceGraph.of(n, from, to, weight);
+
+            NodeCoordinates coordinates = new NodeCoordinates(geographic);
+            for (int i = 0; i < n; i++) coordinates.put(ReferenceGraph.name(i), x[i], y[i]);
+            PathFinder astar = ref.toPathFinder();
+            PathFinder alt = ref.toPathFinder();
+            PathFinder both = ref.toPathFinder();
+            PathFinder[] all = { astar, alt, both };
+            astar.setCoordinates(coordinates);
+            both.setCoordinates(coordinates);
+            alt.prepareLandmarks(1 + random.nextInt(6));
+            both.prepareLandmarks(1 + random.nextInt(3));
+            // tabel yang dipakai alt berasal dari file
+            File table = dir.resolve("landmark" + round + ".alt").toFile();
+            alt.exportLandmarks(table.getPath());
+            alt.loadLandmarks(table.getPath());
+            assertTrue(alt.hasLandmarks() && both.hasLandmarks(), "round " + round);
+            if (astar.hasCoordinateHeuristic()) withGeometry++;
+
+            for (int k = 0; k < n / 4; k++) {
+                int v = random.nextInt(n);
+                ref.brokenNode[v] = true;
+                for (PathFinder pathFinder : all) pathFinder.setNodeBroken(ReferenceGraph.name(v), true);
+            }
+            for (int k = 0; k < n / 3; k++) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                ref.brokenLine[u][v] = true;
+                for (PathFinder pathFinder : all) pathFinder.setLineBroken(ReferenceGraph.name(u), ReferenceGraph.name(v), true);
+            }
+            for (int q = 0; q < 40; q++) {
+                int s = random.nextInt(n);
+                int t = random.nextInt(n);
+                String[] labels = { "astar", "alt", "both" };
+                for (int i = 0; i < all.length; i++) {
+                    ref.assertRoute(all[i], s, t, "round " + round + " " + labels[i]);
+                }
+            }
+        }
+        // sebagian besar graf planar/geografis memang memakai heuristik koordinat
+        assertTrue(withGeometry > 200, "A* hanya aktif di " + withGeometry + " graf");
+    }
+
+    @Test
+    void staleLandmarkTableIsRejected() throws IOException {
+        PathFinder pathFinder = new PathFinder();
+        pathFinder.addEdge("A", "B", 1.0);
+        pathFinder.addEdge("B", "C", 2.0);
+        pathFinder.prepareLandmarks(2);
+        File table = dir.resolve("graf.alt").toFile();
+        pathFinder.exportLandmarks(table.getPath());
+        // ditulis ulang di atas file lama lewat rename atomik
+        pathFinder.exportLandmarks(table.getPath());
+        assertFalse(new File(table.getPath() + ".tmp").exists());
+
+        pathFinder.addEdge("C", "A", 0.5);
+        IOException e = assertThrows(IOException.class, () -> pathFinder.loadLandmarks(table.getPath()));
+        assertTrue(e.getMessage().startsWith("Tabel landmark dibuat untuk graf lain"), e.getMessage());
+        assertFalse(pathFinder.hasLandmarks());
+
+        // loadOrPrepare menghitung ulang dan menimpa tabel basi
+        pathFinder.loadOrPrepareLandmarks(table.getPath(), 2);
+        assertTrue(pathFinder.hasLandmarks());
+        pathFinder.loadLandmarks(table.getPath());
+        assertTrue(pathFinder.hasLandmarks());
+    }
+}
@@ -0,0 +1,94 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphSnapshotTest {
+
+    private static final int HEADER_BYTES = 4 + 4 + 4 + 4 + 4 + 8;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripKeepsGraph() throws IOException {
+        PathFinder pathFinder = new PathFinder();
+        SplittableRandom random = new SplittableRandom(8);
+        for (int i = 0; i < 500; i++) {
+            pathFinder.addEdge("Gardu Ā" + random.nextInt(120), "Gardu " + random.nextInt(120), random.nextDouble() * 5,
+                    random.nextDouble(), 100 + random.nextInt(500));
+        }
+        CsrGraph g = pathFinder.getGraph();
+        File file = dir.resolve("g.bin").toFile();
+        GraphSnapshot.write(g, file);
+        GraphSnapshot.write(g, file); // menimpa file yang sudah ada
+        CsrGraph read = GraphSnapshot.read(file);
+
+        assertArrayEquals(g.names, read.names);
+        assertArrayEquals(g.offsets, read.offsets);
+        assertArrayEquals(g.targets, read.targets);
+        assertArrayEquals(g.weights, read.weights);
+        assertArrayEquals(g.resistance, read.resistance);
+        assertArrayEquals(g.current, read.current);
+        assertEquals(0, dir.toFile().list((d, name) -> name.endsWith(".tmp")).length);
+    }
+
+    // Jika penggantian gagal (target berupa direktori berisi), file .tmp tidak boleh tertinggal
+    @Test
+    void failedReplaceRemovesTemporaryFile() throws IOException {
+        PathFinder pathFinder = new PathFinder();
+        pathFinder.addEdge("A", "B", 1.0);
+        File target = dir.resolve("g.bin").toFile();
+        assertTrue(target.mkdir());
+        assertTrue(new File(target, "isi").createNewFile());
+
+        assertThrows(IOException.class, () -> GraphSnapshot.write(pathFinder.getGraph(), target));
+        assertEquals(0, dir.toFile().list((d, name) -> name.endsWith(".tmp")).length);
+    }
+
+    // File dengan CRC benar tetapi struktur CSR rusak harus ditolak, bukan menghasilkan graf cacat
+    @Test
+    void rejectsStructurallyBrokenSnapshotWithValidChecksum() throws IOException {
+        PathFinder pathFinder = new PathFinder();
+        pathFinder.addEdge("A", "B", 1);
+        pathFinder.addEdge("B", "C", 2);
+        pathFinder.addEdge("C", "A", 3);
+        CsrGraph g = pathFinder.getGraph();
+        File file = dir.resolve("g.bin").toFile();
+        GraphSnapshot.write(g, file);
+        byte[] original = Files.readAllBytes(file.toPath());
+
+        int n = g.nodeCount();
+        long blobEnd = HEADER_BYTES + 4L * n + ByteBuffer.wrap(original).order(ByteOrder.LITTLE_ENDIAN).getLong(20);
+        int offsetsPos = (int) (blobEnd + (8 - blobEnd % 8) % 8);
+        int targetsPos = offsetsPos + 4 * (n + 1);
+
+        assertRejected(original, targetsPos, n + 5, file);      // target di luar rentang
+        assertRejected(original, offsetsPos + 4, 3, file);      // offset turun
+        assertRejected(original, HEADER_BYTES, 1000, file);     // akhir nama melewati blob
+    }
+
+    private void assertRejected(byte[] original, int pos, int value, File file) throws IOException {
+        byte[] bytes = original.clone();
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(pos, value);
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 8);
+        buf.putLong(bytes.length - 8, crc.getValue());
+        Files.write(file.toPath(), bytes);
+        IOException e = assertThrows(IOException.class, () -> GraphSnapshot.read(file));
+        assertTrue(!e.getMessage().contains("Checksum"), e.getMessage());
+    }
+}
@@ -0,0 +1,75 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Yen dibandingkan dengan enumerasi semua jalur sederhana (DFS) pada graf kecil:
+// biaya k jalur pertama harus sama dengan k biaya terkecil hasil enumerasi.
+class KShortestPathsTest {
+
+    @Test
+    void costsMatchEnumerationOfSimplePaths() {
+        SplittableRandom random = new SplittableRandom(21);
+        for (int round = 0; round < 300; round++) {
+            int n = 2 + random.nextInt(7);
+            ReferenceGraph ref = ReferenceGraph.random(random, n, random.nextInt(3 * n + 1));
+            PathFinder pathFinder = ref.toPathFinder();
+            ref.toggleRandom(random, pathFinder, random.nextInt(3));
+            boolean ignoreBroken = random.nextInt(4) == 0;
+            int s = random.nextInt(n);
+            int t = random.nextInt(n);
+            int k = 1 + random.nextInt(12);
+
+            List<Double> all = new ArrayList<>();
+            boolean[] onPath = new boolean[n];
+            List<String> path = new ArrayList<>();
+            if (ref.present[s] && ref.present[t] && (ignoreBroken || !ref.brokenNode[s])) {
+                enumerate(ref, s, t, ignoreBroken, onPath, path, all);
+            }
+            all.sort(null);
+
+            List<PathFinder.PathResult> results = pathFinder.findKShortestPaths(
+                    ReferenceGraph.name(s), ReferenceGraph.name(t), k, ignoreBroken);
+            String where = "round " + round + " " + s + " -> " + t + " k=" + k;
+            assertEquals(Math.min(k, all.size()), results.size(), where);
+            Set<List<String>> distinct = new HashSet<>();
+            for (int i = 0; i < results.size(); i++) {
+                PathFinder.PathResult result = results.get(i);
+                double expected = all.get(i);
+                assertEquals(expected, result.totalCost, 1e-9 * Math.max(1, expected), where + " #" + i);
+                assertEquals(result.totalCost, ref.pathCost(result.path, ignoreBroken),
+                        1e-9 * Math.max(1, expected), where + " " + result.path);
+                assertEquals(ReferenceGraph.name(s), result.path.get(0), where);
+                assertEquals(ReferenceGraph.name(t), result.path.get(result.path.size() - 1), where);
+                assertEquals(result.path.size(), new HashSet<>(result.path).size(), where + " loop " + result.path);
+                assertTrue(distinct.add(result.path), where + " duplikat " + result.path);
+            }
+        }
+    }
+
+    // Biaya semua jalur sederhana u -> t (edge paralel termurah per langkah, sesuai pathCost)
+    private static void enumerate(ReferenceGraph ref, int u, int t, boolean ignoreBroken,
+                                  boolean[] onPath, List<String> path, List<Double> costs) {
+        onPath[u] = true;
+        path.add(ReferenceGraph.name(u));
+        if (u == t) {
+            costs.add(ref.pathCost(path, ignoreBroken));
+        } else {
+            for (int v = 0; v < ref.n; v++) {
+                if (onPath[v] || (!ignoreBroken && ref.brokenNode[v])) continue;
+                path.add(ReferenceGraph.name(v));
+                boolean linked = !Double.isNaN(ref.pathCost(path.subList(path.size() - 2, path.size()), ignoreBroken));
+                path.remove(path.size() - 1);
+                if (linked) enumerate(ref, v, t, ignoreBroken, onPath, path, costs);
+            }
+        }
+        path.remove(path.size() - 1);
+        onPath[u] = false;
+    }
+}
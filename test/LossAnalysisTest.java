@@ -0,0 +1,50 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LossAnalysisTest {
+
+    private static final LossAnalysis.Parameters LOSS = new LossAnalysis.Parameters(3.0, 0.05, 200.0);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void routeTotalsCountLinesWithOwnAttributes() {
+        PathFinder pathFinder = new PathFinder();
+        pathFinder.addEdge("F", "A", 2.0, 0.1, 100.0);
+        pathFinder.addEdge("A", "B", 1.0);
+        pathFinder.addEdge("B", "C", 1.0, Double.NaN, 50.0);
+
+        LossAnalysis.Totals totals = pathFinder.routeLoss(Arrays.asList("F", "A", "B", "C"), LOSS);
+        assertEquals(3, totals.lines);
+        assertEquals(2, totals.attributedLines);
+        assertEquals(4.0, totals.length, 1e-12);
+        assertEquals(0.2 + 0.05 + 0.05, totals.resistance, 1e-12);
+        assertEquals(3 * (100.0 * 100.0 * 0.2 + 200.0 * 200.0 * 0.05 + 50.0 * 50.0 * 0.05), totals.loss, 1e-6);
+    }
+
+    @Test
+    void csvQuotesNamesWithSeparators() throws IOException {
+        PathFinder pathFinder = new PathFinder();
+        pathFinder.addEdge("GI Ungaran", "Gardu \"Timur\", 2", 1.0);
+        pathFinder.addEdge("Gardu \"Timur\", 2", "G3", 1.0);
+
+        File csv = dir.resolve("loss.csv").toFile();
+        pathFinder.computeLosses("GI Ungaran", LOSS).writeCsv(csv);
+        List<String> lines = Files.readAllLines(csv.toPath(), StandardCharsets.UTF_8);
+        assertEquals(4, lines.size());
+        assertEquals("GI Ungaran,,0.0,0.0,0.0", lines.get(1));
+        assertEquals("\"Gardu \"\"Timur\"\", 2\",GI Ungaran,1.0,0.05,6000.0", lines.get(2));
+        assertEquals("G3,\"Gardu \"\"Timur\"\", 2\",2.0,0.1,12000.0", lines.get(3));
+    }
+}
@@ -0,0 +1,80 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class OutageMaskTest {
+
+    @Test
+    void withAndWithAllMatchBooleanArray() {
+        SplittableRandom random = new SplittableRandom(19);
+        for (int round = 0; round < 200; round++) {
+            int size = 1 + random.nextInt(300);
+            boolean[] expected = new boolean[size];
+            OutageMask mask = OutageMask.EMPTY;
+            for (int step = 0; step < 30; step++) {
+                boolean broken = random.nextBoolean();
+                OutageMask before = mask;
+                boolean changed = false;
+                if (random.nextBoolean()) {
+                    int id = random.nextInt(size);
+                    changed = expected[id] != broken;
+                    expected[id] = broken;
+                    mask = mask.with(id, broken);
+                } else {
+                    int[] ids = new int[random.nextInt(8)];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = random.nextInt(size);
+                        changed |= expected[ids[i]] != broken;
+                        expected[ids[i]] = broken;
+                    }
+                    mask = mask.withAll(ids, ids.length, broken);
+                }
+                String where = "round " + round + " step " + step;
+                if (!changed) assertSame(before, mask, where);
+                int count = 0;
+                for (int id = 0; id < size; id++) {
+                    assertEquals(expected[id], mask.get(id), where + " id=" + id);
+                    if (expected[id]) count++;
+                }
+                assertEquals(count, mask.count(), where);
+                if (count == 0) assertSame(OutageMask.EMPTY, mask, where);
+            }
+        }
+    }
+
+    // Skenario yang diterapkan atau dicabut ulang tidak menaikkan versi (cache dan pohon utuh)
+    @Test
+    void idempotentScenarioKeepsVersion() {
+        PathFinder pathFinder = new PathFinder();
+        pathFinder.addEdge("A", "B", 1.0);
+        pathFinder.addEdge("B", "C", 1.0);
+        List<String[]> lines = new ArrayList<>();
+        lines.add(new String[] { "A", "B" });
+        OutageScenario scenario = new OutageScenario(Arrays.asList("C"), lines);
+
+        long initial = pathFinder.getVersion();
+        pathFinder.clearAllOutages();
+        assertEquals(initial, pathFinder.getVersion());
+        pathFinder.applyOutageScenario(scenario, true);
+        long applied = pathFinder.getVersion();
+        assertNotEquals(initial, applied);
+        pathFinder.applyOutageScenario(scenario, true);
+        assertEquals(applied, pathFinder.getVersion());
+
+        pathFinder.applyOutageScenario(scenario, false);
+        long restored = pathFinder.getVersion();
+        assertNotEquals(applied, restored);
+        pathFinder.applyOutageScenario(scenario, false);
+        pathFinder.applyOutageScenario(new OutageScenario(Collections.emptyList(), Collections.emptyList()), true);
+        pathFinder.clearAllOutages();
+        assertEquals(restored, pathFinder.getVersion());
+    }
+}
@@ -0,0 +1,157 @@
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutageReplayTest {
+
+    private static final long HOUR = 3_600_000L;
+    private static final OutageReplay.Parameters PARAMETERS =
+            new OutageReplay.Parameters(LossAnalysis.Parameters.defaults(), 20.0, 0.85, HOUR);
+
+    // F -> A -> B, F -> C; interval, ENS dan jendela per jam dihitung tangan
+    @Test
+    void intervalsAndEnergyNotSupplied() throws IOException {
+        PathFinder pathFinder = new PathFinder();
+        pathFinder.addEdge("F", "A", 1.0);
+        pathFinder.addEdge("A", "B", 1.0);
+        pathFinder.addEdge("F", "C", 1.0);
+        String log = String.join("\n",
+                "# gangguan uji",
+                "0,A,TRIP",                          // A dan B padam
+                "1000,A,B,TRIP,",                    // 5 field: tidak valid
+                "2024-13-01T00:00:00Z,B,TRIP",       // bulan 13: tidak valid
+                "1800000,A,B,TRIP",
+                "1900000,X,TRIP",                    // gardu tidak dikenal
+                "1970-01-01T01:00:00Z,A,RESTORE",   // A pulih, B masih lewat saluran trip
+                "abc",
+                "5400000, A , B ,restore",           // B pulih
+                "7200000,C,TRIP",                    // C padam sampai akhir log
+                "100,A,JUMP",                        // aksi tidak dikenal
+                "9000000,F,C,RESTORE");
+        Recorder recorder = new Recorder();
+        OutageReplay.Report report = pathFinder.replayOutages(new StringReader(log),
+                Collections.singletonList("F"), PARAMETERS, recorder);
+
+        double load = PARAMETERS.loadKw();
+        assertEquals(6, report.events);
+        assertEquals(1, report.unknown);
+        assertEquals(4, report.malformed);
+        assertEquals(Arrays.asList(3L, 4L, 8L, 11L), report.malformedLines);
+        assertEquals(0, report.outOfOrder);
+        assertEquals(3, report.intervals);
+        assertEquals(3 * HOUR, report.outageMillis);
+        assertEquals(2, report.peakUnsupplied);
+        assertEquals(0, report.peakTime);
+        assertEquals(1, report.unsuppliedAtEnd);
+        assertEquals(0, report.neverSupplied);
+        assertEquals(9_000_000L, report.lastTime);
+        assertEquals(3 * load, report.energyNotSuppliedKwh, 1e-6);
+
+        assertEquals(3, recorder.intervals.size());
+        assertInterval(recorder.intervals.get(0), "A", 0, HOUR, false, load);
+        assertInterval(recorder.intervals.get(1), "B", 0, 3 * HOUR / 2, false, 1.5 * load);
+        assertInterval(recorder.intervals.get(2), "C", 2 * HOUR, 9_000_000L, true, 0.5 * load);
+
+        assertEquals("B", report.worst.get(0).node);
+        assertEquals(3 * HOUR / 2, report.worst.get(0).outageMillis);
+
+        // jendela: [0, 1j), [1j, 2j), [2j, 2,5j)
+        assertEquals(3, recorder.windows.size());
+        assertWindow(recorder.windows.get(0), 0, HOUR, 2, 2, 0, 2, 2, 2 * load);
+        assertWindow(recorder.windows.get(1), HOUR, 2 * HOUR, 2, 0, 2, 0, 2, 0.5 * load);
+        assertWindow(recorder.windows.get(2), 2 * HOUR, 9_000_000L, 2, 1, 1, 1, 1, 0.5 * load);
+    }
+
+    // Gardu hilir ikut padam; namanya berisi koma dan kutip sehingga harus di-quote (RFC 4180)
+    @Test
+    void csvQuotesNodeNames() throws IOException {
+        PathFinder pathFinder = new PathFinder();
+        pathFinder.addEdge("F", "A", 1.0);
+        pathFinder.addEdge("A", "Gardu \"Timur\", 2", 1.0);
+        StringWriter intervals = new StringWriter();
+        try (OutageReplay.CsvListener csv = new OutageReplay.CsvListener(intervals, null)) {
+            pathFinder.replayOutages(new StringReader("0,A,TRIP\n60000,A,RESTORE\n"),
+                    Collections.singletonList("F"), PARAMETERS, csv);
+        }
+        String[] lines = intervals.toString().split("\n");
+        assertEquals(3, lines.length);
+        List<String> rows = Arrays.asList(lines[1], lines[2]);
+        rows.sort(null);
+        assertTrue(rows.get(0).startsWith("\"Gardu \"\"Timur\"\", 2\",1970-01-01T00:00:00Z,1970-01-01T00:01:00Z,1.0,"),
+                rows.get(0));
+        assertTrue(rows.get(1).startsWith("A,1970-01-01T00:00:00Z,"), rows.get(1));
+    }
+
+    @Test
+    void timestampsGoingBackwardsAreClampedAndCounted() throws IOException {
+        PathFinder pathFinder = new PathFinder();
+        pathFinder.addEdge("F", "A", 1.0);
+        String log = "1000,A,TRIP\n500,A,RESTORE\n";
+        Recorder recorder = new Recorder();
+        OutageReplay.Report report = pathFinder.replayOutages(new StringReader(log),
+                Collections.singletonList("F"), PARAMETERS, recorder);
+        assertEquals(1, report.outOfOrder);
+        assertEquals(1, recorder.intervals.size());
+        assertEquals(0, recorder.intervals.get(0).durationMillis());
+        assertFalse(recorder.intervals.get(0).ongoing);
+    }
+
+    @Test
+    void parseTimeRejectsInvalidDatesAsIllegalArgument() {
+        assertEquals(1_709_288_130_000L, OutageReplay.parseTime("2024-03-01T10:15:30Z"));
+        assertEquals(1_709_288_130_250L, OutageReplay.parseTime("2024-03-01 10:15:30.25"));
+        assertEquals(1_709_288_130_000L, OutageReplay.parseTime("1709288130000"));
+        assertThrows(IllegalArgumentException.class, () -> OutageReplay.parseTime("2024-13-01T00:00:00Z"));
+        assertThrows(IllegalArgumentException.class, () -> OutageReplay.parseTime("2023-02-29T00:00:00"));
+        assertThrows(IllegalArgumentException.class, () -> OutageReplay.parseTime("2024-03-01T24:00:00Z"));
+    }
+
+    private static void assertInterval(OutageReplay.Interval interval, String node, long start, long end,
+                                       boolean ongoing, double ens) {
+        assertEquals(node, interval.node);
+        assertEquals(start, interval.start, node);
+        assertEquals(end, interval.end, node);
+        assertEquals(ongoing, interval.ongoing, node);
+        assertEquals(ens, interval.energyNotSuppliedKwh, 1e-6, node);
+    }
+
+    private static void assertWindow(OutageReplay.Window window, long start, long end, int events, int trips,
+                                     int restores, int unsupplied, int peak, double ens) {
+        String where = "jendela " + start;
+        assertEquals(start, window.start, where);
+        assertEquals(end, window.end, where);
+        assertEquals(events, window.events, where);
+        assertEquals(trips, window.trips, where);
+        assertEquals(restores, window.restores, where);
+        assertEquals(unsupplied, window.unsupplied, where);
+        assertEquals(peak, window.peakUnsupplied, where);
+        assertEquals(ens, window.energyNotSuppliedKwh, 1e-6, where);
+        assertTrue(window.energyNotSuppliedKwh >= 0, where);
+    }
+
+    private static final class Recorder implements OutageReplay.Listener {
+        final List<OutageReplay.Interval> intervals = new ArrayList<>();
+        final List<OutageReplay.Window> windows = new ArrayList<>();
+
+        @Override
+        public void interval(OutageReplay.Interval interval) {
+            intervals.add(interval);
+        }
+
+        @Override
+        public void window(OutageReplay.Window window) {
+            windows.add(window);
+        }
+    }
+}
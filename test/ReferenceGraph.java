@@ -0,0 +1,165 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Graf acak beserta Dijkstra pembanding yang sengaja naif (PriorityQueue tanpa decrease-key,
+// tidak memakai kode produksi) untuk test brute-force. Gardu bernama "N<i>"; gangguan dicatat
+// di sini dan diteruskan ke PathFinder lewat API publiknya.
+final class ReferenceGraph {
+
+    static final double EPS = 1e-9;
+
+    final int n;
+    final int[] from;
+    final int[] to;
+    final double[] weight;
+    final boolean[] present;      // gardu muncul di minimal satu edge (PathFinder hanya mengenal gardu ini)
+    final boolean[] brokenNode;
+    final boolean[][] brokenLine; // per pasangan u -> v, semua edge paralel sekaligus
+
+    private ReferenceGraph(int n, int[] from, int[] to, double[] weight) {
+        this.n = n;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+        this.present = new boolean[n];
+        this.brokenNode = new boolean[n];
+        this.brokenLine = new boolean[n][n];
+        for (int e = 0; e < from.length; e++) {
+            present[from[e]] = true;
+            present[to[e]] = true;
+        }
+    }
+
+    // m edge berarah acak; bobot sebagian besar bilangan bulat kecil (banyak jalur seri), sebagian 0
+    static ReferenceGraph random(SplittableRandom random, int n, int m) {
+        int[] from = new int[m];
+        int[] to = new int[m];
+        double[] weight = new double[m];
+        for (int e = 0; e < m; e++) {
+            from[e] = random.nextInt(n);
+            to[e] = random.nextInt(n);
+            int kind = random.nextInt(10);
+            weight[e] = kind == 0 ? 0 : kind < 6 ? 1 + random.nextInt(9) : random.nextDouble() * 10;
+        }
+        return new ReferenceGraph(n, from, to, weight);
+    }
+
+    // Graf dengan edge tertentu (mis. bobot dari koordinat untuk uji A*)
+    static ReferenceGraph of(int n, int[] from, int[] to, double[] weight) {
+        return new ReferenceGraph(n, from.clone(), to.clone(), weight.clone());
+    }
+
+    static String name(int v) {
+        return "N" + v;
+    }
+
+    PathFinder toPathFinder() {
+        PathFinder pathFinder = new PathFinder();
+        for (int e = 0; e < from.length; e++) pathFinder.addEdge(name(from[e]), name(to[e]), weight[e]);
+        return pathFinder;
+    }
+
+    void setNodeBroken(PathFinder pathFinder, int v, boolean broken) {
+        brokenNode[v] = broken;
+        pathFinder.setNodeBroken(name(v), broken);
+    }
+
+    void setLineBroken(PathFinder pathFinder, int u, int v, boolean broken) {
+        brokenLine[u][v] = broken;
+        pathFinder.setLineBroken(name(u), name(v), broken);
+    }
+
+    // Gangguan acak: gardu dan saluran yang ada di graf dibalik statusnya
+    void toggleRandom(SplittableRandom random, PathFinder pathFinder, int count) {
+        for (int i = 0; i < count; i++) {
+            if (random.nextBoolean()) {
+                int v = random.nextInt(n);
+                setNodeBroken(pathFinder, v, !brokenNode[v]);
+            } else if (from.length > 0) {
+                int e = random.nextInt(from.length);
+                setLineBroken(pathFinder, from[e], to[e], !brokenLine[from[e]][to[e]]);
+            }
+        }
+    }
+
+    // Jarak dari s ke semua gardu; Double.MAX_VALUE jika tidak terjangkau
+    double[] distances(int s, boolean ignoreBroken) {
+        double[] dist = new double[n];
+        Arrays.fill(dist, Double.MAX_VALUE);
+        if (!present[s] || (!ignoreBroken && brokenNode[s])) return dist;
+        List<List<Integer>> out = adjacency();
+        PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+        dist[s] = 0;
+        queue.add(new double[] { 0, s });
+        while (!queue.isEmpty()) {
+            double[] top = queue.poll();
+            int u = (int) top[1];
+            if (top[0] > dist[u]) continue;
+            for (int e : out.get(u)) {
+                int v = to[e];
+                if (!ignoreBroken && (brokenNode[v] || brokenLine[u][v])) continue;
+                if (dist[u] + weight[e] < dist[v]) {
+                    dist[v] = dist[u] + weight[e];
+                    queue.add(new double[] { dist[v], v });
+                }
+            }
+        }
+        return dist;
+    }
+
+    double distance(int s, int t) {
+        return distances(s, false)[t];
+    }
+
+    List<List<Integer>> adjacency() {
+        List<List<Integer>> out = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) out.add(new ArrayList<>());
+        for (int e = 0; e < from.length; e++) out.get(from[e]).add(e);
+        return out;
+    }
+
+    // Biaya jalur bernama (edge termurah yang hidup per langkah), NaN jika jalur tidak sah
+    double pathCost(List<String> path, boolean ignoreBroken) {
+        double cost = 0;
+        for (int i = 0; i < path.size(); i++) {
+            int v = Integer.parseInt(path.get(i).substring(1));
+            if (!ignoreBroken && brokenNode[v]) return Double.NaN;
+            if (i == 0) continue;
+            int u = Integer.parseInt(path.get(i - 1).substring(1));
+            double best = Double.NaN;
+            for (int e = 0; e < from.length; e++) {
+                if (from[e] != u || to[e] != v || (!ignoreBroken && brokenLine[u][v])) continue;
+                if (Double.isNaN(best) || weight[e] < best) best = weight[e];
+            }
+            if (Double.isNaN(best)) return Double.NaN;
+            cost += best;
+        }
+        return cost;
+    }
+
+    // Hasil PathFinder harus sama dengan pembanding: ada/tidaknya jalur, biaya, dan jalur yang sah
+    void assertRoute(PathFinder.PathResult result, int s, int t, boolean ignoreBroken, String context) {
+        double expected = distances(s, ignoreBroken)[t];
+        String where = context + " " + name(s) + " -> " + name(t);
+        if (expected == Double.MAX_VALUE) {
+            assertTrue(result.path.isEmpty(), where + ": seharusnya tidak ada jalur, dapat " + result.path);
+            return;
+        }
+        assertFalse(result.path.isEmpty(), where + ": jalur tidak ditemukan, seharusnya " + expected);
+        assertEquals(expected, result.totalCost, EPS * Math.max(1, expected), where);
+        assertEquals(name(s), result.path.get(0), where);
+        assertEquals(name(t), result.path.get(result.path.size() - 1), where);
+        assertEquals(expected, pathCost(result.path, ignoreBroken), EPS * Math.max(1, expected), where + " " + result.path);
+    }
+
+    void assertRoute(PathFinder pathFinder, int s, int t, String context) {
+        assertRoute(pathFinder.findShortestPath(name(s), name(t)), s, t, false, context);
+    }
+}
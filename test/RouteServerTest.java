@@ -0,0 +1,257 @@
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// RouteServer end-to-end di port bebas: JSON setiap endpoint, status error, dan satu koneksi
+// keep-alive dengan request pipelined. parseQuery dan escaping Json diuji langsung.
+class RouteServerTest {
+
+    private static final String QUOTED = "Gardu \"Timur\" \\1";
+    private static final String QUOTED_JSON = "\"Gardu \\\"Timur\\\" \\\\1\"";
+
+    private PathFinder pathFinder;
+    private RouteServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void start() throws IOException {
+        pathFinder = new PathFinder();
+        pathFinder.addEdge("A", "B", 1.0);
+        pathFinder.addEdge("B", "C", 2.0);
+        pathFinder.addEdge("A", "C", 5.0);
+        pathFinder.addEdge("B", QUOTED, 1.5);
+        server = new RouteServer(pathFinder, 0);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    void parseQueryDecodesPairs() {
+        Map<String, String> expected = new HashMap<>();
+        expected.put("start", "Gardu 1");
+        expected.put("end", "a&b=c");
+        expected.put("flag", "");
+        expected.put("plus", "x y");
+        assertEquals(expected, RouteServer.parseQuery("start=Gardu%201&end=a%26b%3Dc&flag&plus=x+y"));
+        assertEquals(new HashMap<>(), RouteServer.parseQuery(null));
+        assertEquals(new HashMap<>(), RouteServer.parseQuery(""));
+    }
+
+    @Test
+    void jsonEscapesStringsAndSeparatesElements() {
+        RouteServer.Json json = new RouteServer.Json().beginObject()
+                .field("s", "a\"b\\c\nd\re\tf\u0001")
+                .field("n", 3L)
+                .field("d", Double.NaN)
+                .field("b", true)
+                .name("list").beginArray().value("x").beginObject().endObject().beginArray().endArray().endArray()
+                .endObject();
+        assertEquals("{\"s\":\"a\\\"b\\\\c\\nd\\re\\tf\\u0001\",\"n\":3,\"d\":null,\"b\":true,\"list\":[\"x\",{},[]]}",
+                new String(json.toBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void routeReturnsPathAndLoss() throws Exception {
+        assertEquals(200, get("/route?start=A&end=C").statusCode());
+        assertEquals(routeJson("A", "C", 3.0, "A", "B", "C"), get("/route?start=A&end=C").body());
+        assertEquals(routeJson("A", QUOTED, 2.5, "A", "B", QUOTED),
+                get("/route?start=A&end=Gardu%20%22Timur%22%20%5C1").body());
+        assertEquals("{\"start\":\"C\",\"end\":\"A\",\"found\":false}", get("/route?start=C&end=A").body());
+        assertEquals("{\"start\":\"A\",\"end\":\"Z\",\"found\":false}", get("/route?start=A&end=Z").body());
+
+        HttpResponse<String> missing = get("/route?start=A");
+        assertEquals(400, missing.statusCode());
+        assertEquals("{\"error\":\"Parameter 'end' wajib diisi\"}", missing.body());
+        assertEquals("application/json; charset=utf-8", missing.headers().firstValue("Content-Type").orElse(""));
+        assertEquals(405, post("/route?start=A&end=C", "").statusCode());
+    }
+
+    @Test
+    void batchKeepsRequestOrder() throws Exception {
+        // pasangan identik tetap objek query terpisah (IdentityHashMap) dan masing-masing dijawab
+        HttpResponse<String> response = post("/batch", "A,C\nC,A\n\n A , C \nA,Z\n");
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"count\":4,\"results\":[" + routeJson("A", "C", 3.0, "A", "B", "C")
+                + ",{\"start\":\"C\",\"end\":\"A\",\"found\":false},"
+                + routeJson("A", "C", 3.0, "A", "B", "C")
+                + ",{\"start\":\"A\",\"end\":\"Z\",\"found\":false}]}", response.body());
+        assertEquals("{\"count\":0,\"results\":[]}", post("/batch", "").body());
+
+        HttpResponse<String> invalid = post("/batch", "A,C\nA C\n");
+        assertEquals(400, invalid.statusCode());
+        assertEquals("{\"error\":\"Baris batch harus \\\"start,end\\\": A C\"}", invalid.body());
+        assertEquals(405, get("/batch").statusCode());
+    }
+
+    @Test
+    void brokenNodesAndLines() throws Exception {
+        assertEquals("{\"version\":" + version() + ",\"count\":0,\"nodes\":[],\"lineCount\":0,\"lines\":[]}",
+                get("/broken").body());
+
+        HttpResponse<String> node = post("/broken?node=B&broken=true", "");
+        assertEquals(200, node.statusCode());
+        assertEquals("{\"node\":\"B\",\"broken\":true,\"version\":" + version() + ",\"outages\":1}", node.body());
+        assertEquals(routeJson("A", "C", 5.0, "A", "C"), get("/route?start=A&end=C").body());
+        assertEquals(routeJson("A", "C", 3.0, "A", "B", "C"), get("/route?start=A&end=C&ignoreBroken=true").body());
+
+        HttpResponse<String> line = post("/broken?source=A&destination=C&broken=true", "");
+        assertEquals("{\"source\":\"A\",\"destination\":\"C\",\"broken\":true,\"version\":" + version()
+                + ",\"lineOutages\":1}", line.body());
+        assertEquals("{\"version\":" + version() + ",\"count\":1,\"nodes\":[\"B\"],\"lineCount\":1,"
+                + "\"lines\":[{\"source\":\"A\",\"destination\":\"C\"}]}", get("/broken").body());
+        assertEquals("{\"start\":\"A\",\"end\":\"C\",\"found\":false}", get("/route?start=A&end=C").body());
+
+        String restored = post("/broken?node=B", "").body(); // broken tidak diisi = false
+        assertEquals("{\"node\":\"B\",\"broken\":false,\"version\":" + version() + ",\"outages\":0}", restored);
+        restored = post("/broken?source=A&destination=C&broken=false", "").body();
+        assertEquals("{\"source\":\"A\",\"destination\":\"C\",\"broken\":false,\"version\":" + version()
+                + ",\"lineOutages\":0}", restored);
+        assertEquals(routeJson("A", "C", 3.0, "A", "B", "C"), get("/route?start=A&end=C").body());
+
+        HttpResponse<String> unknownNode = post("/broken?node=Z&broken=true", "");
+        assertEquals(404, unknownNode.statusCode());
+        assertEquals("{\"error\":\"Gardu tidak dikenal: Z\"}", unknownNode.body());
+        HttpResponse<String> unknownLine = post("/broken?source=C&destination=A&broken=true", "");
+        assertEquals(404, unknownLine.statusCode());
+        assertEquals("{\"error\":\"Saluran tidak dikenal: C -> A\"}", unknownLine.body());
+        assertEquals(400, post("/broken?source=A&broken=true", "").statusCode());
+        assertEquals(400, post("/broken", "").statusCode());
+        assertEquals(405, send("DELETE", "/broken?node=B", "").statusCode());
+    }
+
+    @Test
+    void verticesListPrefixAndSearch() throws Exception {
+        assertEquals("[\"A\",\"B\",\"C\"," + QUOTED_JSON + "]", get("/vertices").body());
+        pathFinder.addEdge("C", "Bantul", 1.0);
+        assertEquals("[\"A\",\"B\",\"Bantul\",\"C\"," + QUOTED_JSON + "]", get("/vertices").body()); // cache ikut graf baru
+        assertEquals("[\"B\",\"Bantul\"]", get("/vertices?prefix=B").body());
+        assertEquals("[]", get("/vertices?prefix=b").body());
+        assertEquals("[" + QUOTED_JSON + "]", get("/vertices?q=timur").body());
+        assertEquals("[\"B\"]", get("/vertices?q=b&limit=1").body());
+
+        HttpResponse<String> badLimit = get("/vertices?q=a&limit=0");
+        assertEquals(400, badLimit.statusCode());
+        assertEquals("{\"error\":\"Parameter 'limit' harus bilangan bulat positif\"}", badLimit.body());
+        assertEquals(405, post("/vertices", "").statusCode());
+    }
+
+    // Tiga request dikirim sekaligus di satu koneksi; respons harus datang berurutan dan lengkap
+    @Test
+    void pipelinedKeepAliveRequests() throws Exception {
+        try (Socket socket = new Socket("127.0.0.1", server.port())) {
+            socket.setSoTimeout(10_000);
+            OutputStream out = socket.getOutputStream();
+            String host = "Host: 127.0.0.1\r\n";
+            out.write(("GET /route?start=A&end=C HTTP/1.1\r\n" + host + "\r\n"
+                    + "POST /batch HTTP/1.1\r\n" + host + "Content-Length: 8\r\n\r\nA,C\nC,A\n"
+                    + "GET /route?start=A HTTP/1.1\r\n" + host + "\r\n"
+                    + "GET /vertices?prefix=A HTTP/1.1\r\n" + host + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            assertEquals(200, readResponse(in, body));
+            assertEquals(routeJson("A", "C", 3.0, "A", "B", "C"), body.toString(StandardCharsets.UTF_8));
+            body.reset();
+            assertEquals(200, readResponse(in, body));
+            assertEquals("{\"count\":2,\"results\":[" + routeJson("A", "C", 3.0, "A", "B", "C")
+                    + ",{\"start\":\"C\",\"end\":\"A\",\"found\":false}]}", body.toString(StandardCharsets.UTF_8));
+            body.reset();
+            assertEquals(400, readResponse(in, body));
+            body.reset();
+            assertEquals(200, readResponse(in, body));
+            assertEquals("[\"A\"]", body.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return send("GET", path, null);
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        return send("POST", path, body);
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.port() + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private long version() {
+        return pathFinder.snapshot().version;
+    }
+
+    // JSON /route yang diharapkan; resistansi dan loss dihitung ulang lewat PathFinder.routeLoss
+    private String routeJson(String start, String end, double km, String... path) {
+        List<String> nodes = Arrays.asList(path);
+        LossAnalysis.Totals totals = pathFinder.routeLoss(nodes, LossAnalysis.Parameters.defaults());
+        StringBuilder json = new StringBuilder();
+        json.append("{\"start\":").append(quote(start)).append(",\"end\":").append(quote(end))
+                .append(",\"found\":true,\"km\":").append(km)
+                .append(",\"resistanceOhm\":").append(totals.resistance)
+                .append(",\"lossWatt\":").append(totals.loss).append(",\"path\":[");
+        for (int i = 0; i < path.length; i++) {
+            if (i > 0) json.append(',');
+            json.append(quote(path[i]));
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String quote(String name) {
+        return name.equals(QUOTED) ? QUOTED_JSON : "\"" + name + "\"";
+    }
+
+    // Satu respons HTTP/1.1 ber-Content-Length (tanpa chunked); body disalin ke sink
+    private static int readResponse(InputStream in, ByteArrayOutputStream sink) throws IOException {
+        int status = Integer.parseInt(readLine(in).substring(9, 12));
+        int length = 0;
+        for (String header = readLine(in); !header.isEmpty(); header = readLine(in)) {
+            int colon = header.indexOf(':');
+            if (header.substring(0, colon).trim().equalsIgnoreCase("Content-Length")) {
+                length = Integer.parseInt(header.substring(colon + 1).trim());
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            int b = in.read();
+            if (b < 0) throw new EOFException("Body respons terpotong");
+            sink.write(b);
+        }
+        return status;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int b = in.read(); b != '\n'; b = in.read()) {
+            if (b < 0) throw new EOFException("Koneksi ditutup server");
+            if (b != '\r') line.append((char) b);
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,126 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Cache pohon single-source: hasil harus tetap sama dengan Dijkstra naif setelah gangguan dan
+// addEdge (kunci versi), mode ignoreBroken punya entri sendiri, dan anggaran byte ditegakkan (LRU).
+class ShortestPathCacheTest {
+
+    @Test
+    void routesStayCorrectAcrossOutagesAndAddEdge() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int round = 0; round < 40; round++) {
+            int n = 2 + random.nextInt(30);
+            ReferenceGraph ref = ReferenceGraph.random(random, n, random.nextInt(n * 3 + 1) + 1);
+            PathFinder pathFinder = ref.toPathFinder();
+            pathFinder.enableResultCache(1 << 20);
+            PathFinderMetrics metrics = pathFinder.enableMetrics();
+
+            for (int step = 0; step < 6; step++) {
+                // dua kali per pasangan: yang kedua harus dijawab dari cache versi yang sama
+                for (int pass = 0; pass < 2; pass++) {
+                    for (int s = 0; s < n; s++) {
+                        for (int t = 0; t < n; t++) {
+                            String context = "round " + round + " step " + step;
+                            ref.assertRoute(pathFinder, s, t, context);
+                            ref.assertRoute(pathFinder.findShortestPath(ReferenceGraph.name(s), ReferenceGraph.name(t), true),
+                                    s, t, true, context + " ignoreBroken");
+                        }
+                    }
+                }
+                if (step % 2 == 0) {
+                    ref.toggleRandom(random, pathFinder, 1 + random.nextInt(3));
+                } else {
+                    // saluran baru selalu hidup, jadi jangan menambah paralel dari pasangan yang sedang trip
+                    int u = random.nextInt(n);
+                    int v = random.nextInt(n);
+                    if (ref.brokenLine[u][v]) continue;
+                    ref = withEdge(ref, u, v, 1 + random.nextInt(5));
+                    int e = ref.from.length - 1;
+                    pathFinder.addEdge(ReferenceGraph.name(ref.from[e]), ReferenceGraph.name(ref.to[e]), ref.weight[e]);
+                }
+            }
+            ShortestPathCache cache = pathFinder.getResultCache();
+            assertTrue(cache.getHits() > 0, "round " + round + ": " + cache);
+            // hit dicatat sebagai cache, miss sebagai Dijkstra (pohon penuh dibangun lalu disimpan)
+            assertEquals(cache.getHits(), metrics.getCacheQueries(), "round " + round);
+            assertEquals(cache.getMisses(), metrics.getDijkstraQueries(), "round " + round);
+        }
+    }
+
+    // Pohon mode normal tidak boleh menjawab query ignoreBroken, dan sebaliknya
+    @Test
+    void ignoreBrokenHasItsOwnEntry() {
+        ReferenceGraph ref = ReferenceGraph.of(3, new int[] { 0, 1 }, new int[] { 1, 2 }, new double[] { 1, 2 });
+        PathFinder pathFinder = ref.toPathFinder();
+        pathFinder.enableResultCache(1 << 20);
+        ref.setNodeBroken(pathFinder, 1, true);
+
+        assertTrue(pathFinder.findShortestPath("N0", "N2").path.isEmpty());
+        assertEquals(Arrays.asList("N0", "N1", "N2"), pathFinder.findShortestPath("N0", "N2", true).path);
+        assertTrue(pathFinder.findShortestPath("N0", "N2").path.isEmpty());
+        assertEquals(3.0, pathFinder.findShortestPath("N0", "N2", true).totalCost, ReferenceGraph.EPS);
+
+        ShortestPathCache cache = pathFinder.getResultCache();
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWithinBudget() {
+        CsrGraph g = new PathFinder().getGraph();
+        ShortestPathCache.Tree tree = tree(g, 10);
+        ShortestPathCache cache = new ShortestPathCache(2 * tree.bytes());
+
+        cache.put(0, false, 1, tree(g, 10));
+        cache.put(1, false, 1, tree(g, 10));
+        assertNotNull(cache.get(0, false, 1)); // 0 jadi yang terakhir dipakai
+        cache.put(2, false, 1, tree(g, 10));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.get(1, false, 1));
+        assertNotNull(cache.get(0, false, 1));
+        assertNotNull(cache.get(2, false, 1));
+        assertTrue(cache.getUsedBytes() <= cache.getBudgetBytes());
+
+        // pohon yang lebih besar dari seluruh anggaran tidak disimpan dan tidak mengusir entri lain
+        cache.put(3, false, 1, tree(g, 100));
+        assertNull(cache.get(3, false, 1));
+        assertEquals(2, cache.size());
+
+        // versi baru membuang semua entri versi lama; put untuk versi lama diabaikan
+        assertNull(cache.get(0, false, 2));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getUsedBytes());
+        cache.put(0, false, 1, tree(g, 10));
+        assertEquals(0, cache.size());
+    }
+
+    private static ShortestPathCache.Tree tree(CsrGraph g, int n) {
+        return new ShortestPathCache.Tree(g, new double[n], new int[n]);
+    }
+
+    // Salinan ref dengan satu edge tambahan; status gangguan ikut disalin, kecuali untuk gardu
+    // yang belum ada di graf (PathFinder mengabaikan gangguan pada gardu yang tidak dikenal)
+    private static ReferenceGraph withEdge(ReferenceGraph ref, int u, int v, double w) {
+        int m = ref.from.length;
+        int[] from = Arrays.copyOf(ref.from, m + 1);
+        int[] to = Arrays.copyOf(ref.to, m + 1);
+        double[] weight = Arrays.copyOf(ref.weight, m + 1);
+        from[m] = u;
+        to[m] = v;
+        weight[m] = w;
+        ReferenceGraph next = ReferenceGraph.of(ref.n, from, to, weight);
+        for (int i = 0; i < ref.n; i++) next.brokenNode[i] = ref.present[i] && ref.brokenNode[i];
+        for (int i = 0; i < ref.n; i++) System.arraycopy(ref.brokenLine[i], 0, next.brokenLine[i], 0, ref.n);
+        return next;
+    }
+}
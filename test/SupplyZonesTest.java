@@ -0,0 +1,127 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Zona suplai yang dijaga hidup dibandingkan dengan Dijkstra naif per feeder setelah setiap
+// gangguan: jarak = minimum atas feeder hidup, dan feeder zona memang mencapai jarak itu.
+class SupplyZonesTest {
+
+    @Test
+    void trackedZonesMatchPerFeederDijkstra() {
+        SplittableRandom random = new SplittableRandom(18);
+        for (int round = 0; round < 150; round++) {
+            int n = 2 + random.nextInt(30);
+            ReferenceGraph ref = ReferenceGraph.random(random, n, random.nextInt(4 * n + 1));
+            PathFinder pathFinder = ref.toPathFinder();
+            List<Integer> feeders = new ArrayList<>();
+            List<String> feederNames = new ArrayList<>();
+            int wanted = 1 + random.nextInt(4);
+            for (int attempt = 0; attempt < 4 * wanted && feeders.size() < wanted; attempt++) {
+                int f = random.nextInt(n);
+                if (!ref.present[f] || feeders.contains(f)) continue;
+                feeders.add(f);
+                feederNames.add(ReferenceGraph.name(f));
+            }
+            if (feeders.isEmpty()) continue;
+            pathFinder.trackSupplyZones(feederNames);
+
+            for (int step = 0; step < 20; step++) {
+                String context = "round " + round + " step " + step;
+                if (step % 7 == 6) {
+                    int f = feeders.get(random.nextInt(feeders.size()));
+                    ref.setNodeBroken(pathFinder, f, !ref.brokenNode[f]);
+                } else {
+                    ref.toggleRandom(random, pathFinder, 1 + random.nextInt(2));
+                }
+                assertZones(ref, pathFinder, feeders, pathFinder.getSupplyZones(), context);
+            }
+        }
+    }
+
+    // Hutan dibangun di luar writeLock; gangguan yang masuk selama pembangunan tidak boleh hilang
+    @Test
+    void trackingWhileOutagesChangeEndsConsistent() throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(19);
+        for (int round = 0; round < 30; round++) {
+            int n = 200 + random.nextInt(200);
+            ReferenceGraph ref = ReferenceGraph.random(random, n, 4 * n);
+            PathFinder pathFinder = ref.toPathFinder();
+            List<Integer> feeders = new ArrayList<>();
+            List<String> feederNames = new ArrayList<>();
+            for (int f = 0; f < n && feeders.size() < 3; f += n / 3) {
+                if (!ref.present[f]) continue;
+                feeders.add(f);
+                feederNames.add(ReferenceGraph.name(f));
+            }
+            SplittableRandom toggles = random.split();
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < 300; i++) ref.toggleRandom(toggles, pathFinder, 1);
+            });
+            writer.start();
+            for (int i = 0; i < 5; i++) pathFinder.trackSupplyZones(feederNames);
+            writer.join();
+            assertZones(ref, pathFinder, feeders, pathFinder.getSupplyZones(), "round " + round);
+        }
+    }
+
+    @Test
+    void outOfRangeIdsAreUnsupplied() {
+        PathFinder pathFinder = new PathFinder();
+        pathFinder.addEdge("F", "A", 1.0);
+        SupplyZones zones = pathFinder.computeSupplyZones(Collections.singletonList("F"));
+        for (int id : new int[] { -1, 2, 99 }) {
+            assertEquals(-1, zones.zoneOf(id));
+            assertEquals(null, zones.feederOf(id));
+            assertTrue(Double.isNaN(zones.distance(id)));
+            assertEquals(-1, zones.parent(id));
+            assertFalse(zones.isFeeder(id));
+        }
+    }
+
+    private static void assertZones(ReferenceGraph ref, PathFinder pathFinder, List<Integer> feeders,
+                                    SupplyZones zones, String context) {
+        double[][] fromFeeder = new double[feeders.size()][];
+        for (int i = 0; i < feeders.size(); i++) fromFeeder[i] = ref.distances(feeders.get(i), false);
+        int unsupplied = 0;
+        for (int v = 0; v < ref.n; v++) {
+            if (!ref.present[v]) continue;
+            int id = pathFinder.getNodeId(ReferenceGraph.name(v));
+            double best = Double.MAX_VALUE;
+            for (double[] dist : fromFeeder) best = Math.min(best, dist[v]);
+            String where = context + " " + ReferenceGraph.name(v);
+            if (best == Double.MAX_VALUE) {
+                unsupplied++;
+                assertEquals(-1, zones.zoneOf(id), where);
+                assertEquals(null, zones.feederOf(id), where);
+                continue;
+            }
+            assertTrue(zones.zoneOf(id) >= 0, where + ": seharusnya tersuplai, jarak " + best);
+            assertEquals(best, zones.distance(id), ReferenceGraph.EPS * Math.max(1, best), where);
+            int feeder = Integer.parseInt(zones.feederOf(id).substring(1));
+            assertTrue(feeders.contains(feeder), where);
+            assertEquals(best, fromFeeder[feeders.indexOf(feeder)][v], ReferenceGraph.EPS * Math.max(1, best),
+                    where + ": feeder zona " + zones.feederOf(id) + " bukan yang terdekat");
+
+            int parent = zones.parent(id);
+            if (zones.isFeeder(id)) {
+                assertEquals(-1, parent, where);
+                continue;
+            }
+            // parent sezona dan jarak parent + saluran hidup termurah = jarak gardu
+            assertTrue(parent >= 0, where);
+            assertEquals(zones.zoneOf(id), zones.zoneOf(parent), where);
+            List<String> hop = new ArrayList<>();
+            hop.add(zones.graph.names[parent]);
+            hop.add(ReferenceGraph.name(v));
+            assertEquals(best, zones.distance(parent) + ref.pathCost(hop, false), ReferenceGraph.EPS * Math.max(1, best), where);
+        }
+        assertEquals(unsupplied, zones.unsuppliedCount(), context);
+    }
+}
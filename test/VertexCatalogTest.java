@@ -0,0 +1,89 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// search dibandingkan dengan pencarian substring linear atas semua nama
+class VertexCatalogTest {
+
+    private static final String ALPHABET = "aAbBgGdu (V)12-";
+
+    @Test
+    void findsSubstringsInsideWords() {
+        VertexCatalog catalog = new VertexCatalog();
+        for (String name : new String[] { "Gardu Induk Ungaran", "GI Solo Baru", "PLN (V1)", "Penyulang V6" }) {
+            catalog.add(name);
+        }
+        assertEquals(Arrays.asList("Gardu Induk Ungaran"), catalog.search("ardu", 10));
+        assertEquals(Arrays.asList("GI Solo Baru", "Gardu Induk Ungaran"), catalog.search("ar", 10));
+        assertEquals(Arrays.asList("PLN (V1)", "Penyulang V6"), catalog.search("v", 10));
+        assertEquals(Arrays.asList("Gardu Induk Ungaran"), catalog.search("DUK UNG", 10));
+        assertEquals(Arrays.asList(), catalog.search("xyz", 10));
+    }
+
+    @Test
+    void matchesLinearScanOnRandomNames() {
+        SplittableRandom random = new SplittableRandom(21);
+        for (int round = 0; round < 100; round++) {
+            VertexCatalog catalog = new VertexCatalog();
+            Set<String> names = new HashSet<>();
+            for (int batch = 0; batch < 3; batch++) {
+                int count = random.nextInt(60);
+                for (int i = 0; i < count; i++) {
+                    String name = randomString(random, 1 + random.nextInt(12));
+                    if (names.add(name)) catalog.add(name);
+                }
+                List<String> all = new ArrayList<>(names);
+                for (int q = 0; q < 30; q++) {
+                    String query;
+                    if (!all.isEmpty() && random.nextBoolean()) {
+                        String source = all.get(random.nextInt(all.size()));
+                        int from = random.nextInt(source.length());
+                        query = source.substring(from, from + 1 + random.nextInt(source.length() - from));
+                        if (random.nextBoolean()) query = query.toUpperCase();
+                    } else {
+                        query = randomString(random, 1 + random.nextInt(3));
+                    }
+                    int limit = 1 + random.nextInt(20);
+                    assertSearch(catalog, all, query, limit, "round " + round + " batch " + batch);
+                }
+            }
+        }
+    }
+
+    private static void assertSearch(VertexCatalog catalog, List<String> names, String query, int limit, String context) {
+        List<String> expected = new ArrayList<>();
+        for (String name : names) {
+            if (lower(name).contains(lower(query))) expected.add(name);
+        }
+        expected.sort(null);
+        List<String> result = catalog.search(query, limit);
+        String where = context + " q='" + query + "' limit=" + limit;
+        assertEquals(Math.min(limit, expected.size()), result.size(), where);
+        if (limit >= expected.size()) assertEquals(expected, result, where);
+        for (int i = 0; i < result.size(); i++) {
+            assertTrue(expected.contains(result.get(i)), where + ": " + result.get(i));
+            if (i > 0) assertTrue(result.get(i - 1).compareTo(result.get(i)) < 0, where + " tidak terurut: " + result);
+        }
+    }
+
+    // Huruf kecil per karakter, sama dengan VertexCatalog
+    private static String lower(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) sb.append(Character.toLowerCase(s.charAt(i)));
+        return sb.toString();
+    }
+
+    private static String randomString(SplittableRandom random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        return sb.toString();
+    }
+}